@@ -0,0 +1,161 @@
+package com.example.stttest.config;
+
+import com.example.stttest.dto.rs.GoogleClientStatsRs;
+import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.api.gax.grpc.ChannelPoolSettings;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.speech.v2.SpeechClient;
+import com.google.cloud.speech.v2.SpeechSettings;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import com.google.longrunning.OperationsClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FileInputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Google Cloud 클라이언트(Storage / SpeechClient / OperationsClient)를 애플리케이션 전체에서 공유한다.
+ *
+ * 요청마다 키 파일을 읽고 gRPC 채널을 새로 여는 비용(TLS handshake, 채널 준비, 파일 I/O)을 없애기 위해
+ * 최초 사용 시점에 한 번만 생성하고 이후에는 같은 인스턴스를 재사용한다.
+ * 키 파일이 없는 환경에서도 애플리케이션이 기동될 수 있도록 생성은 지연(lazy) 처리한다.
+ */
+@Slf4j
+@Component
+public class GoogleCloudClients implements DisposableBean {
+
+    @Value("${google.stt.location:us-central1}")
+    private String location;
+
+    @Value("${google.stt.apiKeyPath}")
+    private String apiKeyPath;
+
+    /** SpeechClient gRPC 채널 풀 크기 */
+    @Value("${google.stt.channelPoolSize:4}")
+    private int channelPoolSize;
+
+    private final ReentrantLock initLock = new ReentrantLock();
+
+    private volatile GoogleCredentials credentials;
+    private volatile Storage storage;
+    private volatile SpeechClient speechClient;
+
+    private final AtomicLong credentialLoads = new AtomicLong();
+    private final AtomicLong storageCreated = new AtomicLong();
+    private final AtomicLong storageReused = new AtomicLong();
+    private final AtomicLong speechClientCreated = new AtomicLong();
+    private final AtomicLong speechClientReused = new AtomicLong();
+
+    /**
+     * 공유 GCS 클라이언트.
+     */
+    public Storage storage() throws Exception {
+        Storage current = storage;
+        if (current != null) {
+            storageReused.incrementAndGet();
+            return current;
+        }
+
+        initLock.lock();
+        try {
+            if (storage == null) {
+                storage = StorageOptions.newBuilder()
+                                        .setCredentials(credentials())
+                                        .build()
+                                        .getService();
+                storageCreated.incrementAndGet();
+                log.info("GCS Storage 클라이언트 생성");
+            } else {
+                storageReused.incrementAndGet();
+            }
+            return storage;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    /**
+     * 공유 Speech v2 클라이언트. 채널 풀은 channelPoolSize 크기로 고정한다.
+     */
+    public SpeechClient speechClient() throws Exception {
+        SpeechClient current = speechClient;
+        if (current != null) {
+            speechClientReused.incrementAndGet();
+            return current;
+        }
+
+        initLock.lock();
+        try {
+            if (speechClient == null) {
+                speechClient = SpeechClient.create(newSpeechSettings(credentials()));
+                speechClientCreated.incrementAndGet();
+                log.info("SpeechClient 생성: location={}, channelPoolSize={}", location, channelPoolSize);
+            } else {
+                speechClientReused.incrementAndGet();
+            }
+            return speechClient;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    /**
+     * long-running operation 조회용 클라이언트. SpeechClient와 채널을 공유한다.
+     */
+    public OperationsClient operationsClient() throws Exception {
+        return speechClient().getOperationsClient();
+    }
+
+    public GoogleClientStatsRs getStats() {
+        return new GoogleClientStatsRs(
+            credentialLoads.get(),
+            storageCreated.get(),
+            storageReused.get(),
+            speechClientCreated.get(),
+            speechClientReused.get(),
+            channelPoolSize
+        );
+    }
+
+    @Override
+    public void destroy() {
+        SpeechClient current = speechClient;
+        if (current != null) {
+            // 종료 시 gRPC 채널을 정리한다.
+            current.close();
+        }
+    }
+
+    private GoogleCredentials credentials() throws Exception {
+        // initLock 안에서만 호출된다.
+        if (credentials == null) {
+            // 서비스 계정 키 파일은 한 번만 읽는다.
+            // access token 만료 시 갱신은 GoogleCredentials가 클라이언트 호출 시점에 자동으로 처리한다.
+            try (FileInputStream in = new FileInputStream(apiKeyPath)) {
+                credentials = GoogleCredentials.fromStream(in)
+                                               .createScoped(List.of("https://www.googleapis.com/auth/cloud-platform"));
+            }
+            credentialLoads.incrementAndGet();
+        }
+        return credentials;
+    }
+
+    private SpeechSettings newSpeechSettings(GoogleCredentials creds) throws Exception {
+        // region endpoint를 명시해 location 설정과 API 호출 지역을 일치시킨다.
+        return SpeechSettings.newBuilder()
+                             .setEndpoint(location + "-speech.googleapis.com:443")
+                             .setCredentialsProvider(FixedCredentialsProvider.create(creds))
+                             .setTransportChannelProvider(
+                                 SpeechSettings.defaultGrpcTransportProviderBuilder()
+                                               .setChannelPoolSettings(ChannelPoolSettings.staticallySized(channelPoolSize))
+                                               .build()
+                             )
+                             .build();
+    }
+}
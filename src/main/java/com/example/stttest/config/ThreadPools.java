@@ -0,0 +1,104 @@
+package com.example.stttest.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 컴포넌트가 소유하는 내부 작업 풀 생성 규칙.
+ *
+ * spring.threads.virtual.enabled=true(가상 스레드 모드)면 작업 스레드를 가상 스레드로 만든다(JDK 21 API, 빌드 최소 JDK 21).
+ * 풀 크기는 두 모드 모두 그대로 유지한다. 이 값은 GCS/Speech 동시 호출 상한 역할을 하므로
+ * 가상 스레드 모드에서도 외부 서비스로 나가는 요청 수는 늘어나지 않는다.
+ *
+ * 가상 스레드에서 실행되는 작업은 synchronized 대신 ReentrantLock을 쓰고,
+ * 외부 프로세스(ffprobe/ffmpeg) I/O는 ExternalProcessRunner로 플랫폼 스레드에 넘겨야 carrier가 묶이지 않는다.
+ */
+public final class ThreadPools {
+
+    private ThreadPools() {
+    }
+
+    /**
+     * 이름이 namePrefix-N인 고정 크기 풀을 만든다. 플랫폼 스레드는 데몬으로 만든다(가상 스레드는 항상 데몬).
+     */
+    public static ExecutorService newFixedPool(String namePrefix, int size, boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads
+                                      ? Thread.ofVirtual().name(namePrefix + "-", 1).factory()
+                                      : platformThreadFactory(namePrefix);
+        return Executors.newFixedThreadPool(Math.max(1, size), threadFactory);
+    }
+
+    /**
+     * 대기열 크기가 queueCapacity로 제한된 고정 크기 풀을 만든다.
+     *
+     * blockWhenFull=false면 대기열이 가득 찼을 때 RejectedExecutionException을 던지고(입구 단계),
+     * true면 자리가 날 때까지 제출 스레드를 기다리게 해 앞 단계로 backpressure를 전달한다(중간 단계).
+     */
+    public static ThreadPoolExecutor newBoundedPool(String namePrefix,
+                                                    int size,
+                                                    int queueCapacity,
+                                                    boolean virtualThreads,
+                                                    boolean blockWhenFull) {
+        ThreadFactory threadFactory = virtualThreads
+                                      ? Thread.ofVirtual().name(namePrefix + "-", 1).factory()
+                                      : platformThreadFactory(namePrefix);
+        RejectedExecutionHandler rejectedHandler = blockWhenFull
+                                                   ? ThreadPools::putWhenFull
+                                                   : new ThreadPoolExecutor.AbortPolicy();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            Math.max(1, size),
+            Math.max(1, size),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            threadFactory,
+            rejectedHandler
+        );
+        // 대기열에 직접 넣는 경우에도 꺼내 갈 작업 스레드가 있어야 한다.
+        executor.prestartAllCoreThreads();
+        return executor;
+    }
+
+    /**
+     * 풀의 거절 정책과 관계없이 대기열에 자리가 날 때까지 기다렸다가 넣는다(newBoundedPool로 만든 풀 전용).
+     * 풀이 종료됐거나 기다리는 중 인터럽트되면 RejectedExecutionException을 던진다.
+     */
+    public static void executeBlocking(ThreadPoolExecutor executor, Runnable task) {
+        putWhenFull(task, executor);
+    }
+
+    private static void putWhenFull(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("executor shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted while waiting for queue space", e);
+        }
+    }
+
+    /**
+     * 설정과 관계없이 플랫폼 스레드 풀을 만든다(프로세스 I/O 등 가상 스레드에서 carrier를 묶는 작업용).
+     */
+    public static ExecutorService newPlatformPool(String namePrefix, int size) {
+        return Executors.newFixedThreadPool(Math.max(1, size), platformThreadFactory(namePrefix));
+    }
+
+    private static ThreadFactory platformThreadFactory(String namePrefix) {
+        AtomicInteger threadSeq = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
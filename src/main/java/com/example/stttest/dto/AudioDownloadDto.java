@@ -3,10 +3,27 @@ package com.example.stttest.dto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * 병합 오디오 다운로드 응답 정보.
+ *
+ * channel은 병합 잠금 안에서 연 파일 핸들이다. 이후 재병합/LRU 제거로 파일이 지워져도 이 핸들로 끝까지 읽을 수 있으며,
+ * 응답을 다 쓴 뒤 close 해야 한다.
+ */
 @Getter
 @AllArgsConstructor
-public class AudioDownloadDto {
+public class AudioDownloadDto implements Closeable {
     private final String fileName;
     private final String contentType;
-    private final byte[] bytes;
-}
\ No newline at end of file
+    private final FileChannel channel;
+    private final long sizeBytes;
+    private final String etag;
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.stttest.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 스냅샷 조립용 cue 조회 결과(엔티티 미관리 DTO projection). 시간은 청크 로컬 기준이다.
+ */
+@Getter
+@AllArgsConstructor
+public class ChunkCueRow {
+    private final Long chunkId;
+    private final Integer chunkSeq;
+    private final Long startMs;
+    private final Long endMs;
+    private final String text;
+    private final String speaker;
+}
@@ -0,0 +1,18 @@
+package com.example.stttest.dto.projection;
+
+import com.example.stttest.entitiy.ChunkStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 스냅샷 조립용 청크 상태 조회 결과(엔티티 미관리 DTO projection).
+ */
+@Getter
+@AllArgsConstructor
+public class ChunkStateRow {
+    private final Long id;
+    private final Integer chunkSeq;
+    private final ChunkStatus status;
+    private final Long durationMs;
+    private final String transcript;
+}
@@ -0,0 +1,20 @@
+package com.example.stttest.dto.rs;
+
+import com.example.stttest.entitiy.ChunkStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 배치 업로드 파일 1개의 처리 결과(입력 순서).
+ *
+ * - PROCESSING: STT job이 시작됨(jobId 있음)
+ * - DISCARDED: 업로드/ job 시작 실패 또는 앞선 실패로 중단됨(error 있음). 같은 파일은 다시 올려야 한다.
+ */
+@Getter
+@AllArgsConstructor
+public class ChunkBatchItemRs {
+    private Integer chunkSeq;
+    private ChunkStatus status;
+    private String jobId;
+    private String error;
+}
@@ -11,4 +11,6 @@ public class ChunkBatchUploadRs {
     private Long meetingId;
     private Integer uploadedCount;
     private List<ChunkUploadAutoRs> chunks;
+    /** 파일별 결과(입력 순서). 일부 실패 시에도 이미 STT가 시작된 순번을 알 수 있다. */
+    private List<ChunkBatchItemRs> results;
 }
@@ -0,0 +1,17 @@
+package com.example.stttest.dto.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ChunkIngestStatsRs {
+    private Long accepted;
+    private Long rejected;
+    private Long resumed;
+    private Long completed;
+    private Long failed;
+    private Integer probeQueued;
+    private Integer uploadQueued;
+    private Integer startJobQueued;
+}
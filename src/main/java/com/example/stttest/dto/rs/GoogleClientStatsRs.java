@@ -0,0 +1,15 @@
+package com.example.stttest.dto.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GoogleClientStatsRs {
+    private Long credentialLoads;
+    private Long storageCreated;
+    private Long storageReused;
+    private Long speechClientCreated;
+    private Long speechClientReused;
+    private Integer channelPoolSize;
+}
@@ -0,0 +1,23 @@
+package com.example.stttest.dto.rs;
+
+import com.example.stttest.entitiy.ChunkStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 청크 1개의 현재 상태(SSE chunk 이벤트 payload).
+ *
+ * cue 시간은 청크 로컬 기준이다. 글로벌 시간은 앞선 DONE 청크 durationMs 누적값을 더해 계산한다.
+ */
+@Getter
+@AllArgsConstructor
+public class MeetingChunkEventRs {
+    private Long meetingId;
+    private Integer chunkSeq;
+    private ChunkStatus status;
+    private Long durationMs;
+    private String transcript;
+    private List<SubtitleCueRs> cues;
+}
@@ -0,0 +1,29 @@
+package com.example.stttest.dto.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * sinceRevision 이후 변경분 응답.
+ *
+ * - chunks: 변경된 청크(cue는 청크 로컬 시간)
+ * - removedChunkSeqs: 업로드 실패로 버려져 클라이언트 목록에서 지워야 하는 순번
+ * - offsets: 변경이 있을 때만 채워지는 DONE 청크별 글로벌 오프셋(chunkSeq -> ms)
+ * - revision: 다음 요청의 sinceRevision으로 그대로 보내면 되는 커서
+ */
+@Getter
+@AllArgsConstructor
+public class MeetingSnapshotDeltaRs {
+    private Long meetingId;
+    private Long sinceRevision;
+    private Long revision;
+    private String status;
+    private Integer totalChunks;
+    private Integer completedChunks;
+    private List<MeetingChunkEventRs> chunks;
+    private List<Integer> removedChunkSeqs;
+    private Map<Integer, Long> offsets;
+}
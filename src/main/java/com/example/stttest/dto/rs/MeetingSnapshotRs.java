@@ -15,4 +15,6 @@ public class MeetingSnapshotRs {
     private String transcript;
     private List<SubtitleCueRs> cues;
     private List<MeetingChunkRs> chunks;
+    /** delta 조회(sinceRevision) 시작 커서 */
+    private Long revision;
 }
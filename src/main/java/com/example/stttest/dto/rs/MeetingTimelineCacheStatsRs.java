@@ -0,0 +1,17 @@
+package com.example.stttest.dto.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MeetingTimelineCacheStatsRs {
+    private Long hits;
+    private Long misses;
+    private Long incrementalUpdates;
+    private Long invalidations;
+    private Long evictions;
+    private Integer entries;
+    private Long totalCues;
+    private Long maxCues;
+}
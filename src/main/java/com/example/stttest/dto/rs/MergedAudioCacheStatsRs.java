@@ -0,0 +1,16 @@
+package com.example.stttest.dto.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MergedAudioCacheStatsRs {
+    private Long hits;
+    private Long misses;
+    private Long appends;
+    private Long evictions;
+    private Integer entries;
+    private Long totalBytes;
+    private Long maxBytes;
+}
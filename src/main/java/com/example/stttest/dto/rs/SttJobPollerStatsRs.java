@@ -0,0 +1,17 @@
+package com.example.stttest.dto.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SttJobPollerStatsRs {
+    private Integer trackedJobs;
+    private Long ticks;
+    private Long operationChecks;
+    private Long completedChunks;
+    private Long failedChunks;
+    private Long checkErrors;
+    private Long lastMeetingLatencyMs;
+    private Long maxMeetingLatencyMs;
+}
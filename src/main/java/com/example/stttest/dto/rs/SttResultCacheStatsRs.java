@@ -0,0 +1,16 @@
+package com.example.stttest.dto.rs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SttResultCacheStatsRs {
+    private Long hits;
+    private Long misses;
+    private Double hitRate;
+    private Long evictions;
+    private Long expirations;
+    private Integer entries;
+    private Integer maxEntries;
+}
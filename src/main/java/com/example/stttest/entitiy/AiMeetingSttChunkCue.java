@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -32,8 +33,14 @@ import java.time.LocalDateTime;
 @Builder
 public class AiMeetingSttChunkCue {
 
+    /** id 시퀀스. 대량 저장(ChunkCueJdbcWriter)도 같은 시퀀스/블록 크기로 id를 할당한다. */
+    public static final String ID_SEQUENCE = "ai_meeting_stt_chunk_cue_seq";
+    /** 시퀀스 1회 조회로 확보하는 id 수(pooled-lo: [값, 값 + 크기 - 1]) */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chunk_cue_id")
+    @SequenceGenerator(name = "chunk_cue_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "meeting_id", nullable = false)
@@ -7,9 +7,11 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -20,7 +22,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ai_meeting_stt_state")
+@Table(
+    name = "ai_meeting_stt_state",
+    indexes = {
+        @Index(name = "idx_stt_state_meeting_revision", columnList = "meetingId,revision")
+    },
+    uniqueConstraints = {
+        // 같은 미팅에 같은 chunkSeq가 두 번 저장되면 병합 타임라인이 깨지므로 DB에서 막는다.
+        @UniqueConstraint(name = "uk_stt_state_meeting_chunk_seq", columnNames = {"meetingId", "chunkSeq"})
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,18 +51,16 @@ public class AiMeetingSttState {
     @Column(nullable = false)
     private Integer chunkSeq;
 
-    /** GCS URI (음성파일) */
-    @Column(nullable = false)
+    /** GCS URI (음성파일). PENDING 동안은 비어 있다 */
     private String gcsUri;
 
-    /** STT Job ID (operation name) */
-    @Column(nullable = false)
+    /** STT Job ID (operation name). PROCESSING 이전에는 비어 있다 */
     private String jobId;
 
     /** 업로드된 청크의 원본 길이(ms). 자막 합치기 오프셋 보정에 사용 */
     private Long durationMs;
 
-    /** 처리 상태: PROCESSING, DONE, ERROR */
+    /** 처리 상태: PENDING, UPLOADED, PROCESSING, DONE, ERROR, DISCARDED */
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private ChunkStatus status;
@@ -60,6 +69,10 @@ public class AiMeetingSttState {
     @Column(columnDefinition = "TEXT")
     private String transcript;
 
+    /** 상태 변경 revision (전역 단조 증가, delta 조회 커서) */
+    @Column(nullable = false)
+    private Long revision;
+
     /** 에러 메시지 */
     private String errorMessage;
 
@@ -4,7 +4,10 @@ package com.example.stttest.entitiy;
  * STT 청크 처리 상태
  */
 public enum ChunkStatus {
+    PENDING,     // 순번 선점, GCS 업로드 중
+    UPLOADED,    // GCS 업로드 완료, STT job 시작 전
     PROCESSING,  // STT 진행 중
     DONE,        // STT 완료
-    ERROR        // STT 실패
-}
\ No newline at end of file
+    ERROR,       // STT 실패
+    DISCARDED    // 업로드 실패로 버려진 순번(tombstone). 같은 순번으로 다시 올리면 PENDING으로 재사용한다
+}
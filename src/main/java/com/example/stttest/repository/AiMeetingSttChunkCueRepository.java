@@ -1,7 +1,11 @@
 package com.example.stttest.repository;
 
+import com.example.stttest.dto.projection.ChunkCueRow;
 import com.example.stttest.entitiy.AiMeetingSttChunkCue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -9,5 +13,22 @@ public interface AiMeetingSttChunkCueRepository extends JpaRepository<AiMeetingS
 
     List<AiMeetingSttChunkCue> findByChunkIdOrderByCueIndexAsc(Long chunkId);
 
-    void deleteByChunkId(Long chunkId);
+    List<AiMeetingSttChunkCue> findByChunkIdInOrderByChunkSeqAscCueIndexAsc(List<Long> chunkIds);
+
+    /**
+     * 청크 cue 일괄 삭제(DELETE 1회). 파생 deleteBy 쿼리와 달리 엔티티를 먼저 읽지 않는다.
+     */
+    @Modifying
+    @Query("delete from AiMeetingSttChunkCue c where c.chunkId = :chunkId")
+    int deleteAllByChunkIdInBulk(@Param("chunkId") Long chunkId);
+
+    /**
+     * 회의 전체 cue를 한 번에 조회한다.
+     * idx_chunk_cue_meeting_chunk(meeting_id, chunk_id, chunk_seq, cue_index) 순서와 같게 정렬한다.
+     */
+    @Query("select new com.example.stttest.dto.projection.ChunkCueRow("
+           + "c.chunkId, c.chunkSeq, c.startMs, c.endMs, c.text, c.speaker) "
+           + "from AiMeetingSttChunkCue c where c.meetingId = :meetingId "
+           + "order by c.chunkId asc, c.chunkSeq asc, c.cueIndex asc")
+    List<ChunkCueRow> findCueRows(@Param("meetingId") Long meetingId);
 }
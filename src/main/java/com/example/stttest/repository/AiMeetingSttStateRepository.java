@@ -1,9 +1,14 @@
 package com.example.stttest.repository;
 
 
+import com.example.stttest.dto.projection.ChunkStateRow;
 import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +17,42 @@ public interface AiMeetingSttStateRepository extends JpaRepository<AiMeetingSttS
     /** 회의ID로 청크 목록 조회 (chunkSeq 순서) */
     List<AiMeetingSttState> findByMeetingIdOrderByChunkSeqAsc(Long meetingId);
 
-    /** 회의의 마지막 청크 조회 (자동 청크번호 계산용) */
-    Optional<AiMeetingSttState> findTopByMeetingIdOrderByChunkSeqDesc(Long meetingId);
+    /** 회의 청크 상태를 DTO projection으로 조회 (스냅샷 조립용, chunkSeq 순서, 버려진 순번 제외) */
+    @Query("select new com.example.stttest.dto.projection.ChunkStateRow("
+           + "s.id, s.chunkSeq, s.status, s.durationMs, s.transcript) "
+           + "from AiMeetingSttState s where s.meetingId = :meetingId "
+           + "and s.status <> com.example.stttest.entitiy.ChunkStatus.DISCARDED order by s.chunkSeq asc")
+    List<ChunkStateRow> findStateRows(@Param("meetingId") Long meetingId);
+
+    /** 회의의 마지막 chunkSeq (chunkSeq 발급기 초기값) */
+    @Query("select max(s.chunkSeq) from AiMeetingSttState s where s.meetingId = :meetingId")
+    Integer findMaxChunkSeq(@Param("meetingId") Long meetingId);
+
+    /** 해당 상태 청크가 있는 미팅별 [meetingId, 마지막 chunkSeq] (기동 시 발급기 시드용) */
+    @Query("select s.meetingId, max(s.chunkSeq) from AiMeetingSttState s "
+           + "where s.meetingId in (select a.meetingId from AiMeetingSttState a where a.status in :statuses) "
+           + "group by s.meetingId")
+    List<Object[]> findMaxChunkSeqOfMeetingsWithStatus(@Param("statuses") Collection<ChunkStatus> statuses);
+
+    Optional<AiMeetingSttState> findByMeetingIdAndChunkSeq(Long meetingId, Integer chunkSeq);
+
+    /** 상태별 청크 조회 (백그라운드 폴러용) */
+    List<AiMeetingSttState> findByStatus(ChunkStatus status);
+
+    /** revision 이후 변경된 청크 조회 (delta 조회용) */
+    List<AiMeetingSttState> findByMeetingIdAndRevisionGreaterThanOrderByChunkSeqAsc(Long meetingId, Long revision);
+
+    long countByMeetingId(Long meetingId);
+
+    long countByMeetingIdAndStatusNot(Long meetingId, ChunkStatus status);
+
+    long countByMeetingIdAndStatus(Long meetingId, ChunkStatus status);
+
+    /** 상태별 (chunkSeq, durationMs)만 조회 (글로벌 오프셋 계산용) */
+    @Query("select s.chunkSeq, s.durationMs from AiMeetingSttState s "
+           + "where s.meetingId = :meetingId and s.status = :status order by s.chunkSeq asc")
+    List<Object[]> findChunkDurations(@Param("meetingId") Long meetingId, @Param("status") ChunkStatus status);
+
+    @Query("select max(s.revision) from AiMeetingSttState s")
+    Long findMaxRevision();
 }
@@ -0,0 +1,103 @@
+package com.example.stttest.repository;
+
+import com.example.stttest.dto.stt.SttCueDto;
+import com.example.stttest.entitiy.AiMeetingSttChunkCue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 청크 cue 대량 저장.
+ *
+ * IDENTITY id는 INSERT마다 생성 키를 받아야 해서 JDBC batch가 불가능하다.
+ * cue id는 시퀀스(pooled-lo)로 바꾸고, 여기서는 시퀀스 1회 조회로 ID_ALLOCATION_SIZE개 id를 확보해
+ * 엔티티를 만들지 않고 JDBC batch INSERT로 저장한다. (Hibernate 저장과 같은 블록 규칙이라 id가 겹치지 않는다)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChunkCueJdbcWriter {
+
+    private static final String INSERT_SQL =
+        "insert into ai_meeting_stt_chunk_cue "
+        + "(id, meeting_id, chunk_id, chunk_seq, cue_index, start_ms, end_ms, text, speaker, created_at) "
+        + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String NEXT_ID_BLOCK_SQL =
+        "select next value for " + AiMeetingSttChunkCue.ID_SEQUENCE;
+
+    /** JDBC batch 1회당 행 수 */
+    @Value("${stt.cue.insertBatchSize:500}")
+    private int insertBatchSize;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 청크 cue를 cue_index 1부터 순서대로 저장한다. 호출 측 트랜잭션에 참여한다.
+     *
+     * @return 저장한 행 수
+     */
+    public int insertCues(Long meetingId, Long chunkId, Integer chunkSeq, List<SttCueDto> cues) {
+        if (cues == null || cues.isEmpty()) {
+            return 0;
+        }
+
+        long[] ids = allocateIds(cues.size());
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        int batchSize = Math.max(1, insertBatchSize);
+
+        for (int from = 0; from < cues.size(); from += batchSize) {
+            int offset = from;
+            int size = Math.min(batchSize, cues.size() - from);
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int index = offset + i;
+                    SttCueDto cue = cues.get(index);
+                    ps.setLong(1, ids[index]);
+                    ps.setLong(2, meetingId);
+                    ps.setLong(3, chunkId);
+                    ps.setInt(4, chunkSeq);
+                    // cue_index는 정렬 보장을 위한 순차 번호다.
+                    ps.setInt(5, index + 1);
+                    ps.setLong(6, cue.getStartMs());
+                    ps.setLong(7, cue.getEndMs());
+                    ps.setString(8, cue.getText() == null ? "" : cue.getText());
+                    ps.setString(9, cue.getSpeaker());
+                    ps.setTimestamp(10, createdAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+        return cues.size();
+    }
+
+    /**
+     * pooled-lo 규칙: 시퀀스 값 v 하나로 [v, v + ID_ALLOCATION_SIZE - 1] 구간을 쓴다.
+     */
+    private long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        int blockSize = AiMeetingSttChunkCue.ID_ALLOCATION_SIZE;
+        for (int i = 0; i < count; i += blockSize) {
+            Long low = jdbcTemplate.queryForObject(NEXT_ID_BLOCK_SQL, Long.class);
+            if (low == null) {
+                throw new IllegalStateException("cue id sequence returned null");
+            }
+            for (int j = 0; j < blockSize && i + j < count; j++) {
+                ids[i + j] = low + j;
+            }
+        }
+        return ids;
+    }
+}
@@ -1,64 +1,104 @@
 package com.example.stttest.service;
 
+import com.example.stttest.webm.WebmDurationParser;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class AudioDurationProbeService {
 
     /**
-     * 업로드된 webm-opus 파일의 실제 재생 길이를 ffprobe로 측정한다.
+     * duration 측정 방식.
+     *
+     * - JAVA: 내장 WebM 파서 사용 (실패 시 ffprobe로 대체)
+     * - FFPROBE: ffprobe 프로세스만 사용
+     * - VERIFY: 두 방식을 모두 실행해 차이를 로그로 남기고 ffprobe 값을 사용
+     */
+    public enum Mode {
+        JAVA,
+        FFPROBE,
+        VERIFY
+    }
+
+    @Value("${stt.audio.durationProbeMode:JAVA}")
+    private Mode mode;
+
+    /** VERIFY 모드에서 경고를 남길 두 측정값 차이(ms) */
+    @Value("${stt.audio.durationVerifyToleranceMs:20}")
+    private long verifyToleranceMs;
+
+    private final ExternalProcessRunner externalProcessRunner;
+
+    /**
+     * 업로드된 webm-opus 파일의 실제 재생 길이를 측정한다.
      *
      * 클라이언트가 보내는 duration 값 대신 서버가 동일 기준으로 계산한 duration을 사용해야
      * 청크 누적 오프셋이 병합 오디오 타임라인과 최대한 일치한다.
      */
-    public long probeWebmDurationMs(MultipartFile audioFile) throws Exception {
-        // ffprobe는 파일 경로 입력을 받으므로 Multipart를 임시 파일로 저장한다.
-        Path tempFile = Files.createTempFile("stt-chunk-", ".webm");
+    public long probeWebmDurationMs(Path audioPath) throws Exception {
+        return switch (mode) {
+            case FFPROBE -> probeWithFfprobe(audioPath);
+            case VERIFY -> probeAndVerify(audioPath);
+            case JAVA -> probeWithJava(audioPath);
+        };
+    }
+
+    private long probeWithJava(Path audioPath) throws Exception {
         try {
-            audioFile.transferTo(tempFile);
+            // Segment Info Duration 또는 Cluster/Block timecode로 프로세스 없이 계산한다.
+            return WebmDurationParser.parseDurationMs(audioPath);
+        } catch (Exception e) {
+            // 파싱할 수 없는 입력은 기존 ffprobe 경로로 대체한다.
+            log.warn("webm duration parse failed, fallback to ffprobe: {}", e.getMessage());
+            return probeWithFfprobe(audioPath);
+        }
+    }
 
-            // ffprobe 출력은 "초(double)" 단일 라인으로 받는다.
-            List<String> command = List.of(
-                "ffprobe",
-                "-v", "error",
-                "-show_entries", "format=duration",
-                "-of", "default=nokey=1:noprint_wrappers=1",
-                tempFile.toAbsolutePath().toString()
-            );
+    private long probeAndVerify(Path audioPath) throws Exception {
+        long ffprobeMs = probeWithFfprobe(audioPath);
+        try {
+            long javaMs = WebmDurationParser.parseDurationMs(audioPath);
+            if (Math.abs(javaMs - ffprobeMs) > verifyToleranceMs) {
+                log.warn("duration mismatch: java={}ms, ffprobe={}ms, file={}", javaMs, ffprobeMs, audioPath);
+            }
+        } catch (Exception e) {
+            log.warn("webm duration parse failed (verify mode): ffprobe={}ms", ffprobeMs, e);
+        }
+        return ffprobeMs;
+    }
 
-            Process process = new ProcessBuilder(command)
-                .redirectErrorStream(true)
-                .start();
+    private long probeWithFfprobe(Path audioPath) throws Exception {
+        // ffprobe 출력은 "초(double)" 단일 라인으로 받는다.
+        // 입력은 업로드 시 한 번 저장해 둔 spool 파일을 그대로 사용한다.
+        List<String> command = List.of(
+            "ffprobe",
+            "-v", "error",
+            "-show_entries", "format=duration",
+            "-of", "default=nokey=1:noprint_wrappers=1",
+            audioPath.toAbsolutePath().toString()
+        );
 
-            // stdout/err를 합쳐 읽고 종료 코드를 검증한다.
-            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
-            int exitCode = process.waitFor();
-            if (exitCode != 0) {
-                throw new IllegalStateException("ffprobe failed. exitCode=%d, output=%s".formatted(exitCode, output));
-            }
+        // stdout/err를 합쳐 읽고 종료 코드를 검증한다.
+        ExternalProcessRunner.ProcessResult result = externalProcessRunner.run(command);
+        String output = result.getOutput().trim();
+        int exitCode = result.getExitCode();
+        if (exitCode != 0) {
+            throw new IllegalStateException("ffprobe failed. exitCode=%d, output=%s".formatted(exitCode, output));
+        }
 
-            // 초 -> ms 반올림 변환.
-            double seconds = Double.parseDouble(output);
-            long durationMs = Math.round(seconds * 1000d);
-            if (durationMs <= 0L) {
-                throw new IllegalStateException("invalid probed duration. output=" + output);
-            }
-            return durationMs;
-        } finally {
-            try {
-                // 임시 파일은 성공/실패와 무관하게 정리한다.
-                Files.deleteIfExists(tempFile);
-            } catch (Exception e) {
-                log.warn("temp file cleanup failed: {}", tempFile, e);
-            }
+        // 초 -> ms 반올림 변환.
+        double seconds = Double.parseDouble(output);
+        long durationMs = Math.round(seconds * 1000d);
+        if (durationMs <= 0L) {
+            throw new IllegalStateException("invalid probed duration. output=" + output);
         }
+        return durationMs;
     }
 }
@@ -0,0 +1,80 @@
+package com.example.stttest.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Slf4j
+@Service
+public class AudioSpoolService {
+
+    /** 업로드 청크 임시 저장 디렉터리 (비어 있으면 시스템 temp 디렉터리) */
+    @Value("${stt.spool.dir:}")
+    private String spoolDir;
+
+    /** 비동기 접수 청크 보관 디렉터리. 재기동 후에도 남아 있어야 처리를 이어갈 수 있다 */
+    @Value("${stt.ingest.spoolDir:${java.io.tmpdir}/stt-ingest}")
+    private String ingestSpoolDir;
+
+    /**
+     * 업로드된 multipart를 로컬 파일로 한 번만 저장한다.
+     *
+     * 이후 duration 측정과 GCS 업로드는 모두 이 파일을 스트리밍으로 읽기 때문에
+     * 청크 크기와 무관하게 힙에 파일 전체가 올라가지 않는다.
+     */
+    public Path spool(MultipartFile audioFile) throws Exception {
+        Path tempFile = (spoolDir == null || spoolDir.isBlank())
+                        ? Files.createTempFile("stt-chunk-", ".webm")
+                        : Files.createTempFile(Files.createDirectories(Path.of(spoolDir)), "stt-chunk-", ".webm");
+        try {
+            // transferTo는 part 스트림을 그대로 파일로 복사한다(byte[] 변환 없음).
+            audioFile.transferTo(tempFile);
+            return tempFile;
+        } catch (Exception e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 접수용으로 청크를 (meetingId, chunkSeq) 고정 경로에 저장한다.
+     *
+     * 임시 파일에 끝까지 쓴 뒤 이동하므로 재기동 후 이 경로에 파일이 있으면 온전한 청크다.
+     */
+    public Path spoolDurable(MultipartFile audioFile, Long meetingId, Integer chunkSeq) throws Exception {
+        Path dir = Files.createDirectories(Path.of(ingestSpoolDir));
+        Path tempFile = Files.createTempFile(dir, "receiving-", ".part");
+        try {
+            audioFile.transferTo(tempFile);
+            return Files.move(tempFile, durablePath(meetingId, chunkSeq),
+                              StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            deleteQuietly(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 접수 청크 파일. 아직 처리되지 않았으면 존재한다.
+     */
+    public Path durablePath(Long meetingId, Integer chunkSeq) {
+        return Path.of(ingestSpoolDir).resolve("meet_%d_chunk_%d.webm".formatted(meetingId, chunkSeq));
+    }
+
+    public void deleteQuietly(Path spooledFile) {
+        if (spooledFile == null) {
+            return;
+        }
+        try {
+            // 임시 파일은 성공/실패와 무관하게 정리한다.
+            Files.deleteIfExists(spooledFile);
+        } catch (Exception e) {
+            log.warn("spool file cleanup failed: {}", spooledFile, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.ChunkBatchUploadRs;
+import lombok.Getter;
+
+/**
+ * 배치 업로드 도중 실패했다. 앞서 STT job이 시작된 묶음은 그대로 남으므로
+ * 파일별 결과(result)를 함께 돌려줘 클라이언트가 실패한 파일만 다시 올릴 수 있게 한다.
+ */
+@Getter
+public class ChunkBatchUploadException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ChunkBatchUploadRs result;
+
+    public ChunkBatchUploadException(ChunkBatchUploadRs result, Exception cause) {
+        super("batch upload failed. meetingId=%d, startedChunks=%d".formatted(result.getMeetingId(), result.getUploadedCount()),
+              cause);
+        this.result = result;
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.stttest.service;
+
+import com.example.stttest.config.ThreadPools;
+import com.example.stttest.dto.rs.ChunkIngestStatsRs;
+import com.example.stttest.entitiy.AiMeetingSttState;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 접수(202) 청크를 probe -> GCS 업로드 -> STT job 시작 단계로 처리한다.
+ *
+ * - 단계마다 고정 크기 풀과 크기 제한 대기열을 따로 둔다(stt.ingest.{probe,upload,startJob}.*).
+ * - 입구(probe) 대기열이 가득 차면 접수하지 않고 IngestQueueFullException(429)을 던진다.
+ * - 중간 단계 대기열이 가득 차면 앞 단계 작업 스레드가 기다리므로, 밀림이 입구까지 전달돼 결국 429로 나간다.
+ *
+ * 접수 시점에 청크는 PENDING 행 + 고정 경로 spool 파일로 남으므로,
+ * 처리 도중 재기동해도 ChunkUploadRecovery가 resume으로 이어서 처리한다.
+ * 종료(destroy) 중 인터럽트된 단계는 행과 spool 파일을 그대로 두고 멈춘다.
+ *
+ * GCS 업로드/STT job 시작은 일시 오류일 수 있으므로 maxAttempts까지 retryBackoff 간격(2배씩)으로 다시 시도한다.
+ * 그래도 실패하거나 probe가 실패한 청크는 오류 메시지와 함께 DISCARDED tombstone으로 바꾸고
+ * spool 파일/GCS 원본을 정리한다(이벤트로 클라이언트에 알림, 같은 순번으로 재전송 가능).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkIngestPipeline implements DisposableBean {
+
+    private final AudioSpoolService audioSpoolService;
+    private final AudioDurationProbeService audioDurationProbeService;
+    private final GoogleSttService googleSttService;
+    private final ChunkUploadStateService uploadStateService;
+
+    @Value("${stt.ingest.probe.concurrency:2}")
+    private int probeConcurrency;
+
+    @Value("${stt.ingest.probe.queueSize:32}")
+    private int probeQueueSize;
+
+    @Value("${stt.ingest.upload.concurrency:4}")
+    private int uploadConcurrency;
+
+    @Value("${stt.ingest.upload.queueSize:32}")
+    private int uploadQueueSize;
+
+    @Value("${stt.ingest.startJob.concurrency:2}")
+    private int startJobConcurrency;
+
+    @Value("${stt.ingest.startJob.queueSize:32}")
+    private int startJobQueueSize;
+
+    /** 429 응답의 Retry-After */
+    @Value("${stt.ingest.retryAfter:5s}")
+    private Duration retryAfter;
+
+    /** upload/startJob 단계 최대 시도 횟수 */
+    @Value("${stt.ingest.maxAttempts:3}")
+    private int maxAttempts;
+
+    /** 첫 재시도 대기 시간(이후 2배씩) */
+    @Value("${stt.ingest.retryBackoff:1s}")
+    private Duration retryBackoff;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor probeExecutor;
+    private ThreadPoolExecutor uploadExecutor;
+    private ThreadPoolExecutor startJobExecutor;
+
+    private volatile boolean stopping;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong resumed = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * 단계 사이에 넘기는 청크 1개의 처리 상태.
+     */
+    private static class IngestTask {
+        private final Long stateId;
+        private final Long meetingId;
+        private final Integer chunkSeq;
+        private final String languageCode;
+        private final String today;
+        private final Path spooledFile;
+        private long durationMs;
+        private String gcsUri;
+
+        private IngestTask(Long stateId, Long meetingId, Integer chunkSeq, String languageCode, String today, Path spooledFile) {
+            this.stateId = stateId;
+            this.meetingId = meetingId;
+            this.chunkSeq = chunkSeq;
+            this.languageCode = languageCode;
+            this.today = today;
+            this.spooledFile = spooledFile;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        probeExecutor = ThreadPools.newBoundedPool("stt-ingest-probe", probeConcurrency, probeQueueSize, virtualThreads, false);
+        uploadExecutor = ThreadPools.newBoundedPool("stt-ingest-upload", uploadConcurrency, uploadQueueSize, virtualThreads, true);
+        startJobExecutor = ThreadPools.newBoundedPool("stt-ingest-job", startJobConcurrency, startJobQueueSize, virtualThreads, true);
+    }
+
+    @Override
+    public void destroy() {
+        // 남은 청크는 PENDING/UPLOADED + spool 파일로 남아 다음 기동 때 이어서 처리된다.
+        stopping = true;
+        for (ThreadPoolExecutor executor : new ThreadPoolExecutor[]{probeExecutor, uploadExecutor, startJobExecutor}) {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * 순번이 정해진 청크를 PENDING으로 선점하고 spool한 뒤 probe 대기열에 넣는다.
+     * 대기열이 가득 차 있으면 선점/저장 없이(또는 되돌린 뒤) IngestQueueFullException을 던진다.
+     */
+    public void accept(Long meetingId, Integer chunkSeq, MultipartFile audioFile, String languageCode) throws Exception {
+        // 명백히 가득 찬 경우는 DB/디스크 작업 전에 거절한다.
+        checkCapacity();
+
+        Long stateId = uploadStateService.createPending(meetingId, chunkSeq, 1, languageCode).get(0);
+        Path spooledFile = null;
+        try {
+            spooledFile = audioSpoolService.spoolDurable(audioFile, meetingId, chunkSeq);
+            IngestTask task = new IngestTask(stateId, meetingId, chunkSeq, languageCode,
+                                             LocalDate.now().format(SttService.DATE_FORMAT), spooledFile);
+            probeExecutor.execute(() -> probe(task));
+            accepted.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            cleanup(stateId, spooledFile);
+            throw reject();
+        } catch (Exception e) {
+            cleanup(stateId, spooledFile);
+            throw e;
+        }
+    }
+
+    /**
+     * 입구 대기열이 가득 차 있으면 IngestQueueFullException을 던진다.
+     * 순번 자동 발급 전에 불러 거절될 요청이 순번을 쓰지 않게 한다(이후 accept에서 다시 확인한다).
+     */
+    public void checkCapacity() {
+        if (probeExecutor.getQueue().remainingCapacity() == 0) {
+            throw reject();
+        }
+    }
+
+    /**
+     * 재기동 전에 접수된 PENDING 청크를 이어서 처리한다. spool 파일이 없으면 false(호출 측에서 정리).
+     *
+     * 기동 시점 재개는 입구 풀의 거절 정책(429)을 거치지 않고 대기열에 자리가 날 때까지 기다린다.
+     * 종료 중이라 넣지 못하면 IllegalStateException을 던진다(행과 spool 파일은 남아 다음 기동 때 재개).
+     */
+    public boolean resume(Long stateId, Long meetingId, Integer chunkSeq, String languageCode, LocalDate createdDate) {
+        Path spooledFile = audioSpoolService.durablePath(meetingId, chunkSeq);
+        if (!Files.exists(spooledFile)) {
+            return false;
+        }
+        IngestTask task = new IngestTask(stateId, meetingId, chunkSeq, languageCode,
+                                         createdDate.format(SttService.DATE_FORMAT), spooledFile);
+        try {
+            ThreadPools.executeBlocking(probeExecutor, () -> probe(task));
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException(
+                "ingest resume rejected. meetingId=%d, chunkSeq=%d".formatted(meetingId, chunkSeq), e);
+        }
+        resumed.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 업로드 완료/정리된 청크의 spool 파일이 남아 있으면 지운다(재기동 정리용).
+     */
+    public void deleteSpool(Long meetingId, Integer chunkSeq) {
+        audioSpoolService.deleteQuietly(audioSpoolService.durablePath(meetingId, chunkSeq));
+    }
+
+    public ChunkIngestStatsRs getStats() {
+        return new ChunkIngestStatsRs(
+            accepted.get(),
+            rejected.get(),
+            resumed.get(),
+            completed.get(),
+            failed.get(),
+            probeExecutor.getQueue().size(),
+            uploadExecutor.getQueue().size(),
+            startJobExecutor.getQueue().size()
+        );
+    }
+
+    private void probe(IngestTask task) {
+        try {
+            task.durationMs = audioDurationProbeService.probeWebmDurationMs(task.spooledFile);
+        } catch (Exception e) {
+            fail(task, "probe", e);
+            return;
+        }
+        handOff(uploadExecutor, () -> upload(task), task);
+    }
+
+    private void upload(IngestTask task) {
+        try {
+            String objectName = SttService.chunkObjectName(task.today, task.meetingId, task.chunkSeq);
+            // 같은 객체 이름으로 덮어쓰므로 다시 올려도 안전하다.
+            task.gcsUri = withRetry(task, "upload", () -> googleSttService.uploadToGcs(task.spooledFile, objectName));
+            uploadStateService.markUploaded(task.stateId, task.gcsUri, task.durationMs);
+        } catch (Exception e) {
+            fail(task, "upload", e);
+            return;
+        }
+        // UPLOADED 이후 재개는 GCS 파일 기준이므로 spool 파일은 더 필요 없다.
+        audioSpoolService.deleteQuietly(task.spooledFile);
+        handOff(startJobExecutor, () -> startJob(task), task);
+    }
+
+    private void startJob(IngestTask task) {
+        try {
+            String jobId = withRetry(task, "startJob",
+                                     () -> googleSttService.startSttJob(task.gcsUri, task.languageCode, task.today, task.meetingId));
+            uploadStateService.markProcessing(List.of(task.stateId), jobId);
+            completed.incrementAndGet();
+            log.info("비동기 접수 청크 STT 시작: meetingId={}, chunkSeq={}, jobId={}", task.meetingId, task.chunkSeq, jobId);
+        } catch (Exception e) {
+            fail(task, "startJob", e);
+        }
+    }
+
+    /**
+     * 다음 단계로 넘긴다. 대기열이 가득 차면 자리가 날 때까지 기다린다(풀 생성 시 blockWhenFull).
+     * 종료 중이라 넘기지 못한 청크는 그대로 남겨 다음 기동 때 재개한다.
+     */
+    private void handOff(ThreadPoolExecutor next, Runnable stage, IngestTask task) {
+        try {
+            next.execute(stage);
+        } catch (RejectedExecutionException e) {
+            log.warn("비동기 접수 청크 단계 전달 실패(재기동 시 재개): meetingId={}, chunkSeq={}, error={}",
+                     task.meetingId, task.chunkSeq, e.getMessage());
+        }
+    }
+
+    /**
+     * 일시 오류를 maxAttempts까지 다시 시도한다. 종료 중이거나 인터럽트되면 바로 던진다.
+     */
+    private <T> T withRetry(IngestTask task, String stage, Callable<T> call) throws Exception {
+        long backoffMs = retryBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                if (attempt >= Math.max(1, maxAttempts) || isInterruption(e)) {
+                    throw e;
+                }
+                log.warn("비동기 접수 청크 재시도: stage={}, meetingId={}, chunkSeq={}, attempt={}, error={}",
+                         stage, task.meetingId, task.chunkSeq, attempt, e.getMessage());
+                Thread.sleep(backoffMs);
+                backoffMs *= 2;
+            }
+        }
+    }
+
+    private void fail(IngestTask task, String stage, Exception e) {
+        if (isInterruption(e)) {
+            // 종료 중 중단은 실패가 아니다. 행/spool 파일을 남겨 다음 기동 때 재개한다.
+            log.info("비동기 접수 청크 처리 중단(재기동 시 재개): stage={}, meetingId={}, chunkSeq={}",
+                     stage, task.meetingId, task.chunkSeq);
+            return;
+        }
+
+        failed.incrementAndGet();
+        log.warn("비동기 접수 청크 처리 실패: stage={}, meetingId={}, chunkSeq={}, error={}",
+                 stage, task.meetingId, task.chunkSeq, e.getMessage());
+        try {
+            audioSpoolService.deleteQuietly(task.spooledFile);
+            List<AiMeetingSttState> discarded =
+                uploadStateService.discard(List.of(task.stateId), stage + " failed: " + e.getMessage());
+            if (!discarded.isEmpty() && task.gcsUri != null) {
+                googleSttService.deleteFromGcs(task.gcsUri);
+            }
+        } catch (Exception cleanupError) {
+            log.warn("비동기 접수 청크 정리 실패: meetingId={}, chunkSeq={}", task.meetingId, task.chunkSeq, cleanupError);
+        }
+    }
+
+    private boolean isInterruption(Exception e) {
+        if (stopping || Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException
+                || cause instanceof InterruptedIOException
+                || cause instanceof ClosedByInterruptException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void cleanup(Long stateId, Path spooledFile) {
+        audioSpoolService.deleteQuietly(spooledFile);
+        uploadStateService.discard(List.of(stateId));
+    }
+
+    private IngestQueueFullException reject() {
+        rejected.incrementAndGet();
+        return new IngestQueueFullException(Math.max(1L, retryAfter.toSeconds()));
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.stttest.service;
+
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * 미팅별 chunkSeq 발급기.
+ *
+ * 미팅마다 마지막으로 발급한 chunkSeq를 들고 있어 같은 미팅 업로드가 동시에 들어와도 서로 다른 순번을 받는다.
+ * 카운터 갱신은 미팅 단위 ConcurrentHashMap.compute 안에서 하므로 다른 미팅과는 서로 막지 않는다.
+ *
+ * 기동 시(ApplicationReadyEvent) 처리 중인 청크가 있는 미팅의 카운터를 DB 최대값으로 한 번에 맞추고,
+ * 그 밖의 미팅은 처음 만날 때 DB 최대값으로 맞춘다.
+ *
+ * 카운터는 idleTtl 동안 쓰이지 않으면 지우고, maxMeetings를 넘으면 오래 안 쓴 것부터 지운다.
+ * 단, 자동 발급한 순번이 아직 DB에 없으면(PENDING 선점 전) 지우지 않는다. 지운 뒤 DB 최대값으로 다시 시드하면
+ * 같은 순번을 또 발급하기 때문이다. 지워진 미팅은 다음 사용 때 DB 최대값으로 다시 시드한다(조회 1회).
+ *
+ * 클라이언트 순번은 도착 순서대로 처리한다(재정렬 버퍼 없음). 병합 오디오만 빈 순번 앞에서 멈추고,
+ * STT job 시작과 이벤트 전송은 도착 순서를 따른다(자막 글로벌 오프셋은 스냅샷 조회 때 chunkSeq 순서로 다시 계산한다).
+ *
+ * 최종 보장은 DB unique(meeting_id, chunk_seq)가 한다. 다른 인스턴스가 같은 미팅에 먼저 저장해
+ * 충돌이 나면 reconcile로 카운터를 DB 값에 다시 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkSeqAllocator {
+
+    private final AiMeetingSttStateRepository sttStateRepository;
+
+    /** 메모리에 유지하는 미팅 카운터 최대 수 */
+    @Value("${stt.chunkSeq.maxMeetings:10000}")
+    private int maxMeetings;
+
+    /** 이 시간 동안 발급/예약이 없던 미팅 카운터는 지운다 */
+    @Value("${stt.chunkSeq.idleTtl:30m}")
+    private Duration idleTtl;
+
+    /** meetingId -> 미팅 카운터 (필드는 compute 안에서만 바꾼다) */
+    private final ConcurrentHashMap<Long, SeqCounter> counters = new ConcurrentHashMap<>();
+
+    private static class SeqCounter {
+        /** 마지막으로 발급(또는 예약)한 chunkSeq */
+        private int lastSeq;
+        /** 마지막으로 자동 발급한 chunkSeq (DB에 이 값까지 있어야 지울 수 있다) */
+        private int lastAllocatedSeq;
+        private volatile long lastUsedAtMs;
+
+        private SeqCounter(int lastSeq) {
+            this.lastSeq = lastSeq;
+            this.lastUsedAtMs = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 처리 중인 청크가 있는 미팅(재기동 직후 업로드가 이어질 미팅)의 카운터를 DB 최대값으로 맞춘다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedActiveMeetings() {
+        List<Object[]> rows = sttStateRepository.findMaxChunkSeqOfMeetingsWithStatus(
+            List.of(ChunkStatus.PENDING, ChunkStatus.UPLOADED, ChunkStatus.PROCESSING)
+        );
+        int seeded = 0;
+        for (Object[] row : rows) {
+            if (seeded >= Math.max(1, maxMeetings)) {
+                break;
+            }
+            Long meetingId = (Long) row[0];
+            int maxChunkSeq = row[1] == null ? 0 : (Integer) row[1];
+            update(meetingId, maxChunkSeq, counter -> counter.lastSeq = Math.max(counter.lastSeq, maxChunkSeq));
+            seeded++;
+        }
+        if (seeded > 0) {
+            log.info("chunkSeq 발급기 시드: meetings={}", seeded);
+        }
+    }
+
+    /**
+     * 연속된 count개 순번을 한 번에 발급하고 첫 순번을 반환한다(배치 업로드 입력 순서 유지).
+     */
+    public int allocate(Long meetingId, int count) {
+        return update(meetingId, null, counter -> {
+            int firstSeq = counter.lastSeq + 1;
+            counter.lastSeq += count;
+            counter.lastAllocatedSeq = counter.lastSeq;
+            return firstSeq;
+        });
+    }
+
+    /**
+     * 클라이언트가 지정한 순번을 예약한다. 이후 자동 발급은 이 순번 다음부터 이어진다.
+     * 같은 순번 중복은 DB unique 제약으로 걸러진다.
+     */
+    public void reserve(Long meetingId, int chunkSeq) {
+        update(meetingId, null, counter -> counter.lastSeq = Math.max(counter.lastSeq, chunkSeq));
+    }
+
+    /**
+     * 카운터를 DB 최대 chunkSeq 이상으로 다시 맞춘다(unique 충돌 이후).
+     */
+    public void reconcile(Long meetingId) {
+        int maxChunkSeq = findMaxChunkSeq(meetingId);
+        update(meetingId, maxChunkSeq, counter -> counter.lastSeq = Math.max(counter.lastSeq, maxChunkSeq));
+    }
+
+    /**
+     * 오래 쓰이지 않은 카운터를 지운다. 진행 중인 업로드가 있는 미팅은 idleTtl 안에 다시 쓰이므로 남는다.
+     */
+    @Scheduled(fixedDelayString = "${stt.chunkSeq.sweepMs:60000}")
+    public void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - idleTtl.toMillis();
+        Predicate<SeqCounter> idle = counter -> counter.lastUsedAtMs < idleBefore;
+        for (Map.Entry<Long, SeqCounter> entry : new ArrayList<>(counters.entrySet())) {
+            if (idle.test(entry.getValue())) {
+                evictIfPersisted(entry.getKey(), idle);
+            }
+        }
+
+        int overflow = counters.size() - Math.max(1, maxMeetings);
+        if (overflow <= 0) {
+            return;
+        }
+        List<Map.Entry<Long, SeqCounter>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsedAtMs));
+        for (int i = 0; i < entries.size() && overflow > 0; i++) {
+            long usedAtMs = entries.get(i).getValue().lastUsedAtMs;
+            if (evictIfPersisted(entries.get(i).getKey(), counter -> counter.lastUsedAtMs == usedAtMs)) {
+                overflow--;
+            }
+        }
+    }
+
+    boolean isTracked(Long meetingId) {
+        return counters.containsKey(meetingId);
+    }
+
+    /**
+     * 자동 발급한 순번이 모두 DB에 있고 조건이 그대로일 때만 지운다.
+     * DB 조회 이후 새로 발급됐으면 lastAllocatedSeq가 DB 값보다 커지므로 남는다(compute 안에서 다시 확인).
+     */
+    private boolean evictIfPersisted(Long meetingId, Predicate<SeqCounter> condition) {
+        int maxChunkSeq = findMaxChunkSeq(meetingId);
+        boolean[] removed = new boolean[1];
+        counters.computeIfPresent(meetingId, (id, counter) -> {
+            if (condition.test(counter) && counter.lastAllocatedSeq <= maxChunkSeq) {
+                removed[0] = true;
+                return null;
+            }
+            return counter;
+        });
+        return removed[0];
+    }
+
+    /**
+     * 카운터를 미팅 단위로 원자적으로 바꾼다. 없으면 seed(null이면 DB 최대값)로 만든다.
+     */
+    private int update(Long meetingId, Integer seed, ToIntFunction<SeqCounter> operation) {
+        // DB 조회는 가능하면 map 바깥에서 한다.
+        Integer initialSeq = seed != null || counters.containsKey(meetingId) ? seed : Integer.valueOf(findMaxChunkSeq(meetingId));
+        int[] result = new int[1];
+        counters.compute(meetingId, (id, counter) -> {
+            // 조회와 compute 사이에 지워진 드문 경우에만 compute 안에서 DB를 조회한다.
+            SeqCounter target = counter != null
+                                ? counter
+                                : new SeqCounter(initialSeq != null ? initialSeq : findMaxChunkSeq(id));
+            result[0] = operation.applyAsInt(target);
+            target.lastUsedAtMs = System.currentTimeMillis();
+            return target;
+        });
+        return result[0];
+    }
+
+    private int findMaxChunkSeq(Long meetingId) {
+        Integer maxChunkSeq = sttStateRepository.findMaxChunkSeq(meetingId);
+        return maxChunkSeq == null ? 0 : maxChunkSeq;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.stttest.service;
+
+import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 업로드 도중 서버가 내려가 중간 상태로 남은 청크를 기동 직후 정리한다.
+ *
+ * - PENDING: 비동기 접수 spool 파일이 남아 있으면 ChunkIngestPipeline으로 이어서 처리하고,
+ *   없으면(동기 업로드 도중 종료) 업로드 원본이 없으므로 행을 지운다(클라이언트 재전송 대상).
+ * - UPLOADED: GCS에 파일이 있으므로 미팅/언어별로 묶어 STT job을 시작하고 PROCESSING으로 넘긴다.
+ *
+ * 단일 인스턴스 기준이다. 여러 인스턴스가 같은 DB를 쓰면 다른 인스턴스의 진행 중 업로드를 지울 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkUploadRecovery {
+
+    private final AiMeetingSttStateRepository sttStateRepository;
+    private final ChunkUploadStateService uploadStateService;
+    private final GoogleSttService googleSttService;
+    private final ChunkIngestPipeline chunkIngestPipeline;
+
+    @Value("${stt.recovery.enabled:true}")
+    private boolean enabled;
+
+    /** batchRecognize job 1개에 묶는 최대 청크 수 (업로드 경로와 같은 설정) */
+    @Value("${stt.batch.maxFiles:10}")
+    private int batchMaxFiles;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> lost = new ArrayList<>();
+        int resumed = 0;
+        int deferred = 0;
+        for (AiMeetingSttState sttState : sttStateRepository.findByStatus(ChunkStatus.PENDING)) {
+            LocalDate createdDate = Objects.requireNonNullElse(sttState.getCreatedDate(), LocalDate.now());
+            try {
+                if (chunkIngestPipeline.resume(sttState.getId(), sttState.getMeetingId(), sttState.getChunkSeq(),
+                                               sttState.getLanguageCode(), createdDate)) {
+                    resumed++;
+                } else {
+                    lost.add(sttState.getId());
+                }
+            } catch (IllegalStateException e) {
+                // 종료 중이라 재개하지 못한 청크는 PENDING + spool 파일로 남겨 다음 기동 때 다시 시도한다.
+                deferred++;
+                log.warn("미완료 업로드 청크 재개 보류: meetingId={}, chunkSeq={}, error={}",
+                         sttState.getMeetingId(), sttState.getChunkSeq(), e.getMessage());
+            }
+        }
+        if (!lost.isEmpty()) {
+            uploadStateService.discard(lost);
+        }
+        if (resumed > 0 || deferred > 0 || !lost.isEmpty()) {
+            log.info("미완료 업로드 청크 정리: resumed={}, deferred={}, discarded={}", resumed, deferred, lost.size());
+        }
+
+        Map<String, List<AiMeetingSttState>> groups = new LinkedHashMap<>();
+        sttStateRepository.findByStatus(ChunkStatus.UPLOADED)
+                          .stream()
+                          .sorted(Comparator.comparing(AiMeetingSttState::getMeetingId)
+                                            .thenComparing(AiMeetingSttState::getChunkSeq))
+                          .forEach(sttState -> {
+                              // 업로드가 끝난 청크는 GCS 파일 기준으로 이어가므로 남은 접수 spool 파일은 지운다.
+                              chunkIngestPipeline.deleteSpool(sttState.getMeetingId(), sttState.getChunkSeq());
+                              groups.computeIfAbsent(sttState.getMeetingId() + "|" + sttState.getLanguageCode(),
+                                                     key -> new ArrayList<>())
+                                    .add(sttState);
+                          });
+
+        for (List<AiMeetingSttState> group : groups.values()) {
+            for (int from = 0; from < group.size(); from += Math.max(1, batchMaxFiles)) {
+                startJob(group.subList(from, Math.min(group.size(), from + Math.max(1, batchMaxFiles))));
+            }
+        }
+    }
+
+    /**
+     * 실패하면 UPLOADED로 남겨 두고 다음 기동 때 다시 시도한다.
+     */
+    private void startJob(List<AiMeetingSttState> sttStates) {
+        AiMeetingSttState first = sttStates.get(0);
+        List<Integer> chunkSeqs = sttStates.stream().map(AiMeetingSttState::getChunkSeq).toList();
+        try {
+            LocalDate createdDate = Objects.requireNonNullElse(first.getCreatedDate(), LocalDate.now());
+            String jobId = googleSttService.startSttJob(
+                sttStates.stream().map(AiMeetingSttState::getGcsUri).toList(),
+                first.getLanguageCode(),
+                createdDate.format(SttService.DATE_FORMAT),
+                first.getMeetingId()
+            );
+            uploadStateService.markProcessing(sttStates.stream().map(AiMeetingSttState::getId).toList(), jobId);
+            log.info("업로드 완료 청크 STT 재시작: meetingId={}, chunkSeqs={}, jobId={}",
+                     first.getMeetingId(), chunkSeqs, jobId);
+        } catch (Exception e) {
+            log.warn("업로드 완료 청크 STT 재시작 실패: meetingId={}, chunkSeqs={}, error={}",
+                     first.getMeetingId(), chunkSeqs, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.ChunkUploadAutoRs;
+import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 청크 업로드 상태 전이를 짧은 트랜잭션 단위로 저장한다.
+ *
+ * PENDING(순번 선점) -> UPLOADED(GCS 업로드 완료) -> PROCESSING(STT job 시작)
+ *
+ * spool/duration 측정/GCS 업로드/job 시작 같은 원격 작업은 호출 측에서 트랜잭션 밖에서 수행하고,
+ * 여기서는 단계가 끝날 때마다 상태만 기록한다. DB 커넥션은 원격 호출 동안 잡고 있지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkUploadStateService {
+
+    private final AiMeetingSttStateRepository sttStateRepository;
+    private final ChunkSeqAllocator chunkSeqAllocator;
+    private final MeetingRevisionAllocator revisionAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * firstChunkSeq부터 count개 순번을 PENDING으로 선점한다.
+     * 버려진(DISCARDED) 순번이면 그 행을 PENDING으로 되살려 쓴다(클라이언트 순번 재전송).
+     * 살아 있는 순번이거나 (meetingId, chunkSeq) unique 충돌이면 발급기를 DB에 다시 맞추고 실패시킨다.
+     *
+     * @return 상태 id (chunkSeq 순)
+     */
+    @Transactional
+    public List<Long> createPending(Long meetingId, int firstChunkSeq, int count, String languageCode) {
+        List<Long> stateIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int chunkSeq = firstChunkSeq + i;
+            AiMeetingSttState existing = sttStateRepository.findByMeetingIdAndChunkSeq(meetingId, chunkSeq).orElse(null);
+            if (existing != null) {
+                if (existing.getStatus() != ChunkStatus.DISCARDED) {
+                    reconcileAfterRollback(meetingId);
+                    throw duplicateChunkSeq(meetingId, chunkSeq, null);
+                }
+                existing.setStatus(ChunkStatus.PENDING);
+                existing.setGcsUri(null);
+                existing.setJobId(null);
+                existing.setDurationMs(null);
+                existing.setErrorMessage(null);
+                existing.setLanguageCode(languageCode);
+                existing.setRevision(revisionAllocator.next());
+                stateIds.add(existing.getId());
+                continue;
+            }
+
+            AiMeetingSttState sttState = AiMeetingSttState.builder()
+                                                          .meetingId(meetingId)
+                                                          .chunkSeq(chunkSeq)
+                                                          .status(ChunkStatus.PENDING)
+                                                          .revision(revisionAllocator.next())
+                                                          .languageCode(languageCode)
+                                                          .createdDate(LocalDate.now())
+                                                          .build();
+            try {
+                sttStateRepository.saveAndFlush(sttState);
+            } catch (DataIntegrityViolationException e) {
+                // 실패한 세션에서는 더 조회할 수 없으므로 롤백이 끝난 뒤 발급기를 맞춘다.
+                reconcileAfterRollback(meetingId);
+                throw duplicateChunkSeq(meetingId, chunkSeq, e);
+            }
+            stateIds.add(sttState.getId());
+        }
+        return stateIds;
+    }
+
+    /**
+     * 발급했지만 행을 만들지 못한 순번(접수 거절, PENDING 선점 실패 등)을 DISCARDED tombstone으로 채운다.
+     *
+     * 자동 발급 순번은 되돌리지 않으므로, 행이 없는 채로 두면 병합 오디오가 그 순번을 "아직 안 온 순번"으로 보고
+     * 뒤 청크를 영영 이어 붙이지 못한다. 이미 행이 있는 순번은 건드리지 않는다.
+     */
+    @Transactional
+    public void tombstoneUnused(Long meetingId, int firstChunkSeq, int count, String errorMessage) {
+        for (int i = 0; i < count; i++) {
+            int chunkSeq = firstChunkSeq + i;
+            if (sttStateRepository.findByMeetingIdAndChunkSeq(meetingId, chunkSeq).isPresent()) {
+                continue;
+            }
+            AiMeetingSttState sttState = AiMeetingSttState.builder()
+                                                          .meetingId(meetingId)
+                                                          .chunkSeq(chunkSeq)
+                                                          .status(ChunkStatus.DISCARDED)
+                                                          .revision(revisionAllocator.next())
+                                                          .errorMessage(errorMessage)
+                                                          .createdDate(LocalDate.now())
+                                                          .build();
+            sttStateRepository.save(sttState);
+            eventPublisher.publishEvent(SttService.toChunkEvent(sttState, List.of()));
+            log.info("미사용 순번 tombstone: meetingId={}, chunkSeq={}", meetingId, chunkSeq);
+        }
+    }
+
+    /**
+     * GCS 업로드 완료를 기록한다. 재기동 후에는 이 정보로 job 시작부터 이어간다.
+     */
+    @Transactional
+    public void markUploaded(Long stateId, String gcsUri, long durationMs) {
+        AiMeetingSttState sttState = findState(stateId);
+        if (sttState.getStatus() != ChunkStatus.PENDING) {
+            throw new IllegalStateException("chunk is not pending. stateId=%d, status=%s".formatted(stateId, sttState.getStatus()));
+        }
+        sttState.setGcsUri(gcsUri);
+        sttState.setDurationMs(durationMs);
+        sttState.setStatus(ChunkStatus.UPLOADED);
+    }
+
+    /**
+     * 같은 job에 묶인 청크를 PROCESSING으로 바꾸고 폴링 대상에 포함시킨다.
+     */
+    @Transactional
+    public List<ChunkUploadAutoRs> markProcessing(List<Long> stateIds, String jobId) {
+        List<ChunkUploadAutoRs> out = new ArrayList<>(stateIds.size());
+        for (Long stateId : stateIds) {
+            AiMeetingSttState sttState = findState(stateId);
+            if (sttState.getStatus() != ChunkStatus.UPLOADED) {
+                throw new IllegalStateException("chunk is not uploaded. stateId=%d, status=%s".formatted(stateId, sttState.getStatus()));
+            }
+            sttState.setJobId(jobId);
+            sttState.setStatus(ChunkStatus.PROCESSING);
+            sttState.setRevision(revisionAllocator.next());
+            eventPublisher.publishEvent(SttService.toChunkEvent(sttState, List.of()));
+            out.add(new ChunkUploadAutoRs(sttState.getMeetingId(), sttState.getChunkSeq(), jobId, sttState.getGcsUri()));
+        }
+        return out;
+    }
+
+    /**
+     * 업로드가 실패한 청크(PENDING/UPLOADED)를 DISCARDED tombstone으로 바꾼다. 이미 PROCESSING 이후인 청크는 건드리지 않는다.
+     *
+     * 행을 지우지 않고 남겨야 병합 오디오가 이 순번을 "없어진 순번"으로 건너뛸 수 있고,
+     * 새 revision + 이벤트로 delta/SSE 클라이언트도 이미 받은 청크를 지울 수 있다.
+     * gcsUri는 남겨 두므로 호출 측은 반환값으로 업로드된 객체를 정리할 수 있다.
+     *
+     * @return tombstone으로 바뀐 청크 (바뀌기 직전 상태가 UPLOADED면 gcsUri가 있다)
+     */
+    @Transactional
+    public List<AiMeetingSttState> discard(Collection<Long> stateIds) {
+        return discard(stateIds, null);
+    }
+
+    /**
+     * discard와 같고, 실패 원인을 errorMessage로 남긴다(비동기 접수 단계 실패).
+     */
+    @Transactional
+    public List<AiMeetingSttState> discard(Collection<Long> stateIds, String errorMessage) {
+        List<AiMeetingSttState> discarded = new ArrayList<>(stateIds.size());
+        for (Long stateId : stateIds) {
+            AiMeetingSttState sttState = sttStateRepository.findById(stateId).orElse(null);
+            if (sttState == null
+                || (sttState.getStatus() != ChunkStatus.PENDING && sttState.getStatus() != ChunkStatus.UPLOADED)) {
+                continue;
+            }
+            log.info("업로드 실패 청크 정리: meetingId={}, chunkSeq={}, status={}",
+                     sttState.getMeetingId(), sttState.getChunkSeq(), sttState.getStatus());
+            sttState.setStatus(ChunkStatus.DISCARDED);
+            if (errorMessage != null) {
+                sttState.setErrorMessage(errorMessage);
+            }
+            sttState.setRevision(revisionAllocator.next());
+            eventPublisher.publishEvent(SttService.toChunkEvent(sttState, List.of()));
+            discarded.add(sttState);
+        }
+        return discarded;
+    }
+
+    private static IllegalStateException duplicateChunkSeq(Long meetingId, int chunkSeq, Exception cause) {
+        return new IllegalStateException(
+            "chunkSeq already exists. meetingId=%d, chunkSeq=%d".formatted(meetingId, chunkSeq),
+            cause
+        );
+    }
+
+    private void reconcileAfterRollback(Long meetingId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                chunkSeqAllocator.reconcile(meetingId);
+            }
+        });
+    }
+
+    private AiMeetingSttState findState(Long stateId) {
+        return sttStateRepository.findById(stateId)
+                                 .orElseThrow(() -> new IllegalStateException("chunk state not found. stateId=" + stateId));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.stttest.service;
+
+import com.example.stttest.config.ThreadPools;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * ffprobe/ffmpeg 같은 외부 프로세스를 실행하고 stdout/err(합침)와 종료 코드를 돌려준다.
+ *
+ * 프로세스 출력 읽기/종료 대기는 가상 스레드에서 carrier 스레드를 묶으므로,
+ * 호출 스레드가 가상 스레드면 플랫폼 스레드 풀(processConcurrency)로 넘겨 실행한다.
+ * 플랫폼 스레드(기본 모드)에서 호출하면 호출 스레드에서 바로 실행한다.
+ */
+@Component
+public class ExternalProcessRunner implements DisposableBean {
+
+    /** 가상 스레드에서 넘어온 프로세스 실행 동시 처리 수 */
+    @Value("${stt.audio.processConcurrency:4}")
+    private int processConcurrency;
+
+    private ExecutorService executor;
+
+    @Getter
+    @AllArgsConstructor
+    public static class ProcessResult {
+        private final int exitCode;
+        private final String output;
+    }
+
+    @PostConstruct
+    void init() {
+        executor = ThreadPools.newPlatformPool("stt-process", processConcurrency);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public ProcessResult run(List<String> command) throws Exception {
+        if (!Thread.currentThread().isVirtual()) {
+            return execute(command);
+        }
+
+        Future<ProcessResult> future = executor.submit(() -> execute(command));
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("process interrupted. command=" + command.get(0), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private ProcessResult execute(List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .start();
+        try {
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            return new ProcessResult(process.waitFor(), output);
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+}
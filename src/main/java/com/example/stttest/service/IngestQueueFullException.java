@@ -0,0 +1,19 @@
+package com.example.stttest.service;
+
+import lombok.Getter;
+
+/**
+ * 비동기 접수 대기열이 가득 차 청크를 받지 않았다(429 + Retry-After).
+ */
+@Getter
+public class IngestQueueFullException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public IngestQueueFullException(long retryAfterSeconds) {
+        super("ingest queue is full. retryAfterSeconds=" + retryAfterSeconds);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
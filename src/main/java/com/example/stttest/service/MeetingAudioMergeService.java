@@ -1,35 +1,68 @@
 package com.example.stttest.service;
 
+import com.example.stttest.config.GoogleCloudClients;
 import com.example.stttest.dto.AudioDownloadDto;
 import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
 import com.example.stttest.repository.AiMeetingSttStateRepository;
-import com.google.auth.oauth2.GoogleCredentials;
+import com.example.stttest.service.MergedAudioCache.CachedMergedAudio;
+import com.example.stttest.webm.WebmConcatWriter;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.Storage;
-import com.google.cloud.storage.StorageOptions;
+import com.google.cloud.storage.StorageException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MeetingAudioMergeService {
 
-    @Value("${google.stt.apiKeyPath}")
-    private String apiKeyPath;
+    /**
+     * 다중 청크 병합 방식.
+     *
+     * - JAVA: 내장 WebM remuxer (프로세스/임시 청크 파일 없음)
+     * - FFMPEG: 청크를 내려받아 ffmpeg concat demuxer로 병합
+     */
+    public enum MergeMode {
+        JAVA,
+        FFMPEG
+    }
+
+    @Value("${stt.audio.mergeMode:JAVA}")
+    private MergeMode mergeMode;
+
+    /** 같은 미팅의 병합은 한 번만 수행되도록 미팅 ID 기준으로 잠근다. */
+    private static final int MERGE_LOCK_STRIPES = 64;
 
     private final AiMeetingSttStateRepository sttStateRepository;
+    private final GoogleCloudClients googleCloudClients;
+    private final MergedAudioCache mergedAudioCache;
+    private final ParallelChunkFetcher parallelChunkFetcher;
+    private final ExternalProcessRunner externalProcessRunner;
+
+    private final ReentrantLock[] mergeLocks = newMergeLocks();
 
     @Getter
     @AllArgsConstructor
@@ -38,69 +71,310 @@ public class MeetingAudioMergeService {
         private final String object;
     }
 
+    /**
+     * 병합 오디오 ETag를 DB 상태만으로 계산한다(병합/다운로드 없음).
+     *
+     * 청크 구성(chunkSeq/gcsUri/durationMs)이 같으면 병합 결과도 같으므로
+     * If-None-Match 비교를 병합 전에 끝낼 수 있다.
+     */
+    public String getMergedAudioEtag(Long meetingId) {
+        return toEtag(fingerprint(chunkKeys(findChunkStates(meetingId))));
+    }
+
     /**
      * 입력 청크는 webm-opus로 고정되어 있다고 가정한다.
+     *
+     * 병합 결과는 로컬 디스크 캐시에 남겨 두고 응답은 파일 스트리밍(Range 지원)으로 내려간다.
+     * - 같은 청크 구성이면 캐시 파일을 그대로 재사용한다.
+     * - 캐시 구성 뒤에 청크만 추가됐으면(JAVA 모드) 새 청크만 이어 붙인다.
+     * - 그 외에는 전체를 다시 병합한다.
+     *
+     * 파일은 잠금 안에서 연다. 잠금을 푼 뒤 다른 요청의 재병합/LRU 제거가 파일을 지워도
+     * 이미 연 핸들로 끝까지 내려가므로 응답이 500이나 잘린 206이 되지 않는다. 호출 측이 응답 후 닫는다.
      */
     public AudioDownloadDto downloadMergedMeetingAudio(Long meetingId) throws Exception {
         // 업로드 순서(=chunkSeq asc)대로 병합해야 자막 글로벌 타임라인과 일치한다.
-        List<AiMeetingSttState> sttStates = sttStateRepository.findByMeetingIdOrderByChunkSeqAsc(meetingId);
-        if (sttStates.isEmpty()) {
-            throw new IllegalStateException("no chunks found. meetingId=" + meetingId);
+        List<AiMeetingSttState> sttStates = findChunkStates(meetingId);
+        List<String> chunkKeys = chunkKeys(sttStates);
+        String fingerprint = fingerprint(chunkKeys);
+
+        FileChannel channel;
+        ReentrantLock lock = mergeLockOf(meetingId);
+        lock.lock();
+        try {
+            channel = mergedAudioCache.open(meetingId, fingerprint);
+            if (channel != null) {
+                mergedAudioCache.recordHit();
+            } else {
+                channel = mergeAndCache(meetingId, sttStates, chunkKeys, fingerprint, mergedAudioCache.get(meetingId));
+            }
+        } finally {
+            lock.unlock();
         }
 
-        // GCS에 저장된 청크 원본을 읽기 위한 인증/스토리지 클라이언트 준비.
-        GoogleCredentials creds = loadCreds();
-        Storage storage = StorageOptions.newBuilder()
-                                        .setCredentials(creds)
-                                        .build()
-                                        .getService();
+        return new AudioDownloadDto(
+            "meeting_" + meetingId + "_merged.webm",
+            "audio/webm",
+            channel,
+            channel.size(),
+            toEtag(fingerprint)
+        );
+    }
+
+    /**
+     * 병합 결과를 캐시에 등록하고 연 핸들을 반환한다.
+     * 등록 직후 다른 미팅의 LRU 제거로 지워질 수 있으므로 등록 전에 연다.
+     */
+    private FileChannel mergeAndCache(
+        Long meetingId,
+        List<AiMeetingSttState> sttStates,
+        List<String> chunkKeys,
+        String fingerprint,
+        CachedMergedAudio cached
+    ) throws Exception {
+        Path target = mergedAudioCache.audioFile(meetingId, fingerprint);
+
+        // 임시 파일에 끝까지 쓴 뒤 이동해야 동시에 읽는 요청이 미완성 파일을 보지 않는다.
+        Path temp = Files.createTempFile(mergedAudioCache.directory(), "merging_" + meetingId + "_", ".webm");
+        try {
+            if (isAppendable(cached, chunkKeys) && appendNewChunks(cached, sttStates, temp)) {
+                mergedAudioCache.recordAppend();
+            } else {
+                writeMergedAudio(meetingId, sttStates, temp);
+                mergedAudioCache.recordMiss();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        FileChannel channel = FileChannel.open(target, StandardOpenOption.READ);
+        try {
+            mergedAudioCache.put(new CachedMergedAudio(meetingId, fingerprint, chunkKeys, target, channel.size()));
+        } catch (Exception e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     * 캐시된 청크 구성이 현재 구성의 앞부분과 정확히 같을 때만 이어 붙일 수 있다.
+     * (중간 청크의 gcsUri/durationMs가 바뀌었으면 오프셋이 달라지므로 전체 재병합)
+     */
+    private boolean isAppendable(CachedMergedAudio cached, List<String> chunkKeys) {
+        if (mergeMode != MergeMode.JAVA || cached == null) {
+            return false;
+        }
+        List<String> cachedKeys = cached.getChunkKeys();
+        return cachedKeys.size() < chunkKeys.size() && chunkKeys.subList(0, cachedKeys.size()).equals(cachedKeys);
+    }
+
+    /**
+     * 캐시 파일 복사본에 새 청크만 append 한다.
+     *
+     * 원본 캐시 파일은 스트리밍 중인 요청이 읽고 있을 수 있으므로 직접 수정하지 않는다.
+     * 실패하면 false를 반환하고 호출 측에서 전체 병합으로 대체한다.
+     */
+    private boolean appendNewChunks(CachedMergedAudio cached, List<AiMeetingSttState> sttStates, Path output) {
+        try {
+            Files.copy(cached.getFile(), output, StandardCopyOption.REPLACE_EXISTING);
+
+            List<AiMeetingSttState> newStates = sttStates.subList(cached.getChunkKeys().size(), sttStates.size());
+            try (WebmConcatWriter writer = WebmConcatWriter.resume(output)) {
+                appendChunks(cached.getMeetingId(), newStates, googleCloudClients.storage(), writer);
+                writer.finish();
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("merged audio append failed, falling back to full merge. meetingId={}", cached.getMeetingId(), e);
+            return false;
+        }
+    }
+
+    private void writeMergedAudio(Long meetingId, List<AiMeetingSttState> sttStates, Path output) throws Exception {
+        // GCS에 저장된 청크 원본은 공유 스토리지 클라이언트로 읽는다.
+        Storage storage = googleCloudClients.storage();
 
         // 청크가 하나면 그대로 webm을 반환한다.
-        if (sttStates.size() == 1) {
+        // (JAVA 모드는 이후 청크를 이어 붙일 수 있도록 단일 청크도 remuxer로 쓴다)
+        if (sttStates.size() == 1 && mergeMode != MergeMode.JAVA) {
             AiMeetingSttState only = sttStates.get(0);
             GcsPath path = parseGsUri(only.getGcsUri());
             Blob blob = storage.get(BlobId.of(path.getBucket(), path.getObject()));
             if (blob == null) {
                 throw new IllegalStateException("GCS blob not found. uri=" + only.getGcsUri());
             }
-            // 단일 청크는 병합 과정 없이 원본 bytes를 그대로 반환한다.
-            return new AudioDownloadDto(
-                "meeting_" + meetingId + "_merged.webm",
-                "audio/webm",
-                blob.getContent()
-            );
+            // 단일 청크는 병합 과정 없이 원본을 그대로 내려받는다.
+            blob.downloadTo(output);
+            return;
+        }
+
+        if (mergeMode == MergeMode.JAVA) {
+            try (WebmConcatWriter writer = WebmConcatWriter.create(output)) {
+                appendChunks(meetingId, sttStates, storage, writer);
+                writer.finish();
+            }
+            return;
         }
 
         // 다중 청크 병합은 임시 디렉터리에서 수행하고 finally에서 정리한다.
         Path tempDir = Files.createTempDirectory("stt-merge-" + meetingId + "-");
         try {
             List<Path> inputFiles = new ArrayList<>();
+            parallelChunkFetcher.fetchInOrder(
+                sttStates.size(),
+                tempDir,
+                gcsChunkDownloader(storage, sttStates),
+                (index, file) -> inputFiles.add(file)
+            );
 
-            for (AiMeetingSttState sttState : sttStates) {
-                // DB의 gsUri를 파싱해 각 청크를 로컬 임시 파일로 내려받는다.
-                GcsPath path = parseGsUri(sttState.getGcsUri());
-                Blob blob = storage.get(BlobId.of(path.getBucket(), path.getObject()));
-                if (blob == null) {
-                    throw new IllegalStateException("GCS blob not found. uri=" + sttState.getGcsUri());
+            // concat demuxer + copy 방식으로 코덱 재인코딩 없이 병합한다.
+            runFfmpegConcatWebm(inputFiles, tempDir.resolve("concat-inputs.txt"), output);
+        } finally {
+            deleteDirectoryQuietly(tempDir);
+        }
+    }
+
+    /**
+     * 청크를 병렬로 내려받아 chunkSeq 순서대로 Java remuxer에 이어 붙인다.
+     *
+     * Cluster timecode는 이전 청크 durationMs 누적값만큼 이동한다(자막 글로벌 타임라인과 동일 기준).
+     * 이어 붙인 청크 파일은 바로 지워서 디스크에는 동시 다운로드 수만큼만 남는다.
+     */
+    private void appendChunks(
+        Long meetingId,
+        List<AiMeetingSttState> sttStates,
+        Storage storage,
+        WebmConcatWriter writer
+    ) throws Exception {
+        Path tempDir = Files.createTempDirectory("stt-merge-" + meetingId + "-");
+        try {
+            parallelChunkFetcher.fetchInOrder(
+                sttStates.size(),
+                tempDir,
+                gcsChunkDownloader(storage, sttStates),
+                (index, file) -> {
+                    try (InputStream in = Files.newInputStream(file)) {
+                        writer.appendChunk(in, resolveChunkDurationMs(sttStates.get(index)));
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
                 }
+            );
+        } finally {
+            deleteDirectoryQuietly(tempDir);
+        }
+    }
+
+    private ParallelChunkFetcher.ChunkDownloader gcsChunkDownloader(Storage storage, List<AiMeetingSttState> sttStates) {
+        // gsUri 형식 오류는 다운로드 전에 바로 실패시킨다.
+        List<BlobId> blobIds = new ArrayList<>(sttStates.size());
+        for (AiMeetingSttState sttState : sttStates) {
+            GcsPath path = parseGsUri(sttState.getGcsUri());
+            blobIds.add(BlobId.of(path.getBucket(), path.getObject()));
+        }
 
-                Path localFile = tempDir.resolve("chunk_" + sttState.getChunkSeq() + ".webm");
-                blob.downloadTo(localFile);
-                inputFiles.add(localFile);
+        return new ParallelChunkFetcher.ChunkDownloader() {
+            @Override
+            public void download(int index, Path target) throws Exception {
+                try {
+                    storage.downloadTo(blobIds.get(index), target);
+                } catch (StorageException e) {
+                    if (e.getCode() == 404) {
+                        throw new IllegalStateException("GCS blob not found. uri=" + sttStates.get(index).getGcsUri(), e);
+                    }
+                    throw e;
+                }
             }
 
-            // concat demuxer + copy 방식으로 코덱 재인코딩 없이 병합한다.
-            Path merged = tempDir.resolve("meeting_" + meetingId + "_merged.webm");
-            runFfmpegConcatWebm(inputFiles, tempDir.resolve("concat-inputs.txt"), merged);
+            @Override
+            public boolean isRetryable(Exception e) {
+                if (e instanceof StorageException storageException) {
+                    return storageException.isRetryable();
+                }
+                return e instanceof IOException;
+            }
+        };
+    }
+
+    /**
+     * 병합 대상 청크. 클라이언트 순번 모드에서는 앞 순번이 아직 도착하지 않았을 수 있으므로
+     * 첫 청크부터 순번이 끊기지 않는 구간까지만 병합한다(빈 순번이 채워지면 그 뒤가 이어 붙는다).
+     *
+     * - 아직 GCS 업로드 중인(PENDING) 청크에서 멈춘다.
+     * - 업로드 실패로 버려진(DISCARDED) 순번만 "없어진 순번"으로 보고 건너뛴다.
+     */
+    private List<AiMeetingSttState> findChunkStates(Long meetingId) {
+        List<AiMeetingSttState> sttStates = sttStateRepository.findByMeetingIdOrderByChunkSeqAsc(meetingId);
+        List<AiMeetingSttState> ready = new ArrayList<>(sttStates.size());
+        int expectedSeq = sttStates.isEmpty() ? 0 : sttStates.get(0).getChunkSeq();
+        for (AiMeetingSttState sttState : sttStates) {
+            if (sttState.getChunkSeq() != expectedSeq || sttState.getStatus() == ChunkStatus.PENDING) {
+                break;
+            }
+            expectedSeq++;
+            if (sttState.getStatus() != ChunkStatus.DISCARDED) {
+                ready.add(sttState);
+            }
+        }
+        if (ready.isEmpty()) {
+            throw new IllegalStateException("no chunks found. meetingId=" + meetingId);
+        }
+        return ready;
+    }
+
+    /**
+     * 병합 결과를 결정하는 청크 구성 키(chunkSeq|gcsUri|durationMs), chunkSeq 순.
+     */
+    private List<String> chunkKeys(List<AiMeetingSttState> sttStates) {
+        List<String> chunkKeys = new ArrayList<>(sttStates.size());
+        for (AiMeetingSttState sttState : sttStates) {
+            chunkKeys.add(sttState.getChunkSeq() + "|" + sttState.getGcsUri() + "|" + sttState.getDurationMs());
+        }
+        return chunkKeys;
+    }
+
+    /**
+     * 청크 구성 키 목록의 해시.
+     */
+    private String fingerprint(List<String> chunkKeys) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String chunkKey : chunkKeys) {
+                digest.update((chunkKey + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-            return new AudioDownloadDto(
-                "meeting_" + meetingId + "_merged.webm",
-                "audio/webm",
-                Files.readAllBytes(merged)
+    private String toEtag(String fingerprint) {
+        return "\"" + fingerprint + "\"";
+    }
+
+    private ReentrantLock mergeLockOf(Long meetingId) {
+        return mergeLocks[Math.floorMod(meetingId.hashCode(), MERGE_LOCK_STRIPES)];
+    }
+
+    private static ReentrantLock[] newMergeLocks() {
+        ReentrantLock[] locks = new ReentrantLock[MERGE_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private long resolveChunkDurationMs(AiMeetingSttState sttState) {
+        if (sttState.getDurationMs() == null || sttState.getDurationMs() <= 0L) {
+            // 청크 오프셋 계산의 필수값이므로 누락 시 즉시 실패시킨다.
+            throw new IllegalStateException(
+                "durationMs is required. meetingId=%d, chunkSeq=%d"
+                    .formatted(sttState.getMeetingId(), sttState.getChunkSeq())
             );
-        } finally {
-            deleteDirectoryQuietly(tempDir);
         }
+        return sttState.getDurationMs();
     }
 
     /**
@@ -139,22 +413,11 @@ public class MeetingAudioMergeService {
         command.add("+genpts");
         command.add(outputFile.toAbsolutePath().toString());
 
-        Process process = new ProcessBuilder(command)
-            .redirectErrorStream(true)
-            .start();
-
-        String ffmpegOutput = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-        int exitCode = process.waitFor();
-        if (exitCode != 0) {
-            throw new IllegalStateException("ffmpeg merge failed. exitCode=%d, output=%s".formatted(exitCode, ffmpegOutput));
-        }
-    }
-
-    private GoogleCredentials loadCreds() throws Exception {
-        // 서비스 계정 키 파일 기반 인증.
-        try (FileInputStream in = new FileInputStream(apiKeyPath)) {
-            return GoogleCredentials.fromStream(in)
-                                    .createScoped(List.of("https://www.googleapis.com/auth/cloud-platform"));
+        ExternalProcessRunner.ProcessResult result = externalProcessRunner.run(command);
+        if (result.getExitCode() != 0) {
+            throw new IllegalStateException(
+                "ffmpeg merge failed. exitCode=%d, output=%s".formatted(result.getExitCode(), result.getOutput())
+            );
         }
     }
 
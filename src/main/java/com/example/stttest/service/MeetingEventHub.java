@@ -0,0 +1,329 @@
+package com.example.stttest.service;
+
+import com.example.stttest.config.ThreadPools;
+import com.example.stttest.dto.rs.MeetingChunkEventRs;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 미팅별 SSE 구독자에게 청크 상태 변경을 push 한다.
+ *
+ * - 연결은 서블릿 async(SseEmitter)로 유지하므로 구독자마다 스레드를 점유하지 않는다.
+ * - 미팅마다 최근 이벤트를 ring buffer로 보관해 Last-Event-ID 재연결 시 빠진 이벤트만 다시 보낸다.
+ * - buffer 범위를 벗어난 재연결(오래 끊김, 서버 재기동)은 reset + 전체 청크 상태 + sync를 다시 보낸다.
+ * - 채널 lock 안에서는 buffer와 구독자별 outbox에 넣기만 하고, 실제 전송은 전용 풀(sendConcurrency)에서 한다.
+ *   느린 클라이언트가 발행 스레드(폴러/접수 워커)나 다른 구독자를 막지 않으며,
+ *   outbox가 maxPendingPerSubscriber를 넘으면 그 연결만 끊는다(Last-Event-ID로 재연결).
+ * - 구독된 적 없는 미팅은 채널을 만들지 않는다. 나중에 구독하면 DB의 전체 청크 상태부터 받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MeetingEventHub implements DisposableBean {
+
+    /** 미팅당 재연결용으로 보관하는 최근 이벤트 수 */
+    @Value("${stt.events.bufferSize:256}")
+    private int bufferSize;
+
+    /** SSE 연결 유지 시간. 만료되면 클라이언트(EventSource)가 Last-Event-ID로 재연결한다. */
+    @Value("${stt.events.timeout:30m}")
+    private Duration timeout;
+
+    /** 메모리에 유지하는 미팅 채널 수 상한(구독자가 없는 오래된 채널부터 제거) */
+    @Value("${stt.events.maxMeetings:1000}")
+    private int maxMeetings;
+
+    /** SSE 전송 스레드 수 */
+    @Value("${stt.events.sendConcurrency:4}")
+    private int sendConcurrency;
+
+    /** 구독자별로 쌓아 둘 수 있는 미전송 이벤트 수. 넘으면 느린 연결로 보고 끊는다. */
+    @Value("${stt.events.maxPendingPerSubscriber:1000}")
+    private int maxPendingPerSubscriber;
+
+    /** 가상 스레드 모드(Tomcat 요청 처리와 같은 스위치)면 전송 스레드도 가상 스레드로 만든다 */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final SttService sttService;
+
+    private ExecutorService sendExecutor;
+
+    private final ReentrantLock channelsLock = new ReentrantLock();
+    private final LinkedHashMap<Long, MeetingChannel> channels = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, MeetingChannel> eldest) {
+            return size() > maxMeetings && eldest.getValue().subscribers.isEmpty();
+        }
+    };
+
+    private static class MeetingChannel {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<BufferedEvent> buffer = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        /** 재기동/채널 재생성 후에도 이전 id와 겹치지 않도록 현재 시각(ms)에서 시작한다. */
+        private long lastEventId = System.currentTimeMillis();
+    }
+
+    @AllArgsConstructor
+    private static class BufferedEvent {
+        private final long id;
+        private final MeetingChunkEventRs payload;
+    }
+
+    /**
+     * 구독자 1명. outbox는 한 번에 한 스레드(draining)만 비우므로 구독자별 전송 순서가 유지된다.
+     */
+    @RequiredArgsConstructor
+    private static class Subscriber {
+        private final MeetingChannel channel;
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<SseEmitter.SseEventBuilder> outbox = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+    }
+
+    @PostConstruct
+    void init() {
+        sendExecutor = ThreadPools.newFixedPool("sse-send", sendConcurrency, virtualThreads);
+    }
+
+    @Override
+    public void destroy() {
+        if (sendExecutor != null) {
+            sendExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 구독을 시작한다.
+     *
+     * lastEventId가 buffer 범위 안이면 이후 이벤트만, 아니면 reset + 현재 전체 청크 상태를 먼저 보낸다.
+     * 채널 lock 안에서 초기 이벤트를 outbox에 넣고 등록하므로 초기 전송과 실시간 이벤트 순서가 뒤섞이지 않는다.
+     */
+    public SseEmitter subscribe(Long meetingId, String lastEventIdHeader) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        MeetingChannel channel = channel(meetingId);
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        Long lastEventId = parseEventId(lastEventIdHeader);
+
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        channel.lock.lock();
+        try {
+            if (lastEventId != null && canReplay(channel, lastEventId)) {
+                for (BufferedEvent event : channel.buffer) {
+                    if (event.id > lastEventId) {
+                        enqueue(subscriber, chunkEvent(event.id, event.payload), false);
+                    }
+                }
+            } else {
+                enqueue(subscriber, SseEmitter.event()
+                                              .id(String.valueOf(channel.lastEventId))
+                                              .name("reset")
+                                              .data(meetingId), false);
+                for (MeetingChunkEventRs payload : sttService.getChunkEvents(meetingId)) {
+                    enqueue(subscriber, chunkEvent(channel.lastEventId, payload), false);
+                }
+                // 전체 상태 전송이 끝났음을 알린다(클라이언트는 이후부터 완료 여부를 판단한다).
+                enqueue(subscriber, SseEmitter.event()
+                                              .id(String.valueOf(channel.lastEventId))
+                                              .name("sync")
+                                              .data(meetingId), false);
+            }
+            if (!subscriber.closed) {
+                channel.subscribers.add(subscriber);
+            }
+        } catch (Exception e) {
+            log.warn("SSE 구독 초기 전송 실패: meetingId={}", meetingId, e);
+            closeWithError(subscriber, e);
+        } finally {
+            channel.lock.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * 청크 상태 변경 이벤트. 트랜잭션 안에서 발행되면 커밋 이후에 전송한다.
+     *
+     * 발행 스레드는 buffer/outbox에 넣기만 하고 돌아간다(전송은 sendExecutor).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunkEvent(MeetingChunkEventRs payload) {
+        MeetingChannel channel = existingChannel(payload.getMeetingId());
+        if (channel == null) {
+            return;
+        }
+
+        channel.lock.lock();
+        try {
+            long eventId = ++channel.lastEventId;
+            channel.buffer.addLast(new BufferedEvent(eventId, payload));
+            while (channel.buffer.size() > bufferSize) {
+                channel.buffer.removeFirst();
+            }
+
+            for (Subscriber subscriber : channel.subscribers) {
+                enqueue(subscriber, chunkEvent(eventId, payload), true);
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    /**
+     * 프록시 idle timeout 방지 및 끊긴 연결 정리를 위한 주석(heartbeat) 전송.
+     */
+    @Scheduled(fixedDelayString = "${stt.events.heartbeatMs:15000}")
+    public void sendHeartbeats() {
+        List<MeetingChannel> snapshot;
+        channelsLock.lock();
+        try {
+            snapshot = new ArrayList<>(channels.values());
+        } finally {
+            channelsLock.unlock();
+        }
+
+        // 주석은 순서와 무관하므로 채널 lock 없이 넣는다.
+        for (MeetingChannel channel : snapshot) {
+            for (Subscriber subscriber : channel.subscribers) {
+                enqueue(subscriber, SseEmitter.event().comment("ping"), true);
+            }
+        }
+    }
+
+    private MeetingChannel channel(Long meetingId) {
+        channelsLock.lock();
+        try {
+            return channels.computeIfAbsent(meetingId, k -> new MeetingChannel());
+        } finally {
+            channelsLock.unlock();
+        }
+    }
+
+    private MeetingChannel existingChannel(Long meetingId) {
+        channelsLock.lock();
+        try {
+            return channels.get(meetingId);
+        } finally {
+            channelsLock.unlock();
+        }
+    }
+
+    /**
+     * outbox에 넣고, 비우는 작업이 없으면 하나 시작한다.
+     * 구독 초기 이벤트(전체 청크 상태)는 미팅 크기만큼 쌓이므로 상한(bounded)을 적용하지 않는다.
+     */
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event, boolean bounded) {
+        if (subscriber.closed) {
+            return;
+        }
+        int pending = subscriber.pending.incrementAndGet();
+        if (bounded && pending > maxPendingPerSubscriber) {
+            closeWithError(subscriber, new IllegalStateException(
+                "SSE subscriber too slow. pending=" + pending
+            ));
+            return;
+        }
+        subscriber.outbox.add(event);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sendExecutor.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // 종료 중이면 연결을 닫는다.
+                closeWithError(subscriber, e);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.outbox.poll()) != null) {
+                subscriber.pending.decrementAndGet();
+                if (subscriber.closed) {
+                    continue;
+                }
+                try {
+                    subscriber.emitter.send(event);
+                } catch (Exception e) {
+                    // 끊긴 연결은 제거한다. 클라이언트는 Last-Event-ID로 재연결해 이어 받는다.
+                    closeWithError(subscriber, e);
+                }
+            }
+            subscriber.draining.set(false);
+            // 플래그를 내리는 사이에 들어온 이벤트는 다른 작업이 시작되지 않았을 때만 이어서 보낸다.
+            if (subscriber.outbox.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.channel.subscribers.remove(subscriber);
+    }
+
+    private void closeWithError(Subscriber subscriber, Exception e) {
+        close(subscriber);
+        subscriber.emitter.completeWithError(e);
+    }
+
+    private boolean canReplay(MeetingChannel channel, long lastEventId) {
+        if (lastEventId > channel.lastEventId) {
+            return false;
+        }
+        if (channel.buffer.isEmpty()) {
+            return lastEventId == channel.lastEventId;
+        }
+        // buffer 첫 이벤트 바로 앞까지 받은 클라이언트만 빠짐없이 이어 받을 수 있다.
+        return lastEventId >= channel.buffer.peekFirst().id - 1;
+    }
+
+    /**
+     * SseEventBuilder는 전송할 때 내용이 바뀌므로 구독자마다 새로 만든다.
+     */
+    private SseEmitter.SseEventBuilder chunkEvent(long eventId, MeetingChunkEventRs payload) {
+        return SseEmitter.event()
+                         .id(String.valueOf(eventId))
+                         .name("chunk")
+                         .data(payload, MediaType.APPLICATION_JSON);
+    }
+
+    private Long parseEventId(String lastEventIdHeader) {
+        if (lastEventIdHeader == null || lastEventIdHeader.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventIdHeader.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.stttest.service;
+
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 청크 상태 변경마다 부여하는 전역 단조 증가 revision 발급기.
+ *
+ * 발급 순서와 커밋 순서가 다를 수 있으므로(동시 트랜잭션) 아직 커밋되지 않은 revision을 추적한다.
+ * 클라이언트에 돌려주는 커서는 committedWatermark()로, 그 이하 revision은 모두 커밋(또는 롤백)이 끝난 값이다.
+ * 그래서 sinceRevision 이후만 조회해도 늦게 커밋된 변경을 놓치지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MeetingRevisionAllocator {
+
+    private final AiMeetingSttStateRepository sttStateRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** 발급됐지만 트랜잭션이 아직 끝나지 않은 revision */
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long lastRevision;
+
+    @PostConstruct
+    void init() {
+        Long maxRevision = sttStateRepository.findMaxRevision();
+        lastRevision = maxRevision == null ? 0L : maxRevision;
+    }
+
+    /**
+     * 다음 revision을 발급한다. 트랜잭션 안이면 트랜잭션 종료 시점까지 in-flight로 추적한다.
+     */
+    public long next() {
+        long revision;
+        lock.lock();
+        try {
+            revision = ++lastRevision;
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                inFlight.add(revision);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(revision);
+                }
+            });
+        }
+        return revision;
+    }
+
+    /**
+     * 이 값 이하의 revision은 더 이상 새로 커밋되지 않는다.
+     */
+    public long committedWatermark() {
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? lastRevision : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long revision) {
+        lock.lock();
+        try {
+            inFlight.remove(revision);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
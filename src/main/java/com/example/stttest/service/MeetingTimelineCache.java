@@ -0,0 +1,176 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.MeetingChunkEventRs;
+import com.example.stttest.dto.rs.MeetingTimelineCacheStatsRs;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.timeline.MeetingTimeline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 미팅별 글로벌 자막 타임라인 캐시(메모리).
+ *
+ * - 조회 miss 시 DB projection으로 만든 타임라인을 넣고, 이후에는 청크 DONE 이벤트로 증분 반영한다.
+ * - 이미 반영된 청크가 다시 바뀌는 등 증분 반영이 불가능하면 항목을 버리고 다음 조회에서 다시 만든다.
+ * - 전체 cue 수가 상한을 넘으면 가장 오래 사용하지 않은 미팅부터 제거한다(LRU).
+ *
+ * DB 조회 도중 커밋된 이벤트를 놓치지 않도록, 조회 전에 stamp를 잡고 그 사이 같은 stripe에
+ * 이벤트가 있었으면 만든 타임라인을 캐시에 넣지 않는다.
+ */
+@Slf4j
+@Component
+public class MeetingTimelineCache {
+
+    private static final int STAMP_STRIPES = 64;
+
+    /** 캐시 전체 cue 수 상한 */
+    @Value("${stt.timeline.maxCues:1000000}")
+    private long maxCues;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** access-order LinkedHashMap: 가장 앞이 가장 오래 사용하지 않은 항목 */
+    private final LinkedHashMap<Long, MeetingTimeline> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalCues;
+
+    /** 미팅 stripe별 이벤트 카운터 */
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 캐시된 타임라인을 조회한다. 없으면 null.
+     */
+    public MeetingTimeline get(Long meetingId) {
+        lock.lock();
+        try {
+            MeetingTimeline timeline = entries.get(meetingId);
+            if (timeline == null) {
+                misses.incrementAndGet();
+            } else {
+                hits.incrementAndGet();
+            }
+            return timeline;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * DB 조회 전에 호출해 현재 stamp를 받는다.
+     */
+    public long stamp(Long meetingId) {
+        return stamps.get(stripe(meetingId));
+    }
+
+    /**
+     * stamp 이후 이 미팅 stripe에 이벤트가 없었을 때만 캐시에 넣는다.
+     */
+    public void putIfUnchanged(Long meetingId, long stamp, MeetingTimeline timeline) {
+        lock.lock();
+        try {
+            if (stamps.get(stripe(meetingId)) != stamp || entries.containsKey(meetingId)) {
+                return;
+            }
+            entries.put(meetingId, timeline);
+            totalCues += timeline.getCueCount();
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 청크 상태 변경 이벤트. 커밋 이후에 반영한다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunkEvent(MeetingChunkEventRs payload) {
+        lock.lock();
+        try {
+            stamps.incrementAndGet(stripe(payload.getMeetingId()));
+
+            MeetingTimeline timeline = entries.get(payload.getMeetingId());
+            if (timeline == null) {
+                return;
+            }
+
+            if (payload.getStatus() != ChunkStatus.DONE) {
+                // 아직 타임라인에 없는 청크의 진행 상태 변경은 영향이 없다.
+                if (timeline.containsChunk(payload.getChunkSeq())) {
+                    invalidate(payload.getMeetingId(), timeline);
+                }
+                return;
+            }
+
+            if (payload.getDurationMs() == null || payload.getDurationMs() <= 0L) {
+                invalidate(payload.getMeetingId(), timeline);
+                return;
+            }
+
+            int before = timeline.getCueCount();
+            if (!timeline.insertChunk(payload.getChunkSeq(), payload.getDurationMs(),
+                                     payload.getCues() == null ? List.of() : payload.getCues())) {
+                invalidate(payload.getMeetingId(), timeline);
+                return;
+            }
+            totalCues += timeline.getCueCount() - before;
+            incrementalUpdates.incrementAndGet();
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public MeetingTimelineCacheStatsRs getStats() {
+        lock.lock();
+        try {
+            return new MeetingTimelineCacheStatsRs(
+                hits.get(),
+                misses.get(),
+                incrementalUpdates.get(),
+                invalidations.get(),
+                evictions.get(),
+                entries.size(),
+                totalCues,
+                maxCues
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void invalidate(Long meetingId, MeetingTimeline timeline) {
+        entries.remove(meetingId);
+        totalCues -= timeline.getCueCount();
+        invalidations.incrementAndGet();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, MeetingTimeline>> it = entries.entrySet().iterator();
+        // 가장 최근 항목 1개는 상한을 넘더라도 남긴다.
+        while (totalCues > maxCues && entries.size() > 1 && it.hasNext()) {
+            Map.Entry<Long, MeetingTimeline> eldest = it.next();
+            it.remove();
+            totalCues -= eldest.getValue().getCueCount();
+            evictions.incrementAndGet();
+            log.debug("타임라인 캐시 제거: meetingId={}", eldest.getKey());
+        }
+    }
+
+    private static int stripe(Long meetingId) {
+        return (int) (meetingId & (STAMP_STRIPES - 1));
+    }
+}
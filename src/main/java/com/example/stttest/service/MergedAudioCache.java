@@ -0,0 +1,267 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.MergedAudioCacheStatsRs;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 미팅별 병합 오디오 파일 캐시(로컬 디스크).
+ *
+ * - 미팅당 최신 청크 구성 1개만 보관한다.
+ * - 전체 파일 크기가 상한을 넘으면 가장 오래 사용하지 않은 미팅부터 제거한다(LRU).
+ * - 청크 구성은 sidecar(.chunks) 파일로 함께 저장해 재기동 후에도 캐시를 이어서 쓴다.
+ */
+@Slf4j
+@Component
+public class MergedAudioCache {
+
+    private static final String AUDIO_SUFFIX = ".webm";
+    private static final String CHUNKS_SUFFIX = ".chunks";
+
+    /** 병합 결과 파일 저장 디렉터리 */
+    @Value("${stt.audio.mergedDir:${java.io.tmpdir}/stt-merged}")
+    private String mergedDir;
+
+    /** 캐시 전체 파일 크기 상한 */
+    @Value("${stt.audio.mergedCacheMaxSize:2GB}")
+    private DataSize maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** access-order LinkedHashMap: 가장 앞이 가장 오래 사용하지 않은 항목 */
+    private final LinkedHashMap<Long, CachedMergedAudio> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong appends = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * 캐시된 병합 파일 1건.
+     * chunkKeys는 병합에 사용한 청크 구성(chunkSeq|gcsUri|durationMs)을 chunkSeq 순으로 담는다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CachedMergedAudio {
+        private final Long meetingId;
+        private final String fingerprint;
+        private final List<String> chunkKeys;
+        private final Path file;
+        private final long sizeBytes;
+    }
+
+    @PostConstruct
+    void loadFromDisk() {
+        try {
+            Path dir = directory();
+            List<Path> audioFiles;
+            try (Stream<Path> files = Files.list(dir)) {
+                audioFiles = files.sorted(Comparator.comparingLong(this::lastModifiedQuietly)).toList();
+            }
+
+            for (Path file : audioFiles) {
+                String name = file.getFileName().toString();
+                if (name.startsWith("merging_")) {
+                    // 이전 실행에서 끝나지 않은 임시 파일
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                if (!name.startsWith("meeting_") || !name.endsWith(AUDIO_SUFFIX)) {
+                    continue;
+                }
+
+                Path sidecar = sidecarOf(file);
+                String[] parts = name.substring("meeting_".length(), name.length() - AUDIO_SUFFIX.length()).split("_");
+                if (parts.length != 2 || !Files.exists(sidecar)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+
+                List<String> chunkKeys = Files.readAllLines(sidecar, StandardCharsets.UTF_8);
+                addEntry(new CachedMergedAudio(Long.parseLong(parts[0]), parts[1], chunkKeys, file, Files.size(file)));
+            }
+            log.info("병합 오디오 캐시 로드: entries={}, totalBytes={}", entries.size(), totalBytes);
+        } catch (Exception e) {
+            log.warn("merged audio cache load failed: {}", mergedDir, e);
+        }
+    }
+
+    public Path directory() throws Exception {
+        return Files.createDirectories(Path.of(mergedDir));
+    }
+
+    public Path audioFile(Long meetingId, String fingerprint) throws Exception {
+        return directory().resolve("meeting_%d_%s%s".formatted(meetingId, fingerprint, AUDIO_SUFFIX));
+    }
+
+    /**
+     * 미팅의 현재 캐시 항목을 조회한다. 파일이 사라졌으면 항목도 제거한다.
+     */
+    public CachedMergedAudio get(Long meetingId) {
+        lock.lock();
+        try {
+            CachedMergedAudio entry = entries.get(meetingId);
+            if (entry != null && !Files.exists(entry.getFile())) {
+                removeEntry(meetingId);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 미팅의 캐시 파일이 같은 청크 구성이면 연 핸들을 반환한다(없거나 다르면 null).
+     *
+     * 캐시 잠금 안에서 열어 다른 미팅의 LRU 제거와 겹치지 않게 한다.
+     * 연 뒤에는 파일이 지워져도 핸들로 끝까지 읽을 수 있다.
+     */
+    public FileChannel open(Long meetingId, String fingerprint) throws Exception {
+        lock.lock();
+        try {
+            CachedMergedAudio entry = entries.get(meetingId);
+            if (entry == null || !entry.getFingerprint().equals(fingerprint)) {
+                return null;
+            }
+            try {
+                return FileChannel.open(entry.getFile(), StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                removeEntry(meetingId);
+                return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 새 병합 결과를 등록한다. 같은 미팅의 이전 파일은 삭제하고, 용량 상한을 넘으면 LRU로 제거한다.
+     */
+    public void put(CachedMergedAudio entry) throws Exception {
+        Files.write(sidecarOf(entry.getFile()), entry.getChunkKeys(), StandardCharsets.UTF_8);
+
+        lock.lock();
+        try {
+            CachedMergedAudio previous = removeEntry(entry.getMeetingId());
+            if (previous != null && !previous.getFile().equals(entry.getFile())) {
+                deleteFiles(previous);
+            }
+            addEntry(entry);
+            evictOverflow(entry.getMeetingId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public void recordAppend() {
+        appends.incrementAndGet();
+    }
+
+    public MergedAudioCacheStatsRs getStats() {
+        lock.lock();
+        try {
+            return new MergedAudioCacheStatsRs(
+                hits.get(),
+                misses.get(),
+                appends.get(),
+                evictions.get(),
+                entries.size(),
+                totalBytes,
+                maxSize.toBytes()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictOverflow(Long keepMeetingId) {
+        // 방금 등록한 항목 하나만 남았으면 상한을 넘더라도 유지한다.
+        Iterator<Map.Entry<Long, CachedMergedAudio>> it = entries.entrySet().iterator();
+        List<CachedMergedAudio> evicted = new ArrayList<>();
+        while (totalBytes > maxSize.toBytes() && it.hasNext()) {
+            Map.Entry<Long, CachedMergedAudio> eldest = it.next();
+            if (eldest.getKey().equals(keepMeetingId)) {
+                continue;
+            }
+            it.remove();
+            totalBytes -= eldest.getValue().getSizeBytes();
+            evicted.add(eldest.getValue());
+        }
+
+        for (CachedMergedAudio entry : evicted) {
+            evictions.incrementAndGet();
+            deleteFiles(entry);
+            log.info("병합 오디오 캐시 제거(LRU): meetingId={}, bytes={}", entry.getMeetingId(), entry.getSizeBytes());
+        }
+    }
+
+    private void addEntry(CachedMergedAudio entry) {
+        CachedMergedAudio previous = entries.put(entry.getMeetingId(), entry);
+        if (previous != null) {
+            totalBytes -= previous.getSizeBytes();
+            deleteFiles(previous);
+        }
+        totalBytes += entry.getSizeBytes();
+    }
+
+    private CachedMergedAudio removeEntry(Long meetingId) {
+        CachedMergedAudio removed = entries.remove(meetingId);
+        if (removed != null) {
+            totalBytes -= removed.getSizeBytes();
+        }
+        return removed;
+    }
+
+    private void deleteFiles(CachedMergedAudio entry) {
+        // 스트리밍 중인 요청은 이미 연 파일 핸들로 끝까지 읽을 수 있다.
+        try {
+            Files.deleteIfExists(entry.getFile());
+            Files.deleteIfExists(sidecarOf(entry.getFile()));
+        } catch (Exception e) {
+            log.warn("merged audio cache file delete failed: {}", entry.getFile(), e);
+        }
+    }
+
+    private Path sidecarOf(Path audioFile) {
+        String name = audioFile.getFileName().toString();
+        return audioFile.resolveSibling(name.substring(0, name.length() - AUDIO_SUFFIX.length()) + CHUNKS_SUFFIX);
+    }
+
+    private long lastModifiedQuietly(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (Exception e) {
+            return 0L;
+        }
+    }
+}
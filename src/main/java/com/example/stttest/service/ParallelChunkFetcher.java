@@ -0,0 +1,151 @@
+package com.example.stttest.service;
+
+import com.example.stttest.config.ThreadPools;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 청크 파일을 병렬로 내려받고 소비는 청크 순서대로 수행한다.
+ *
+ * - 요청당 동시에 내려받는(또는 받아 두고 소비를 기다리는) 청크 수는 concurrency로 제한한다.
+ * - 청크별 다운로드는 지수 backoff로 재시도한다.
+ * - 하나라도 실패하면 진행 중인 나머지 다운로드를 취소하고 예외를 그대로 던진다.
+ */
+@Slf4j
+@Component
+public class ParallelChunkFetcher implements DisposableBean {
+
+    /** 요청 1건당 동시에 내려받는 청크 수 */
+    @Value("${stt.audio.fetch.concurrency:4}")
+    private int concurrency;
+
+    /** 전체 요청이 공유하는 다운로드 스레드 수 */
+    @Value("${stt.audio.fetch.threads:16}")
+    private int threads;
+
+    /** 청크 1개당 최대 시도 횟수(첫 시도 포함) */
+    @Value("${stt.audio.fetch.maxAttempts:3}")
+    private int maxAttempts;
+
+    @Value("${stt.audio.fetch.initialBackoff:200ms}")
+    private Duration initialBackoff;
+
+    @Value("${stt.audio.fetch.maxBackoff:2s}")
+    private Duration maxBackoff;
+
+    /** 가상 스레드 모드(Tomcat 요청 처리와 같은 스위치)면 작업 스레드도 가상 스레드로 만든다 */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    /**
+     * index 번째 청크를 target 경로로 내려받는다.
+     */
+    public interface ChunkDownloader {
+        void download(int index, Path target) throws Exception;
+
+        /** 재시도해도 결과가 달라지지 않는 실패(404 등)는 false */
+        default boolean isRetryable(Exception e) {
+            return true;
+        }
+    }
+
+    /**
+     * 내려받은 청크를 index 순서대로 하나씩 받는다.
+     */
+    public interface ChunkConsumer {
+        void accept(int index, Path file) throws Exception;
+    }
+
+    @PostConstruct
+    void init() {
+        executor = ThreadPools.newFixedPool("chunk-fetch", threads, virtualThreads);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * chunkCount개의 청크를 workDir 아래 파일로 병렬 다운로드하고, consumer에는 0..chunkCount-1 순서로 넘긴다.
+     *
+     * 소비가 끝난 파일 정리는 호출 측(workDir 삭제)에서 한다.
+     */
+    public void fetchInOrder(int chunkCount, Path workDir, ChunkDownloader downloader, ChunkConsumer consumer) throws Exception {
+        int window = Math.max(1, concurrency);
+        List<Future<Path>> futures = new ArrayList<>(chunkCount);
+
+        try {
+            for (int i = 0; i < Math.min(window, chunkCount); i++) {
+                futures.add(submit(i, workDir, downloader));
+            }
+
+            for (int i = 0; i < chunkCount; i++) {
+                Path file = await(futures.get(i));
+
+                // 앞 청크 하나가 끝날 때마다 다음 청크를 하나씩 채운다(요청당 window 개 이하 유지).
+                int next = i + window;
+                if (next < chunkCount) {
+                    futures.add(submit(next, workDir, downloader));
+                }
+
+                consumer.accept(i, file);
+            }
+        } catch (Exception e) {
+            for (Future<Path> future : futures) {
+                future.cancel(true);
+            }
+            throw e;
+        }
+    }
+
+    private Future<Path> submit(int index, Path workDir, ChunkDownloader downloader) {
+        return executor.submit(() -> downloadWithRetry(index, workDir.resolve("chunk_" + index + ".webm"), downloader));
+    }
+
+    private Path downloadWithRetry(int index, Path target, ChunkDownloader downloader) throws Exception {
+        long backoffMs = initialBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                downloader.download(index, target);
+                return target;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts || !downloader.isRetryable(e) || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                log.warn("chunk download failed, retrying. index={}, attempt={}, backoffMs={}, error={}",
+                         index, attempt, backoffMs, e.toString());
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, maxBackoff.toMillis());
+            }
+        }
+    }
+
+    private Path await(Future<Path> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.stttest.service;
+
+import com.example.stttest.config.ThreadPools;
+import com.example.stttest.dto.rs.SttJobPollerStatsRs;
+import com.example.stttest.dto.stt.SttJobResultDto;
+import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PROCESSING 상태 청크의 Google STT operation을 서버에서 주기적으로 확인한다.
+ *
+ * 클라이언트 조회(snapshot)는 DB만 읽고, Google 호출은 이 폴러에서만 발생한다.
+ * 호출 횟수는 클라이언트 새로고침 빈도가 아니라 진행 중인 job 수에 비례한다.
+ *
+ * 폴링 간격은 청크 길이(durationMs)에 맞춰 조정한다.
+ * - 첫 확인: job 시작 시각 + durationMs * firstCheckRatio (최소 minInterval)
+ * - 이후: 아직 진행 중이면 간격을 두 배씩 늘린다 (최대 maxInterval)
+ *
+ * 확인 시점이 된 청크는 미팅 단위로 묶어 공유 스레드 풀(concurrency)에서 동시에 조회하고,
+ * 끝난 청크는 모두 같은 주기 안에서 저장한다. 앞 청크가 진행 중이어도 뒤 청크 결과를 놓치지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SttJobPoller implements DisposableBean {
+
+    @Value("${stt.poller.enabled:true}")
+    private boolean enabled;
+
+    /** 첫 확인 시점을 정하는 청크 길이 대비 비율 */
+    @Value("${stt.poller.firstCheckRatio:0.25}")
+    private double firstCheckRatio;
+
+    @Value("${stt.poller.minInterval:2s}")
+    private Duration minInterval;
+
+    @Value("${stt.poller.maxInterval:30s}")
+    private Duration maxInterval;
+
+    /** operation 동시 조회 수(전체 미팅 공유) */
+    @Value("${stt.poller.concurrency:8}")
+    private int concurrency;
+
+    private final AiMeetingSttStateRepository sttStateRepository;
+    private final GoogleSttService googleSttService;
+    private final SttJobResultService sttJobResultService;
+    private final SttResultCache sttResultCache;
+
+    /** jobId -> 다음 확인 일정. 한 일정은 한 주기 안에서 조회 작업 1개만 갱신한다. */
+    private final Map<String, PollSchedule> schedules = new ConcurrentHashMap<>();
+
+    /** 가상 스레드 모드(Tomcat 요청 처리와 같은 스위치)면 작업 스레드도 가상 스레드로 만든다 */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService executor;
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong operationChecks = new AtomicLong();
+    private final AtomicLong completedChunks = new AtomicLong();
+    private final AtomicLong failedChunks = new AtomicLong();
+    private final AtomicLong checkErrors = new AtomicLong();
+    private final AtomicLong lastMeetingLatencyMs = new AtomicLong();
+    private final AtomicLong maxMeetingLatencyMs = new AtomicLong();
+
+    @AllArgsConstructor
+    private static class PollSchedule {
+        private long nextCheckAtMs;
+        private long intervalMs;
+    }
+
+    @PostConstruct
+    void init() {
+        executor = ThreadPools.newFixedPool("stt-poll", concurrency, virtualThreads);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stt.poller.tickMs:1000}")
+    public void pollProcessingJobs() {
+        if (!enabled) {
+            return;
+        }
+        ticks.incrementAndGet();
+
+        // 여러 청크가 하나의 batchRecognize job에 묶여 있을 수 있으므로 jobId 단위로 모은다.
+        Map<String, List<AiMeetingSttState>> statesByJob = new LinkedHashMap<>();
+        for (AiMeetingSttState sttState : sttStateRepository.findByStatus(ChunkStatus.PROCESSING)) {
+            statesByJob.computeIfAbsent(sttState.getJobId(), k -> new ArrayList<>()).add(sttState);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Long, List<String>> dueJobsByMeeting = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<AiMeetingSttState>> entry : statesByJob.entrySet()) {
+            PollSchedule schedule = schedules.get(entry.getKey());
+            if (schedule == null) {
+                // 새 job(또는 재등록된 job)은 청크 길이 기준으로 첫 확인 시점을 잡는다.
+                schedule = firstSchedule(entry.getValue());
+                schedules.put(entry.getKey(), schedule);
+            }
+            if (now < schedule.nextCheckAtMs) {
+                continue;
+            }
+
+            // job은 한 미팅의 청크만 묶으므로 첫 청크의 meetingId로 분류한다.
+            Long meetingId = entry.getValue().get(0).getMeetingId();
+            dueJobsByMeeting.computeIfAbsent(meetingId, k -> new ArrayList<>()).add(entry.getKey());
+        }
+
+        // DONE 등으로 PROCESSING에서 빠진 job 일정은 정리한다.
+        schedules.keySet().retainAll(statesByJob.keySet());
+
+        if (!dueJobsByMeeting.isEmpty()) {
+            checkMeetings(dueJobsByMeeting, statesByJob);
+        }
+    }
+
+    /**
+     * 모든 미팅의 due job을 한꺼번에 제출하고, 미팅별로 마지막 job 확인이 끝나는 시점까지의 지연을 기록한다.
+     */
+    private void checkMeetings(Map<Long, List<String>> dueJobsByMeeting, Map<String, List<AiMeetingSttState>> statesByJob) {
+        long startedAt = System.nanoTime();
+        Map<Long, List<Future<Integer>>> futuresByMeeting = new LinkedHashMap<>();
+
+        for (Map.Entry<Long, List<String>> entry : dueJobsByMeeting.entrySet()) {
+            List<Future<Integer>> futures = new ArrayList<>(entry.getValue().size());
+            for (String jobId : entry.getValue()) {
+                List<AiMeetingSttState> sttStates = statesByJob.get(jobId);
+                PollSchedule schedule = schedules.get(jobId);
+                futures.add(executor.submit(() -> checkJob(jobId, sttStates, schedule)));
+            }
+            futuresByMeeting.put(entry.getKey(), futures);
+        }
+
+        for (Map.Entry<Long, List<Future<Integer>>> entry : futuresByMeeting.entrySet()) {
+            int checked = 0;
+            int finished = 0;
+            for (String jobId : dueJobsByMeeting.get(entry.getKey())) {
+                checked += statesByJob.get(jobId).size();
+            }
+            for (Future<Integer> future : entry.getValue()) {
+                finished += awaitQuietly(future);
+            }
+
+            long latencyMs = (System.nanoTime() - startedAt) / 1_000_000L;
+            lastMeetingLatencyMs.set(latencyMs);
+            maxMeetingLatencyMs.accumulateAndGet(latencyMs, Math::max);
+            log.info("STT 폴링: meetingId={}, jobs={}, checked={}, finished={}, latencyMs={}",
+                     entry.getKey(), entry.getValue().size(), checked, finished, latencyMs);
+        }
+    }
+
+    public SttJobPollerStatsRs getStats() {
+        return new SttJobPollerStatsRs(
+            schedules.size(),
+            ticks.get(),
+            operationChecks.get(),
+            completedChunks.get(),
+            failedChunks.get(),
+            checkErrors.get(),
+            lastMeetingLatencyMs.get(),
+            maxMeetingLatencyMs.get()
+        );
+    }
+
+    /**
+     * operation 1건을 조회하고 끝났으면 묶인 청크 결과를 청크마다 저장한다.
+     *
+     * 청크 저장은 서로 독립이라 한 청크 저장이 실패해도 나머지 청크는 반영된다.
+     * (실패한 청크는 PROCESSING으로 남아 다음 주기에 다시 확인된다)
+     *
+     * @return 이번 확인에서 끝난(DONE/ERROR 반영) 청크 수
+     */
+    private int checkJob(String jobId, List<AiMeetingSttState> sttStates, PollSchedule schedule) {
+        Map<String, SttJobResultDto> results;
+        try {
+            operationChecks.incrementAndGet();
+            results = googleSttService.checkSttJobResults(
+                jobId,
+                sttStates.stream().map(AiMeetingSttState::getGcsUri).toList()
+            );
+        } catch (Exception e) {
+            checkErrors.incrementAndGet();
+            backOff(schedule);
+            log.warn("STT job 상태 확인 실패: meetingId={}, jobId={}", sttStates.get(0).getMeetingId(), jobId, e);
+            return 0;
+        }
+
+        int finished = 0;
+        boolean pending = false;
+        for (AiMeetingSttState sttState : sttStates) {
+            SttJobResultDto result = results.get(sttState.getGcsUri());
+            if (result.getStatus() == ChunkStatus.PROCESSING) {
+                pending = true;
+                continue;
+            }
+
+            try {
+                // 재등록(원격 호출)은 결과 저장 트랜잭션 전에 끝낸다.
+                String retryJobId = result.getStatus() == ChunkStatus.ERROR
+                                    ? sttJobResultService.startRetryJob(sttState)
+                                    : null;
+                if (!sttJobResultService.applyResult(sttState.getId(), jobId, result, retryJobId) && retryJobId != null) {
+                    log.warn("STT 재등록 job 미사용(상태 변경됨): meetingId={}, chunkSeq={}, retryJobId={}",
+                             sttState.getMeetingId(), sttState.getChunkSeq(), retryJobId);
+                }
+                sttResultCache.evict(jobId, sttState.getGcsUri());
+                finished++;
+                if (result.getStatus() == ChunkStatus.DONE) {
+                    completedChunks.incrementAndGet();
+                } else {
+                    failedChunks.incrementAndGet();
+                }
+            } catch (Exception e) {
+                pending = true;
+                checkErrors.incrementAndGet();
+                log.warn("STT 결과 저장 실패: meetingId={}, chunkSeq={}, jobId={}",
+                         sttState.getMeetingId(), sttState.getChunkSeq(), jobId, e);
+            }
+        }
+
+        if (pending) {
+            backOff(schedule);
+        } else {
+            schedules.remove(jobId);
+        }
+        return finished;
+    }
+
+    private int awaitQuietly(Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (ExecutionException e) {
+            return 0;
+        }
+    }
+
+    private PollSchedule firstSchedule(List<AiMeetingSttState> sttStates) {
+        // 묶인 파일은 병렬 처리되므로 가장 긴 청크 기준으로 첫 확인 시점을 잡는다.
+        long maxDurationMs = 0L;
+        LocalDateTime startedAt = null;
+        for (AiMeetingSttState sttState : sttStates) {
+            if (sttState.getDurationMs() != null) {
+                maxDurationMs = Math.max(maxDurationMs, sttState.getDurationMs());
+            }
+            LocalDateTime stateStartedAt = sttState.getUpdatedAt() != null ? sttState.getUpdatedAt() : sttState.getCreatedAt();
+            if (stateStartedAt != null && (startedAt == null || stateStartedAt.isAfter(startedAt))) {
+                startedAt = stateStartedAt;
+            }
+        }
+
+        long expectedMs = (long) (maxDurationMs * firstCheckRatio);
+        long delayMs = Math.min(Math.max(minInterval.toMillis(), expectedMs), maxInterval.toMillis());
+
+        // 재기동 직후처럼 job이 이미 오래 진행된 경우에는 바로 확인한다.
+        long startedAtMs = startedAt == null
+                           ? System.currentTimeMillis()
+                           : startedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        return new PollSchedule(startedAtMs + delayMs, minInterval.toMillis());
+    }
+
+    private void backOff(PollSchedule schedule) {
+        schedule.nextCheckAtMs = System.currentTimeMillis() + schedule.intervalMs;
+        schedule.intervalMs = Math.min(schedule.intervalMs * 2, maxInterval.toMillis());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.SubtitleCueRs;
+import com.example.stttest.dto.stt.SttCueDto;
+import com.example.stttest.dto.stt.SttJobResultDto;
+import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttChunkCueRepository;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import com.example.stttest.repository.ChunkCueJdbcWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Google STT job 결과를 청크 상태/cue 테이블에 반영한다.
+ *
+ * 외부 조회(checkSttJobResults)와 실패 청크 재등록(startRetryJob)은 호출 측에서 트랜잭션 밖에서 끝내고,
+ * 여기서는 청크 1건 단위의 짧은 트랜잭션으로 결과만 저장한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SttJobResultService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final AiMeetingSttStateRepository sttStateRepository;
+    private final AiMeetingSttChunkCueRepository chunkCueRepository;
+    private final ChunkCueJdbcWriter chunkCueJdbcWriter;
+    private final GoogleSttService googleSttService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeetingRevisionAllocator revisionAllocator;
+
+    /**
+     * 실패한 청크를 같은 입력 GCS URI로 다시 등록하고 새 jobId를 반환한다.
+     *
+     * 원격 호출이므로 트랜잭션 밖(폴러)에서 먼저 부르고, 결과 jobId를 applyResult에 넘긴다.
+     */
+    public String startRetryJob(AiMeetingSttState sttState) throws Exception {
+        String languageCode = (sttState.getLanguageCode() == null || sttState.getLanguageCode().isBlank())
+                              ? "ko-KR"
+                              : sttState.getLanguageCode();
+        String today = sttState.getCreatedDate().format(DATE_FORMAT);
+        return googleSttService.startSttJob(sttState.getGcsUri(), languageCode, today, sttState.getMeetingId());
+    }
+
+    /**
+     * 조회 시점의 jobId 결과를 반영한다.
+     *
+     * - DONE: 대본/cue 저장
+     * - ERROR: startRetryJob으로 미리 재등록한 retryJobId로 바꾸고 PROCESSING 유지
+     * - PROCESSING: 변경 없음
+     *
+     * 조회 이후 상태가 바뀌었으면(jobId 재등록 등) 오래된 결과이므로 무시한다.
+     *
+     * @return 결과를 반영했으면 true (false면 ERROR 재등록 job은 쓰이지 않는다)
+     */
+    @Transactional
+    public boolean applyResult(Long sttStateId, String jobId, SttJobResultDto result, String retryJobId) {
+        AiMeetingSttState sttState = sttStateRepository.findById(sttStateId).orElse(null);
+        if (sttState == null
+            || sttState.getStatus() != ChunkStatus.PROCESSING
+            || !sttState.getJobId().equals(jobId)) {
+            return false;
+        }
+
+        switch (result.getStatus()) {
+            case DONE -> {
+                // 완료 시 transcript + cue를 저장하고 상태를 DONE으로 고정한다.
+                sttState.setStatus(ChunkStatus.DONE);
+                sttState.setTranscript(result.getTranscript());
+                sttState.setErrorMessage(null);
+                sttState.setRevision(revisionAllocator.next());
+                saveChunkCues(sttState, result.getCues());
+                eventPublisher.publishEvent(SttService.toChunkEvent(sttState, toLocalCues(sttState, result.getCues())));
+                log.info("청크 처리 완료: meetingId={}, chunkSeq={}", sttState.getMeetingId(), sttState.getChunkSeq());
+            }
+            case ERROR -> {
+                if (retryJobId == null) {
+                    throw new IllegalStateException("retryJobId is required for ERROR result. stateId=" + sttStateId);
+                }
+                sttState.setJobId(retryJobId);
+                sttState.setStatus(ChunkStatus.PROCESSING);
+                sttState.setErrorMessage(result.getErrorMessage());
+                sttState.setRevision(revisionAllocator.next());
+                eventPublisher.publishEvent(SttService.toChunkEvent(sttState, List.of()));
+
+                log.warn("청크 에러 재시작: meetingId={}, chunkSeq={}, newJobId={}",
+                         sttState.getMeetingId(), sttState.getChunkSeq(), retryJobId);
+            }
+            case PROCESSING -> {
+                // 진행 중이면 다음 폴링까지 그대로 둔다.
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<SubtitleCueRs> toLocalCues(AiMeetingSttState sttState, List<SttCueDto> cues) {
+        if (cues == null || cues.isEmpty()) {
+            return List.of();
+        }
+        List<SubtitleCueRs> out = new ArrayList<>(cues.size());
+        for (SttCueDto cue : cues) {
+            out.add(new SubtitleCueRs(
+                sttState.getChunkSeq(),
+                cue.getStartMs(),
+                cue.getEndMs(),
+                cue.getText() == null ? "" : cue.getText(),
+                cue.getSpeaker()
+            ));
+        }
+        return out;
+    }
+
+    private void saveChunkCues(AiMeetingSttState sttState, List<SttCueDto> cues) {
+        if (sttState == null || sttState.getId() == null) {
+            return;
+        }
+
+        // 같은 chunkId에 대해 재저장될 수 있으므로 기존 cue를 먼저 삭제한다(DELETE 1회).
+        chunkCueRepository.deleteAllByChunkIdInBulk(sttState.getId());
+
+        // transcript만 있고 cue가 비어있는 경우를 허용한다.
+        chunkCueJdbcWriter.insertCues(sttState.getMeetingId(), sttState.getId(), sttState.getChunkSeq(), cues);
+    }
+}
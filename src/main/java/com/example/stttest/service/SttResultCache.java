@@ -0,0 +1,126 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.SttResultCacheStatsRs;
+import com.example.stttest.dto.stt.SttJobResultDto;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 끝난 STT operation의 파일별 파싱 결과 캐시(메모리).
+ *
+ * native 결과 JSON은 operation이 끝나면 바뀌지 않으므로 (operation name, 입력 URI)당 한 번만 내려받아 파싱한다.
+ * 결과 저장이 실패해 같은 job을 다시 확인하는 경우 GCS를 다시 읽지 않는다.
+ *
+ * - 저장에 성공한 결과는 바로 제거한다(evict).
+ * - 항목 수 상한을 넘으면 가장 오래 사용하지 않은 항목부터 제거한다(LRU).
+ * - TTL이 지난 항목은 조회 시 제거한다.
+ */
+@Component
+public class SttResultCache {
+
+    @Value("${stt.resultCache.maxEntries:512}")
+    private int maxEntries;
+
+    @Value("${stt.resultCache.ttl:10m}")
+    private Duration ttl;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** access-order LinkedHashMap: 가장 앞이 가장 오래 사용하지 않은 항목 */
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    @AllArgsConstructor
+    private static class CachedResult {
+        private final SttJobResultDto result;
+        private final long expiresAtMs;
+    }
+
+    /**
+     * 캐시된 결과를 조회한다. 없거나 만료됐으면 null.
+     */
+    public SttJobResultDto get(String jobId, String gcsUri) {
+        String key = key(jobId, gcsUri);
+        lock.lock();
+        try {
+            CachedResult cached = entries.get(key);
+            if (cached != null && cached.expiresAtMs <= System.currentTimeMillis()) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                cached = null;
+            }
+            if (cached == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return cached.result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String jobId, String gcsUri, SttJobResultDto result) {
+        lock.lock();
+        try {
+            entries.put(key(jobId, gcsUri), new CachedResult(result, System.currentTimeMillis() + ttl.toMillis()));
+
+            Iterator<Map.Entry<String, CachedResult>> it = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 결과가 DB에 반영된 뒤 호출한다.
+     */
+    public void evict(String jobId, String gcsUri) {
+        lock.lock();
+        try {
+            entries.remove(key(jobId, gcsUri));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public SttResultCacheStatsRs getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+
+        lock.lock();
+        try {
+            return new SttResultCacheStatsRs(
+                hitCount,
+                missCount,
+                total == 0 ? 0d : (double) hitCount / total,
+                evictions.get(),
+                expirations.get(),
+                entries.size(),
+                maxEntries
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String key(String jobId, String gcsUri) {
+        return jobId + '|' + gcsUri;
+    }
+}
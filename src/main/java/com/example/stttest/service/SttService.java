@@ -1,51 +1,129 @@
 package com.example.stttest.service;
 
+import com.example.stttest.config.ThreadPools;
 import com.example.stttest.dto.AudioDownloadDto;
+import com.example.stttest.dto.projection.ChunkCueRow;
+import com.example.stttest.dto.projection.ChunkStateRow;
+import com.example.stttest.dto.rs.ChunkBatchItemRs;
 import com.example.stttest.dto.rs.ChunkBatchUploadRs;
 import com.example.stttest.dto.rs.ChunkUploadAutoRs;
 import com.example.stttest.dto.rs.ChunkUploadRs;
+import com.example.stttest.dto.rs.MeetingChunkEventRs;
 import com.example.stttest.dto.rs.MeetingChunkRs;
 import com.example.stttest.dto.rs.MeetingChunksRs;
 import com.example.stttest.dto.rs.MeetingCompleteRs;
+import com.example.stttest.dto.rs.MeetingSnapshotDeltaRs;
 import com.example.stttest.dto.rs.MeetingSnapshotRs;
 import com.example.stttest.dto.rs.MeetingSubtitleRs;
 import com.example.stttest.dto.rs.MeetingTranscriptRs;
 import com.example.stttest.dto.rs.SubtitleCueRs;
-import com.example.stttest.dto.stt.SttCueDto;
-import com.example.stttest.dto.stt.SttJobResultDto;
 import com.example.stttest.entitiy.AiMeetingSttChunkCue;
 import com.example.stttest.entitiy.AiMeetingSttState;
 import com.example.stttest.entitiy.ChunkStatus;
 import com.example.stttest.repository.AiMeetingSttChunkCueRepository;
 import com.example.stttest.repository.AiMeetingSttStateRepository;
+import com.example.stttest.timeline.MeetingTimeline;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class SttService {
+public class SttService implements DisposableBean {
 
     /**
      * GCS object 경로 날짜 포맷.
      * 예: 2026-02-25/meet_123/in/chunk_1.webm
      */
-    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     private final AiMeetingSttStateRepository sttStateRepository;
     private final AiMeetingSttChunkCueRepository chunkCueRepository;
     private final GoogleSttService googleSttService;
     private final AudioDurationProbeService audioDurationProbeService;
+    private final AudioSpoolService audioSpoolService;
     private final MeetingAudioMergeService meetingAudioMergeService;
+    private final MeetingRevisionAllocator revisionAllocator;
+    private final MeetingTimelineCache timelineCache;
+    private final ChunkSeqAllocator chunkSeqAllocator;
+    private final ChunkUploadStateService uploadStateService;
+    private final ChunkIngestPipeline chunkIngestPipeline;
+
+    /**
+     * 단일 청크 업로드 처리 방식.
+     *
+     * - SYNC: probe/GCS 업로드/job 시작까지 끝낸 뒤 응답한다(200)
+     * - ASYNC: spool 후 바로 응답하고(202) 나머지는 ChunkIngestPipeline이 처리한다
+     */
+    public enum IngestMode {
+        SYNC,
+        ASYNC
+    }
+
+    @Value("${stt.ingest.mode:SYNC}")
+    private IngestMode ingestMode;
+
+    /** batchRecognize job 1개에 묶는 최대 청크 수 */
+    @Value("${stt.batch.maxFiles:10}")
+    private int batchMaxFiles;
+
+    /** 묶음의 첫 청크 업로드 후 job 시작까지 기다리는 최대 시간 */
+    @Value("${stt.batch.window:30s}")
+    private Duration batchWindow;
+
+    /** 배치 업로드 시 파일별 spool/측정/GCS 업로드 동시 처리 수(전체 요청 공유) */
+    @Value("${stt.batch.uploadConcurrency:4}")
+    private int uploadConcurrency;
+
+    /** 가상 스레드 모드(Tomcat 요청 처리와 같은 스위치)면 작업 스레드도 가상 스레드로 만든다 */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService uploadExecutor;
+
+    @Getter
+    @AllArgsConstructor
+    private static class UploadedChunk {
+        private final Long stateId;
+        private final Integer chunkSeq;
+        private final String gcsUri;
+        private final long durationMs;
+    }
+
+    @PostConstruct
+    void init() {
+        uploadExecutor = ThreadPools.newFixedPool("stt-upload", uploadConcurrency, virtualThreads);
+    }
+
+    @Override
+    public void destroy() {
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdownNow();
+        }
+    }
 
     /**
      * 신규 미팅을 자동 발급한 뒤 단일 파일을 업로드한다.
@@ -53,7 +131,6 @@ public class SttService {
      * 컨트롤러에서 별도 \"미팅 생성\" API를 없애고,
      * 업로드 요청 자체가 미팅 시작점이 되도록 만든 메서드다.
      */
-    @Transactional
     public ChunkUploadAutoRs uploadChunkAutoSeqNewMeeting(MultipartFile audioFile,
                                                           String languageCode) throws Exception {
         // 업로드 요청 자체를 미팅 시작으로 보고 meetingId를 즉시 발급한다.
@@ -64,7 +141,6 @@ public class SttService {
     /**
      * 신규 미팅을 자동 발급한 뒤 다중 파일을 배치 업로드한다.
      */
-    @Transactional
     public ChunkBatchUploadRs uploadChunksAutoSeqNewMeeting(List<MultipartFile> audioFiles,
                                                             String languageCode) throws Exception {
         // 배치 업로드도 동일하게 첫 요청 시 meetingId를 발급해 묶는다.
@@ -73,354 +149,639 @@ public class SttService {
     }
 
     /**
-     * 단일 파일 업로드 시 chunkSeq를 자동으로 계산해 저장/전송한다.
+     * 단일 파일 업로드 시 chunkSeq를 자동으로 발급해 저장/전송한다.
      */
-    @Transactional
     public ChunkUploadAutoRs uploadChunkAutoSeq(Long meetingId,
                                                 MultipartFile audioFile,
                                                 String languageCode) throws Exception {
-        // 같은 meetingId에서 가장 마지막 chunkSeq를 조회해 다음 순번을 계산한다.
-        // 데이터가 하나도 없으면 첫 청크이므로 1부터 시작한다.
-        int nextChunkSeq = sttStateRepository.findTopByMeetingIdOrderByChunkSeqDesc(meetingId)
-                                             .map(s -> s.getChunkSeq() + 1)
-                                             .orElse(1);
+        return uploadChunkAutoSeq(meetingId, audioFile, languageCode, null);
+    }
+
+    /**
+     * 단일 파일 업로드. clientChunkSeq가 있으면 그 순번을 그대로 쓰고, 없으면 자동 발급한다.
+     *
+     * 순번은 미팅별 발급기(ChunkSeqAllocator)에서 받으므로 같은 미팅 업로드를 동시에 보내도 겹치지 않는다.
+     * 클라이언트 순번 모드에서 이미 있는 순번이면 PENDING 선점 단계에서 unique 제약으로 실패한다(업로드 전).
+     */
+    public ChunkUploadAutoRs uploadChunkAutoSeq(Long meetingId,
+                                                MultipartFile audioFile,
+                                                String languageCode,
+                                                Integer clientChunkSeq) throws Exception {
+        int chunkSeq = resolveChunkSeq(meetingId, clientChunkSeq);
 
         // 실 업로드/작업 생성은 공통 메서드에 위임한다.
-        ChunkUploadRs rs = uploadChunk(meetingId, nextChunkSeq, audioFile, languageCode);
+        ChunkUploadRs rs;
+        try {
+            rs = uploadChunk(meetingId, chunkSeq, audioFile, languageCode);
+        } catch (Exception e) {
+            if (clientChunkSeq == null) {
+                tombstoneUnused(meetingId, chunkSeq, 1, e);
+            }
+            throw e;
+        }
         return new ChunkUploadAutoRs(rs.getMeetingId(), rs.getChunkSeq(), rs.getJobId(), rs.getGcsUri());
     }
 
+    /**
+     * 신규 미팅을 자동 발급한 뒤 단일 파일을 비동기 접수한다.
+     */
+    public ChunkUploadAutoRs acceptChunkAutoSeqNewMeeting(MultipartFile audioFile,
+                                                          String languageCode) throws Exception {
+        Long meetingId = generateMeetingId();
+        return acceptChunkAutoSeq(meetingId, audioFile, languageCode, null);
+    }
+
+    /**
+     * 단일 파일 비동기 접수(stt.ingest.mode=ASYNC).
+     *
+     * 순번 발급/PENDING 선점/spool까지만 요청 스레드에서 하고, probe/GCS 업로드/job 시작은
+     * ChunkIngestPipeline이 처리한다. 응답의 jobId/gcsUri는 비어 있으며 진행 상태는 스냅샷/이벤트로 확인한다.
+     * 대기열이 가득 차 있으면 IngestQueueFullException(429)을 던진다. 자동 발급 모드는 순번을 받기 전에 먼저 확인하고,
+     * 그 사이 대기열이 차서 거절되면 받은 순번을 tombstone으로 남긴다.
+     */
+    public ChunkUploadAutoRs acceptChunkAutoSeq(Long meetingId,
+                                                MultipartFile audioFile,
+                                                String languageCode,
+                                                Integer clientChunkSeq) throws Exception {
+        if (clientChunkSeq == null) {
+            chunkIngestPipeline.checkCapacity();
+        }
+        int chunkSeq = resolveChunkSeq(meetingId, clientChunkSeq);
+        try {
+            chunkIngestPipeline.accept(meetingId, chunkSeq, audioFile, languageCode);
+        } catch (Exception e) {
+            if (clientChunkSeq == null) {
+                tombstoneUnused(meetingId, chunkSeq, 1, e);
+            }
+            throw e;
+        }
+        return new ChunkUploadAutoRs(meetingId, chunkSeq, null, null);
+    }
+
+    public boolean isAsyncIngest() {
+        return ingestMode == IngestMode.ASYNC;
+    }
+
+    /**
+     * clientChunkSeq가 있으면 발급기에 예약하고 그대로 쓰고, 없으면 다음 순번을 발급한다.
+     */
+    private int resolveChunkSeq(Long meetingId, Integer clientChunkSeq) {
+        if (clientChunkSeq == null) {
+            return chunkSeqAllocator.allocate(meetingId, 1);
+        }
+        if (clientChunkSeq < 1) {
+            throw new IllegalStateException("chunkSeq must be >= 1. chunkSeq=" + clientChunkSeq);
+        }
+        chunkSeqAllocator.reserve(meetingId, clientChunkSeq);
+        return clientChunkSeq;
+    }
+
     /**
      * 다중 파일 업로드 시 입력 순서를 그대로 chunkSeq에 반영한다.
+     *
+     * 순번을 먼저 한꺼번에 발급해 PENDING으로 선점한 뒤 파일별 spool/duration 측정/GCS 업로드를
+     * 공유 풀(uploadConcurrency)에서 동시에 진행한다. 결과는 입력 순서대로 기다린다.
+     *
+     * 실패가 있으면 진행 중인 업로드가 끝나기를 기다린 뒤 job이 시작되지 않은 청크를 DISCARDED로 정리하고
+     * ChunkBatchUploadException(입력 순서상 첫 실패가 cause)을 던진다. 이미 job이 시작된 묶음은 되돌리지 않으므로
+     * 예외에 파일별 결과(순번/상태/오류)를 담아, 클라이언트가 DISCARDED 파일만 다시 올리게 한다.
+     *
+     * 업로드된 청크는 batchMaxFiles개 또는 batchWindow 시간 단위로 묶어
+     * 하나의 batchRecognize job으로 시작한다(job/폴링 수 절감).
      */
-    @Transactional
     public ChunkBatchUploadRs uploadChunksAutoSeq(Long meetingId,
                                                   List<MultipartFile> audioFiles,
                                                   String languageCode) throws Exception {
+        // 파일 수만큼 연속 순번을 한 번에 발급받아 입력 순서대로 매긴다.
+        int firstChunkSeq = chunkSeqAllocator.allocate(meetingId, audioFiles.size());
+        String today = LocalDate.now().format(DATE_FORMAT);
+        List<Long> stateIds;
+        try {
+            stateIds = uploadStateService.createPending(meetingId, firstChunkSeq, audioFiles.size(), languageCode);
+        } catch (Exception e) {
+            tombstoneUnused(meetingId, firstChunkSeq, audioFiles.size(), e);
+            throw e;
+        }
+
+        // 실패 시 아직 시작하지 않은 업로드는 건너뛰게 한다(진행 중인 업로드는 끝까지 기다린다).
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<Future<UploadedChunk>> uploads = new ArrayList<>(audioFiles.size());
+        for (int i = 0; i < audioFiles.size(); i++) {
+            Long stateId = stateIds.get(i);
+            int chunkSeq = firstChunkSeq + i;
+            MultipartFile audioFile = audioFiles.get(i);
+            uploads.add(uploadExecutor.submit(() -> {
+                if (aborted.get()) {
+                    throw new IllegalStateException("batch upload aborted. chunkSeq=" + chunkSeq);
+                }
+                return uploadToGcs(stateId, meetingId, chunkSeq, audioFile, today);
+            }));
+        }
+
         List<ChunkUploadAutoRs> out = new ArrayList<>();
+        List<UploadedChunk> group = new ArrayList<>();
+        long groupStartedAt = 0L;
+
+        try {
+            // 입력 리스트 순서를 그대로 유지해야 청크 순번/재생 순서가 일치한다.
+            for (Future<UploadedChunk> upload : uploads) {
+                if (group.isEmpty()) {
+                    groupStartedAt = System.nanoTime();
+                }
+                group.add(awaitUpload(upload));
+
+                // 묶음이 가득 찼거나 첫 청크가 너무 오래 기다렸으면 job을 바로 시작한다.
+                boolean full = group.size() >= batchMaxFiles;
+                boolean windowElapsed = System.nanoTime() - groupStartedAt >= batchWindow.toNanos();
+                if (full || windowElapsed) {
+                    out.addAll(startBatchJob(meetingId, group, languageCode, today));
+                    group.clear();
+                }
+            }
+            if (!group.isEmpty()) {
+                out.addAll(startBatchJob(meetingId, group, languageCode, today));
+            }
+        } catch (Exception e) {
+            // 진행 중인 업로드가 모두 끝난 뒤 정리해야 정리 이후 markUploaded/GCS 쓰기가 남지 않는다.
+            aborted.set(true);
+            Map<Integer, String> uploadErrors = awaitAllQuietly(uploads, firstChunkSeq);
+            discardUploads(stateIds);
+            throw new ChunkBatchUploadException(
+                batchResult(meetingId, firstChunkSeq, audioFiles.size(), out, uploadErrors, e.getMessage()), e
+            );
+        }
 
-        // 입력 리스트 순서를 그대로 유지해야 청크 순번/재생 순서가 일치한다.
-        for (MultipartFile audioFile : audioFiles) {
-            out.add(uploadChunkAutoSeq(meetingId, audioFile, languageCode));
+        return batchResult(meetingId, firstChunkSeq, audioFiles.size(), out, Map.of(), null);
+    }
+
+    /**
+     * 파일별 결과를 입력 순서로 만든다. job이 시작된 순번은 PROCESSING, 나머지는 DISCARDED(자기 오류 또는 중단 원인).
+     */
+    private static ChunkBatchUploadRs batchResult(Long meetingId,
+                                                  int firstChunkSeq,
+                                                  int count,
+                                                  List<ChunkUploadAutoRs> started,
+                                                  Map<Integer, String> uploadErrors,
+                                                  String abortReason) {
+        Map<Integer, ChunkUploadAutoRs> startedBySeq = new HashMap<>();
+        for (ChunkUploadAutoRs chunk : started) {
+            startedBySeq.put(chunk.getChunkSeq(), chunk);
+        }
+        List<ChunkBatchItemRs> results = new ArrayList<>(count);
+        for (int chunkSeq = firstChunkSeq; chunkSeq < firstChunkSeq + count; chunkSeq++) {
+            ChunkUploadAutoRs chunk = startedBySeq.get(chunkSeq);
+            if (chunk != null) {
+                results.add(new ChunkBatchItemRs(chunkSeq, ChunkStatus.PROCESSING, chunk.getJobId(), null));
+            } else {
+                results.add(new ChunkBatchItemRs(chunkSeq, ChunkStatus.DISCARDED, null,
+                                                 uploadErrors.getOrDefault(chunkSeq, "batch aborted: " + abortReason)));
+            }
         }
+        return new ChunkBatchUploadRs(meetingId, started.size(), started, results);
+    }
 
-        return new ChunkBatchUploadRs(meetingId, out.size(), out);
+    /**
+     * 자동 발급했지만 행을 만들지 못한 순번을 tombstone으로 채운다(병합 오디오가 빈 순번에서 멈추지 않게).
+     * 원래 실패를 가리지 않도록 여기서의 실패는 로그만 남긴다.
+     */
+    private void tombstoneUnused(Long meetingId, int firstChunkSeq, int count, Exception cause) {
+        try {
+            uploadStateService.tombstoneUnused(meetingId, firstChunkSeq, count, "chunk not accepted: " + cause.getMessage());
+        } catch (Exception e) {
+            log.warn("미사용 순번 tombstone 실패: meetingId={}, firstChunkSeq={}, count={}", meetingId, firstChunkSeq, count, e);
+        }
     }
 
     /**
-     * 1) GCS 업로드
-     * 2) Google STT job 시작
-     * 3) 상태 테이블에 PROCESSING으로 저장
+     * 모든 업로드가 끝나기를 기다리고 파일별 실패 메시지를 chunkSeq 기준으로 모은다.
+     */
+    private Map<Integer, String> awaitAllQuietly(List<Future<UploadedChunk>> uploads, int firstChunkSeq) {
+        Map<Integer, String> errors = new HashMap<>();
+        for (int i = 0; i < uploads.size(); i++) {
+            try {
+                uploads.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                errors.put(firstChunkSeq + i, String.valueOf(e.getCause().getMessage()));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * job이 시작되지 않은 청크(PENDING/UPLOADED)를 DISCARDED tombstone으로 바꾸고, 이미 올린 GCS 원본은 지운다.
+     *
+     * 발급했던 순번은 되돌리지 않는다. tombstone으로 남은 순번은 병합 오디오가 건너뛰고,
+     * 클라이언트 순번 모드에서는 같은 순번으로 다시 올리면 재사용된다.
+     */
+    private void discardUploads(List<Long> stateIds) {
+        for (AiMeetingSttState discarded : uploadStateService.discard(stateIds)) {
+            if (discarded.getGcsUri() == null) {
+                continue;
+            }
+            try {
+                googleSttService.deleteFromGcs(discarded.getGcsUri());
+            } catch (Exception e) {
+                log.warn("업로드 실패 청크 GCS 정리 실패: meetingId={}, chunkSeq={}, gcsUri={}",
+                         discarded.getMeetingId(), discarded.getChunkSeq(), discarded.getGcsUri(), e);
+            }
+        }
+    }
+
+    private UploadedChunk awaitUpload(Future<UploadedChunk> upload) throws Exception {
+        try {
+            return upload.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("chunk upload interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 1) 상태 테이블에 PENDING으로 순번 선점 (짧은 트랜잭션)
+     * 2) GCS 업로드 후 UPLOADED 기록 (업로드는 트랜잭션 밖)
+     * 3) Google STT job 시작 후 PROCESSING 기록 (job 시작은 트랜잭션 밖)
+     *
+     * 원격 호출 동안 DB 커넥션을 잡지 않으므로 업로드가 몰려도 커넥션 풀이 먼저 마르지 않는다.
+     * 중간에 실패하면 선점한 행을 지운다. 재기동으로 남은 중간 상태는 ChunkUploadRecovery가 정리한다.
      */
-    @Transactional
     public ChunkUploadRs uploadChunk(Long meetingId,
                                      Integer chunkSeq,
                                      MultipartFile audioFile,
                                      String languageCode) throws Exception {
-        // out/in 경로를 날짜 단위 prefix로 묶어 운영 시 정리/조회가 쉽도록 구성한다.
         String today = LocalDate.now().format(DATE_FORMAT);
-        String objectName = "%s/meet_%s/in/chunk_%d.webm".formatted(today, meetingId, chunkSeq);
+        List<Long> stateIds = uploadStateService.createPending(meetingId, chunkSeq, 1, languageCode);
+
+        try {
+            // 원본 청크 업로드
+            UploadedChunk uploaded = uploadToGcs(stateIds.get(0), meetingId, chunkSeq, audioFile, today);
+
+            // 해당 청크에 대한 STT 비동기 작업 시작 + PROCESSING 저장
+            ChunkUploadAutoRs rs = startBatchJob(meetingId, List.of(uploaded), languageCode, today).get(0);
+            return new ChunkUploadRs(rs.getMeetingId(), rs.getChunkSeq(), rs.getJobId(), rs.getGcsUri());
+        } catch (Exception e) {
+            discardUploads(stateIds);
+            throw e;
+        }
+    }
 
-        // 자막 글로벌 오프셋 계산의 기준값은 서버(ffprobe) 측정 duration을 사용한다.
-        // 프론트 메타데이터 값을 신뢰하면 누적 오차가 커질 수 있다.
-        long probedDurationMs = audioDurationProbeService.probeWebmDurationMs(audioFile);
+    /**
+     * 청크 1개를 spool -> duration 측정 -> GCS 업로드 -> UPLOADED 기록까지 처리한다.
+     */
+    private UploadedChunk uploadToGcs(Long stateId,
+                                      Long meetingId,
+                                      Integer chunkSeq,
+                                      MultipartFile audioFile,
+                                      String today) throws Exception {
+        String objectName = chunkObjectName(today, meetingId, chunkSeq);
+
+        // 요청 본문은 한 번만 로컬에 저장하고, duration 측정/GCS 업로드 모두 이 파일을 재사용한다.
+        Path spooledFile = audioSpoolService.spool(audioFile);
+        try {
+            // 자막 글로벌 오프셋 계산의 기준값은 서버 측정 duration(WebM 파서/ffprobe)을 사용한다.
+            // 프론트 메타데이터 값을 신뢰하면 누적 오차가 커질 수 있다.
+            long probedDurationMs = audioDurationProbeService.probeWebmDurationMs(spooledFile);
+
+            String gcsUri = googleSttService.uploadToGcs(spooledFile, objectName);
+            uploadStateService.markUploaded(stateId, gcsUri, probedDurationMs);
+            return new UploadedChunk(stateId, chunkSeq, gcsUri, probedDurationMs);
+        } finally {
+            audioSpoolService.deleteQuietly(spooledFile);
+        }
+    }
 
-        // 1) 원본 청크 업로드
-        String gcsUri = googleSttService.uploadToGcs(audioFile, objectName);
-        // 2) 해당 청크에 대한 STT 비동기 작업 시작
-        String jobId = googleSttService.startSttJob(gcsUri, languageCode, today, meetingId);
+    /**
+     * 청크 원본의 GCS object 경로.
+     * out/in 경로를 날짜 단위 prefix로 묶어 운영 시 정리/조회가 쉽도록 구성한다.
+     */
+    static String chunkObjectName(String today, Long meetingId, Integer chunkSeq) {
+        return "%s/meet_%s/in/chunk_%d.webm".formatted(today, meetingId, chunkSeq);
+    }
 
-        // 3) 청크 상태를 DB에 PROCESSING으로 저장해 폴링 대상에 포함시킨다.
-        AiMeetingSttState sttState = AiMeetingSttState.builder()
-                                                      .meetingId(meetingId)
-                                                      .chunkSeq(chunkSeq)
-                                                      .gcsUri(gcsUri)
-                                                      .jobId(jobId)
-                                                      .durationMs(probedDurationMs)
-                                                      .status(ChunkStatus.PROCESSING)
-                                                      .languageCode(languageCode)
-                                                      .createdDate(LocalDate.now())
-                                                      .build();
-        sttStateRepository.save(sttState);
+    /**
+     * 업로드된 청크 묶음으로 STT job 1개를 시작하고, 청크마다 같은 jobId로 PROCESSING 상태를 기록한다.
+     * 결과는 폴러가 gcsUri 기준으로 청크별로 나눠 반영한다.
+     */
+    private List<ChunkUploadAutoRs> startBatchJob(Long meetingId,
+                                                  List<UploadedChunk> uploadedChunks,
+                                                  String languageCode,
+                                                  String today) throws Exception {
+        List<String> gcsUris = uploadedChunks.stream().map(UploadedChunk::getGcsUri).toList();
+        String jobId = googleSttService.startSttJob(gcsUris, languageCode, today, meetingId);
+
+        // 청크 상태를 PROCESSING으로 바꿔 폴링 대상에 포함시킨다.
+        List<ChunkUploadAutoRs> out = uploadStateService.markProcessing(
+            uploadedChunks.stream().map(UploadedChunk::getStateId).toList(),
+            jobId
+        );
 
-        log.info("청크 업로드/STT 시작 완료: meetingId={}, chunkSeq={}, jobId={}", meetingId, chunkSeq, jobId);
-        return new ChunkUploadRs(meetingId, chunkSeq, jobId, gcsUri);
+        log.info("청크 업로드/STT 시작 완료: meetingId={}, chunkSeqs={}, jobId={}",
+                 meetingId, uploadedChunks.stream().map(UploadedChunk::getChunkSeq).toList(), jobId);
+        return out;
     }
 
     /**
-     * poll 구간에서 호출되는 완료 처리 메서드.
+     * 미팅 완료 여부를 DB 상태만으로 판단한다.
      *
-     * - DONE: 대본/cue 저장
-     * - ERROR: job 재등록 후 WAIT
-     * - PROCESSING: 즉시 WAIT
+     * Google operation 확인/결과 저장은 백그라운드 폴러(SttJobPoller)가 담당하므로
+     * 요청 스레드에서는 외부 호출이 발생하지 않는다.
      */
-    @Transactional
-    public MeetingCompleteRs completeMeeting(Long meetingId) throws Exception {
-        List<AiMeetingSttState> sttStates = sttStateRepository.findByMeetingIdOrderByChunkSeqAsc(meetingId);
+    @Transactional(readOnly = true)
+    public MeetingCompleteRs completeMeeting(Long meetingId) {
+        List<AiMeetingSttState> sttStates = sttStateRepository.findByMeetingIdOrderByChunkSeqAsc(meetingId)
+                                                              .stream()
+                                                              .filter(sttState -> sttState.getStatus() != ChunkStatus.DISCARDED)
+                                                              .toList();
         if (sttStates.isEmpty()) {
             // 아직 업로드된 청크가 없으면 기다림 상태를 반환한다.
             return MeetingCompleteRs.wait(meetingId);
         }
 
         for (AiMeetingSttState sttState : sttStates) {
-            if (sttState.getStatus() == ChunkStatus.DONE) {
-                // 이미 완료된 청크는 재처리하지 않는다.
-                continue;
-            }
-
-            // Google long-running operation 상태를 조회한다.
-            SttJobResultDto result = googleSttService.checkSttJobStatus(sttState.getJobId());
-            switch (result.getStatus()) {
-                case DONE -> {
-                    // 완료 시 transcript + cue를 저장하고 상태를 DONE으로 고정한다.
-                    sttState.setStatus(ChunkStatus.DONE);
-                    sttState.setTranscript(result.getTranscript());
-                    sttState.setErrorMessage(null);
-                    saveChunkCues(sttState, result.getCues());
-                    log.info("청크 처리 완료: meetingId={}, chunkSeq={}", meetingId, sttState.getChunkSeq());
-                }
-                case ERROR -> {
-                    // 실패한 청크는 같은 입력 GCS URI로 job을 재등록한다.
-                    String languageCode = (sttState.getLanguageCode() == null || sttState.getLanguageCode().isBlank())
-                                          ? "ko-KR"
-                                          : sttState.getLanguageCode();
-
-                    String today = sttState.getCreatedDate().format(DATE_FORMAT);
-                    String newJobId = googleSttService.startSttJob(sttState.getGcsUri(), languageCode, today, meetingId);
-
-                    // 상태를 PROCESSING으로 되돌리고 바로 WAIT를 반환한다.
-                    // 한 번의 요청에서 무한 재시작 루프를 만들지 않기 위함이다.
-                    sttState.setJobId(newJobId);
-                    sttState.setStatus(ChunkStatus.PROCESSING);
-                    sttState.setErrorMessage(result.getErrorMessage());
-
-                    log.warn("청크 에러 재시작: meetingId={}, chunkSeq={}, newJobId={}",
-                             meetingId, sttState.getChunkSeq(), newJobId);
-                    return MeetingCompleteRs.wait(meetingId);
-                }
-                case PROCESSING -> {
-                    // 하나라도 진행 중이면 미팅 전체 완료가 아니므로 즉시 WAIT 반환.
-                    log.info("청크 처리 중: meetingId={}, chunkSeq={}", meetingId, sttState.getChunkSeq());
-                    return MeetingCompleteRs.wait(meetingId);
-                }
+            if (sttState.getStatus() != ChunkStatus.DONE) {
+                // 하나라도 완료되지 않았으면 미팅 전체 완료가 아니다.
+                return MeetingCompleteRs.wait(meetingId);
             }
         }
 
-        log.info("모든 청크 처리 완료: meetingId={}", meetingId);
         return MeetingCompleteRs.done(meetingId);
     }
 
     /**
      * DONE 상태 청크 transcript를 chunkSeq 순으로 합친다.
      */
+    @Transactional(readOnly = true)
     public MeetingTranscriptRs getTranscript(Long meetingId) {
-        List<AiMeetingSttState> sttStates = sttStateRepository.findByMeetingIdOrderByChunkSeqAsc(meetingId);
-        if (sttStates.isEmpty()) {
-            return new MeetingTranscriptRs(meetingId, null, 0, 0);
-        }
-
-        StringBuilder fullTranscript = new StringBuilder();
-        int completedChunks = 0;
-
-        for (AiMeetingSttState sttState : sttStates) {
-            // DONE + transcript 존재 조건을 만족하는 청크만 병합한다.
-            if (sttState.getStatus() == ChunkStatus.DONE && sttState.getTranscript() != null) {
-                if (!fullTranscript.isEmpty()) {
-                    fullTranscript.append('\n');
-                }
-                fullTranscript.append(sttState.getTranscript());
-                completedChunks++;
-            }
-        }
-
+        MeetingSnapshotRs snapshot = assembleSnapshot(meetingId, false, 0L);
         return new MeetingTranscriptRs(
             meetingId,
-            fullTranscript.toString().trim(),
-            sttStates.size(),
-            completedChunks
+            snapshot.getTranscript(),
+            snapshot.getTotalChunks(),
+            snapshot.getCompletedChunks()
         );
     }
 
     /**
      * chunk_cue 테이블에 저장된 로컬 타임라인(start/end)을 회의 글로벌 타임라인으로 보정해 반환한다.
+     * 진행 중인 미팅은 메모리 타임라인 캐시에서 복사하므로 cue 재조회/재보정이 없다.
      */
+    @Transactional(readOnly = true)
     public MeetingSubtitleRs getSubtitles(Long meetingId) {
-        List<AiMeetingSttState> sttStates = sttStateRepository.findByMeetingIdOrderByChunkSeqAsc(meetingId);
-        if (sttStates.isEmpty()) {
-            return new MeetingSubtitleRs(meetingId, 0, 0, List.of());
-        }
-
-        int completedChunks = 0;
-        // 앞 청크의 실제 길이를 누적해 "회의 전체 타임라인" 오프셋을 만든다.
-        long runningOffsetMs = 0L;
-        List<SubtitleCueRs> cues = new ArrayList<>();
-
-        for (AiMeetingSttState sttState : sttStates) {
-            if (sttState.getStatus() != ChunkStatus.DONE) {
-                // 완료되지 않은 청크 cue는 아직 글로벌 타임라인에 포함하지 않는다.
-                continue;
-            }
-            completedChunks++;
-
-            List<SubtitleCueRs> chunkCues = readChunkCues(sttState);
-            for (SubtitleCueRs cue : chunkCues) {
-                // chunk 로컬 시간(start/end)에 누적 오프셋을 더해 글로벌 시간으로 변환한다.
-                cues.add(new SubtitleCueRs(
-                    sttState.getChunkSeq(),
-                    cue.getStartMs() + runningOffsetMs,
-                    cue.getEndMs() + runningOffsetMs,
-                    cue.getText(),
-                    cue.getSpeaker()
-                ));
-            }
-
-            // 다음 청크 보정값을 위해 현재 청크 실제 길이를 누적한다.
-            runningOffsetMs += resolveChunkDurationMs(sttState);
-        }
+        MeetingSnapshotRs snapshot = assembleSnapshot(meetingId, true, 0L);
+        return new MeetingSubtitleRs(meetingId, snapshot.getTotalChunks(), snapshot.getCompletedChunks(), snapshot.getCues());
+    }
 
-        return new MeetingSubtitleRs(meetingId, sttStates.size(), completedChunks, cues);
+    /**
+     * [fromMs, toMs) 글로벌 구간과 겹치는 자막만 반환한다.
+     * 플레이어는 현재 재생 위치 주변 구간만 받아 긴 회의에서도 응답 크기를 일정하게 유지한다.
+     */
+    @Transactional(readOnly = true)
+    public MeetingSubtitleRs getSubtitles(Long meetingId, long fromMs, long toMs) {
+        long timelineStamp = timelineCache.stamp(meetingId);
+        List<ChunkStateRow> stateRows = sttStateRepository.findStateRows(meetingId);
+        int completedChunks = (int) stateRows.stream().filter(row -> row.getStatus() == ChunkStatus.DONE).count();
+
+        List<SubtitleCueRs> cues = completedChunks > 0
+                                   ? resolveTimeline(meetingId, stateRows, timelineStamp).cuesBetween(fromMs, toMs)
+                                   : List.of();
+        return new MeetingSubtitleRs(meetingId, stateRows.size(), completedChunks, cues);
     }
 
     /**
      * 프론트 호환용 청크 목록 응답.
      */
+    @Transactional(readOnly = true)
     public MeetingChunksRs getMeetingChunks(Long meetingId) {
-        List<AiMeetingSttState> sttStates = sttStateRepository.findByMeetingIdOrderByChunkSeqAsc(meetingId);
-        if (sttStates.isEmpty()) {
-            return new MeetingChunksRs(meetingId, 0, 0, List.of());
+        MeetingSnapshotRs snapshot = assembleSnapshot(meetingId, false, 0L);
+        return new MeetingChunksRs(meetingId, snapshot.getTotalChunks(), snapshot.getCompletedChunks(), snapshot.getChunks());
+    }
+
+    /**
+     * 컨트롤러가 한 번에 호출하는 통합 API 용 응답 조합 메서드.
+     * 상태 최신화는 백그라운드 폴러가 하므로 DB 조회만 수행한다.
+     */
+    @Transactional(readOnly = true)
+    public MeetingSnapshotRs getMeetingSnapshot(Long meetingId) {
+        // 조회 전에 커서를 잡아야 조회 도중 커밋된 변경이 다음 delta에서 다시 내려간다.
+        long revision = revisionAllocator.committedWatermark();
+        return assembleSnapshot(meetingId, true, revision);
+    }
+
+    /**
+     * 스냅샷 단일 조립 경로.
+     *
+     * - 청크 상태: DTO projection 1회 조회(엔티티 미관리)
+     * - 글로벌 자막: 미팅 타임라인 캐시에서 복사한다. miss일 때만 cue를 projection 1회 조회해 타임라인을 만든다.
+     * - 청크 목록/대본은 chunkSeq 순 한 번의 순회로 만든다.
+     */
+    private MeetingSnapshotRs assembleSnapshot(Long meetingId, boolean includeCues, long revision) {
+        // DB 조회 전에 stamp를 잡아야 조회 도중 반영된 청크가 있으면 캐시에 넣지 않는다.
+        long timelineStamp = timelineCache.stamp(meetingId);
+        List<ChunkStateRow> stateRows = sttStateRepository.findStateRows(meetingId);
+        if (stateRows.isEmpty()) {
+            return new MeetingSnapshotRs(meetingId, "WAIT", 0, 0, null, List.of(), List.of(), revision);
         }
 
-        int completed = 0;
-        List<MeetingChunkRs> chunks = new ArrayList<>();
+        // 클라이언트는 chunk마다 같은 merged audio endpoint를 사용한다.
+        // 실제 재생은 청크 개별 파일이 아닌 병합 파일 기준으로 이뤄진다.
+        String audioUrl = "/api/stt/meetings/%d/audio/merged".formatted(meetingId);
 
-        for (AiMeetingSttState sttState : sttStates) {
-            if (sttState.getStatus() == ChunkStatus.DONE) {
-                completed++;
-            }
+        List<MeetingChunkRs> chunks = new ArrayList<>(stateRows.size());
+        StringBuilder fullTranscript = new StringBuilder();
+        int completedChunks = 0;
 
-            // 클라이언트는 chunk마다 같은 merged audio endpoint를 사용한다.
-            // 실제 재생은 청크 개별 파일이 아닌 병합 파일 기준으로 이뤄진다.
-            chunks.add(new MeetingChunkRs(
-                sttState.getChunkSeq(),
-                sttState.getStatus(),
-                "/api/stt/meetings/%d/audio/merged".formatted(meetingId),
-                sttState.getTranscript()
-            ));
-        }
+        for (ChunkStateRow row : stateRows) {
+            chunks.add(new MeetingChunkRs(row.getChunkSeq(), row.getStatus(), audioUrl, row.getTranscript()));
 
-        return new MeetingChunksRs(meetingId, sttStates.size(), completed, chunks);
-    }
+            if (row.getStatus() != ChunkStatus.DONE) {
+                // 완료되지 않은 청크는 아직 대본/글로벌 타임라인에 포함하지 않는다.
+                continue;
+            }
+            completedChunks++;
 
-    /**
-     * 컨트롤러가 한 번에 호출하는 통합 API 용 응답 조합 메서드.
-     * poll=true인 경우 completeMeeting을 먼저 실행해 최신 상태를 반영한다.
-     */
-    @Transactional
-    public MeetingSnapshotRs getMeetingSnapshot(Long meetingId, boolean poll) throws Exception {
-        String status;
-        if (poll) {
-            // poll=true면 먼저 completeMeeting을 실행해 상태를 최신화한다.
-            status = completeMeeting(meetingId).getStatus();
-        } else {
-            // poll=false면 조회만 수행하고, 현재 완료율로 상태를 계산한다.
-            MeetingChunksRs chunksRs = getMeetingChunks(meetingId);
-            boolean allDone = chunksRs.getTotalChunks() > 0
-                              && chunksRs.getTotalChunks().equals(chunksRs.getCompletedChunks());
-            status = allDone ? "DONE" : "WAIT";
+            if (row.getTranscript() != null) {
+                if (!fullTranscript.isEmpty()) {
+                    fullTranscript.append('\n');
+                }
+                fullTranscript.append(row.getTranscript());
+            }
         }
 
-        MeetingChunksRs chunksRs = getMeetingChunks(meetingId);
-        MeetingTranscriptRs transcriptRs = getTranscript(meetingId);
-        MeetingSubtitleRs subtitleRs = getSubtitles(meetingId);
+        List<SubtitleCueRs> cues = includeCues && completedChunks > 0
+                                   ? resolveTimeline(meetingId, stateRows, timelineStamp).toCues()
+                                   : List.of();
 
+        boolean allDone = completedChunks == stateRows.size();
         return new MeetingSnapshotRs(
             meetingId,
-            status,
-            chunksRs.getTotalChunks(),
-            chunksRs.getCompletedChunks(),
-            transcriptRs.getTranscript(),
-            subtitleRs.getCues(),
-            chunksRs.getChunks()
+            allDone ? "DONE" : "WAIT",
+            stateRows.size(),
+            completedChunks,
+            fullTranscript.toString().trim(),
+            cues,
+            chunks,
+            revision
         );
     }
 
     /**
-     * 오디오 병합/다운로드는 ffmpeg 전담 서비스로 위임한다.
+     * 캐시된 글로벌 타임라인을 반환한다. 없으면 cue를 조회해 만들고 캐시에 넣는다.
      */
-    public AudioDownloadDto downloadMergedMeetingAudio(Long meetingId) throws Exception {
-        return meetingAudioMergeService.downloadMergedMeetingAudio(meetingId);
+    private MeetingTimeline resolveTimeline(Long meetingId, List<ChunkStateRow> stateRows, long timelineStamp) {
+        MeetingTimeline timeline = timelineCache.get(meetingId);
+        if (timeline != null) {
+            return timeline;
+        }
+        timeline = MeetingTimeline.build(meetingId, stateRows, findCueRowsByChunkId(meetingId));
+        timelineCache.putIfUnchanged(meetingId, timelineStamp, timeline);
+        return timeline;
     }
 
-    private void saveChunkCues(AiMeetingSttState sttState, List<SttCueDto> cues) {
-        if (sttState == null || sttState.getId() == null) {
-            return;
+    /**
+     * 미팅 전체 cue를 한 번에 읽어 chunkId별로 묶는다(행 순서 = chunkId, cue_index 순).
+     */
+    private Map<Long, List<ChunkCueRow>> findCueRowsByChunkId(Long meetingId) {
+        Map<Long, List<ChunkCueRow>> cueRowsByChunkId = new HashMap<>();
+        for (ChunkCueRow cue : chunkCueRepository.findCueRows(meetingId)) {
+            if (cue.getStartMs() == null || cue.getEndMs() == null) {
+                // 비정상 row는 제외하고 나머지만 반환한다.
+                continue;
+            }
+            cueRowsByChunkId.computeIfAbsent(cue.getChunkId(), k -> new ArrayList<>()).add(cue);
         }
+        return cueRowsByChunkId;
+    }
 
-        // 같은 chunkId에 대해 재저장될 수 있으므로 기존 cue를 먼저 삭제한다.
-        chunkCueRepository.deleteByChunkId(sttState.getId());
-
-        if (cues == null || cues.isEmpty()) {
-            // transcript만 있고 cue가 비어있는 경우를 허용한다.
-            return;
+    /**
+     * sinceRevision 이후 바뀐 청크만 반환한다.
+     *
+     * 변경이 없으면 청크/cue 조회 없이 카운트만 확인한다.
+     * 변경이 있으면 바뀐 청크의 cue(로컬 시간)와 DONE 청크 오프셋(chunkSeq/durationMs만 조회)을 함께 내려준다.
+     */
+    @Transactional(readOnly = true)
+    public MeetingSnapshotDeltaRs getMeetingSnapshotDelta(Long meetingId, long sinceRevision) {
+        long revision = revisionAllocator.committedWatermark();
+
+        int totalChunks = (int) sttStateRepository.countByMeetingIdAndStatusNot(meetingId, ChunkStatus.DISCARDED);
+        int completedChunks = (int) sttStateRepository.countByMeetingIdAndStatus(meetingId, ChunkStatus.DONE);
+        String status = totalChunks > 0 && totalChunks == completedChunks ? "DONE" : "WAIT";
+
+        List<AiMeetingSttState> changed = sinceRevision >= revision
+                                          ? List.of()
+                                          : sttStateRepository.findByMeetingIdAndRevisionGreaterThanOrderByChunkSeqAsc(meetingId, sinceRevision);
+        if (changed.isEmpty()) {
+            return new MeetingSnapshotDeltaRs(meetingId, sinceRevision, Math.max(revision, sinceRevision),
+                                              status, totalChunks, completedChunks, List.of(), List.of(), null);
         }
 
-        List<AiMeetingSttChunkCue> rows = new ArrayList<>(cues.size());
-        int cueIndex = 1;
-
-        for (SttCueDto cue : cues) {
-            // cue_index는 정렬 보장을 위한 순차 번호다.
-            rows.add(AiMeetingSttChunkCue.builder()
-                                         .meetingId(sttState.getMeetingId())
-                                         .chunkId(sttState.getId())
-                                         .chunkSeq(sttState.getChunkSeq())
-                                         .cueIndex(cueIndex++)
-                                         .startMs(cue.getStartMs())
-                                         .endMs(cue.getEndMs())
-                                         .text(cue.getText() == null ? "" : cue.getText())
-                                         .speaker(cue.getSpeaker())
-                                         .build());
+        // 바뀐 DONE 청크 cue를 한 번에 읽는다.
+        List<Long> doneChunkIds = changed.stream()
+                                         .filter(s -> s.getStatus() == ChunkStatus.DONE)
+                                         .map(AiMeetingSttState::getId)
+                                         .toList();
+        Map<Long, List<SubtitleCueRs>> cuesByChunkId = new HashMap<>();
+        if (!doneChunkIds.isEmpty()) {
+            for (AiMeetingSttChunkCue row : chunkCueRepository.findByChunkIdInOrderByChunkSeqAscCueIndexAsc(doneChunkIds)) {
+                if (row.getStartMs() == null || row.getEndMs() == null) {
+                    continue;
+                }
+                cuesByChunkId.computeIfAbsent(row.getChunkId(), k -> new ArrayList<>())
+                             .add(new SubtitleCueRs(row.getChunkSeq(), row.getStartMs(), row.getEndMs(), row.getText(), row.getSpeaker()));
+            }
         }
 
-        chunkCueRepository.saveAll(rows);
-    }
-
-    private List<SubtitleCueRs> readChunkCues(AiMeetingSttState sttState) {
-        if (sttState.getId() == null) {
-            return List.of();
+        List<MeetingChunkEventRs> chunks = new ArrayList<>(changed.size());
+        List<Integer> removedChunkSeqs = new ArrayList<>();
+        for (AiMeetingSttState sttState : changed) {
+            if (sttState.getStatus() == ChunkStatus.DISCARDED) {
+                // 업로드 실패로 버려진 순번은 클라이언트가 이미 받은 청크를 지우도록 따로 내려준다.
+                removedChunkSeqs.add(sttState.getChunkSeq());
+                continue;
+            }
+            chunks.add(toChunkEvent(sttState, cuesByChunkId.getOrDefault(sttState.getId(), List.of())));
         }
 
-        // cue_index asc로 읽어 저장 순서를 그대로 유지한다.
-        List<AiMeetingSttChunkCue> rows = chunkCueRepository.findByChunkIdOrderByCueIndexAsc(sttState.getId());
-        if (rows.isEmpty()) {
-            return List.of();
+        // 글로벌 오프셋은 앞선 DONE 청크 길이 누적값이다(getSubtitles와 동일 기준).
+        Map<Integer, Long> offsets = new LinkedHashMap<>();
+        long runningOffsetMs = 0L;
+        for (Object[] row : sttStateRepository.findChunkDurations(meetingId, ChunkStatus.DONE)) {
+            Integer chunkSeq = (Integer) row[0];
+            offsets.put(chunkSeq, runningOffsetMs);
+            runningOffsetMs += resolveChunkDurationMs(meetingId, chunkSeq, (Long) row[1]);
         }
 
-        List<SubtitleCueRs> cues = new ArrayList<>(rows.size());
-        for (AiMeetingSttChunkCue row : rows) {
-            if (row == null || row.getStartMs() == null || row.getEndMs() == null) {
-                // 비정상 row는 제외하고 나머지만 반환한다.
-                continue;
+        // 변경 행 중 아직 커서보다 큰 revision이 있을 수 있으므로 커서는 발급 시점 값을 유지한다(중복 수신은 멱등).
+        return new MeetingSnapshotDeltaRs(meetingId, sinceRevision, revision,
+                                          status, totalChunks, completedChunks, chunks, removedChunkSeqs, offsets);
+    }
+
+    /**
+     * 미팅의 모든 청크 현재 상태(SSE 초기/재동기화 전송용). cue는 청크 로컬 시간 그대로 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public List<MeetingChunkEventRs> getChunkEvents(Long meetingId) {
+        List<ChunkStateRow> stateRows = sttStateRepository.findStateRows(meetingId);
+        boolean anyDone = stateRows.stream().anyMatch(row -> row.getStatus() == ChunkStatus.DONE);
+        Map<Long, List<ChunkCueRow>> cueRowsByChunkId = anyDone ? findCueRowsByChunkId(meetingId) : Map.of();
+
+        List<MeetingChunkEventRs> events = new ArrayList<>(stateRows.size());
+        for (ChunkStateRow row : stateRows) {
+            List<SubtitleCueRs> cues = new ArrayList<>();
+            for (ChunkCueRow cue : cueRowsByChunkId.getOrDefault(row.getId(), List.of())) {
+                cues.add(new SubtitleCueRs(row.getChunkSeq(), cue.getStartMs(), cue.getEndMs(), cue.getText(), cue.getSpeaker()));
             }
-            cues.add(new SubtitleCueRs(
+            events.add(new MeetingChunkEventRs(
+                meetingId,
                 row.getChunkSeq(),
-                row.getStartMs(),
-                row.getEndMs(),
-                row.getText(),
-                row.getSpeaker()
+                row.getStatus(),
+                row.getDurationMs(),
+                row.getTranscript(),
+                cues
             ));
         }
-        return cues;
+        return events;
+    }
+
+    static MeetingChunkEventRs toChunkEvent(AiMeetingSttState sttState, List<SubtitleCueRs> cues) {
+        return new MeetingChunkEventRs(
+            sttState.getMeetingId(),
+            sttState.getChunkSeq(),
+            sttState.getStatus(),
+            sttState.getDurationMs(),
+            sttState.getTranscript(),
+            cues
+        );
+    }
+
+    /**
+     * 오디오 병합/다운로드는 병합 전담 서비스로 위임한다.
+     */
+    public AudioDownloadDto downloadMergedMeetingAudio(Long meetingId) throws Exception {
+        return meetingAudioMergeService.downloadMergedMeetingAudio(meetingId);
+    }
+
+    /**
+     * 병합 없이 현재 청크 구성 기준 병합 오디오 ETag만 계산한다.
+     */
+    public String getMergedAudioEtag(Long meetingId) {
+        return meetingAudioMergeService.getMergedAudioEtag(meetingId);
     }
 
-    private long resolveChunkDurationMs(AiMeetingSttState sttState) {
-        if (sttState.getDurationMs() == null || sttState.getDurationMs() <= 0L) {
+    private long resolveChunkDurationMs(Long meetingId, Integer chunkSeq, Long durationMs) {
+        if (durationMs == null || durationMs <= 0L) {
             // 글로벌 타임라인 계산의 필수값이므로 누락 시 즉시 실패시킨다.
             throw new IllegalStateException(
-                "durationMs is required. meetingId=%d, chunkSeq=%d"
-                    .formatted(sttState.getMeetingId(), sttState.getChunkSeq())
+                "durationMs is required. meetingId=%d, chunkSeq=%d".formatted(meetingId, chunkSeq)
             );
         }
-        return sttState.getDurationMs();
+        return durationMs;
     }
 
     /**
@@ -0,0 +1,205 @@
+package com.example.stttest.stt;
+
+import com.example.stttest.dto.stt.SttCueDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 단어 버퍼를 자막 cue로 나눈다.
+ *
+ * - Google 결과는 거의 시간순이므로 정렬 여부를 먼저 한 번 훑어 확인하고, 어긋난 경우에만
+ *   삽입 정렬(역전이 적을 때) 또는 병합 정렬로 인덱스 순서를 맞춘다. 단어 배열은 옮기지 않는다.
+ * - cue 텍스트는 공유 문자 버퍼에 이어 붙인 뒤 cue마다 해당 구간만 잘라 String을 한 번 만든다.
+ *
+ * 분리 규칙(Rules):
+ * 1) 화자 변경(splitOnSpeakerChange)
+ * 2) 문장 종료 문자로 끝나는 단어(sentenceEndings, 예: ".?!。")
+ * 3) 단어를 더하면 cue 길이가 maxDurationMs를 넘는 경우(0이면 미사용)
+ * 4) 단어를 더하면 cue 글자 수가 maxChars를 넘는 경우(0이면 미사용)
+ * 3), 4)는 단어 하나만으로 넘는 경우에는 그 단어를 단독 cue로 둔다.
+ */
+public final class CueSegmenter {
+
+    /** 역전(descent) 수가 이 값 이하이면 삽입 정렬, 넘으면 병합 정렬 */
+    private static final int INSERTION_SORT_MAX_DESCENTS = 8;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Rules {
+        private final boolean splitOnSpeakerChange;
+        private final String sentenceEndings;
+        private final long maxDurationMs;
+        private final int maxChars;
+    }
+
+    private final Rules rules;
+
+    public CueSegmenter(Rules rules) {
+        this.rules = rules;
+    }
+
+    public List<SttCueDto> segment(WordBuffer words) {
+        int[] order = timeOrder(words);
+        List<SttCueDto> cues = new ArrayList<>();
+
+        char[] text = new char[256];
+        int textLength = 0;
+        int currentSpeakerId = -1;
+        long currentStartMs = 0L;
+        long currentEndMs = 0L;
+
+        for (int index : order) {
+            int speakerId = words.speakerId(index);
+            long startMs = words.startMs(index);
+            long endMs = words.endMs(index);
+            String word = words.word(index);
+
+            if (currentSpeakerId >= 0 && shouldSplitBefore(currentSpeakerId, currentStartMs, textLength, speakerId, endMs, word)) {
+                cues.add(toCue(currentStartMs, currentEndMs, text, textLength, words.speaker(currentSpeakerId)));
+                currentSpeakerId = -1;
+                textLength = 0;
+            }
+
+            if (currentSpeakerId < 0) {
+                // 새 cue 시작.
+                currentSpeakerId = speakerId;
+                currentStartMs = startMs;
+                currentEndMs = endMs;
+            } else {
+                // 같은 cue는 endMs만 확장.
+                currentEndMs = Math.max(currentEndMs, endMs);
+            }
+
+            int required = textLength + 1 + word.length();
+            if (required > text.length) {
+                text = Arrays.copyOf(text, Math.max(required, text.length * 2));
+            }
+            if (textLength > 0) {
+                text[textLength++] = ' ';
+            }
+            word.getChars(0, word.length(), text, textLength);
+            textLength += word.length();
+
+            if (endsSentence(word)) {
+                // 문장 종료 문자를 cue 종료 신호로 사용.
+                cues.add(toCue(currentStartMs, currentEndMs, text, textLength, words.speaker(currentSpeakerId)));
+                currentSpeakerId = -1;
+                textLength = 0;
+            }
+        }
+
+        if (currentSpeakerId >= 0) {
+            cues.add(toCue(currentStartMs, currentEndMs, text, textLength, words.speaker(currentSpeakerId)));
+        }
+        return cues;
+    }
+
+    private boolean shouldSplitBefore(int currentSpeakerId, long currentStartMs, int textLength,
+                                      int speakerId, long endMs, String word) {
+        if (rules.isSplitOnSpeakerChange() && currentSpeakerId != speakerId) {
+            return true;
+        }
+        if (rules.getMaxDurationMs() > 0 && endMs - currentStartMs > rules.getMaxDurationMs()) {
+            return true;
+        }
+        return rules.getMaxChars() > 0 && textLength + 1 + word.length() > rules.getMaxChars();
+    }
+
+    private boolean endsSentence(String word) {
+        return !word.isEmpty() && rules.getSentenceEndings().indexOf(word.charAt(word.length() - 1)) >= 0;
+    }
+
+    private static SttCueDto toCue(long startMs, long endMs, char[] text, int textLength, String speaker) {
+        int from = 0;
+        int to = textLength;
+        while (from < to && text[from] <= ' ') {
+            from++;
+        }
+        while (to > from && text[to - 1] <= ' ') {
+            to--;
+        }
+        return new SttCueDto(startMs, endMs, new String(text, from, to - from), speaker);
+    }
+
+    /**
+     * (startMs, endMs) 순 인덱스 배열. 이미 정렬돼 있으면 한 번 훑고 끝낸다.
+     */
+    static int[] timeOrder(WordBuffer words) {
+        int size = words.size();
+        int[] order = new int[size];
+        int descents = 0;
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            if (i > 0 && compare(words, i - 1, i) > 0) {
+                descents++;
+            }
+        }
+
+        if (descents == 0) {
+            return order;
+        }
+        if (descents <= INSERTION_SORT_MAX_DESCENTS) {
+            insertionSort(words, order);
+        } else {
+            mergeSort(words, order, new int[size], 0, size);
+        }
+        return order;
+    }
+
+    private static void insertionSort(WordBuffer words, int[] order) {
+        for (int i = 1; i < order.length; i++) {
+            int index = order[i];
+            int j = i - 1;
+            while (j >= 0 && compare(words, order[j], index) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    /**
+     * 안정 병합 정렬(같은 시간 단어는 입력 순서를 유지한다).
+     */
+    private static void mergeSort(WordBuffer words, int[] order, int[] scratch, int from, int to) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int index = order[i];
+                int j = i - 1;
+                while (j >= from && compare(words, order[j], index) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(words, order, scratch, from, mid);
+        mergeSort(words, order, scratch, mid, to);
+        if (compare(words, order[mid - 1], order[mid]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < mid && compare(words, scratch[left], scratch[right]) <= 0)) {
+                order[k] = scratch[left++];
+            } else {
+                order[k] = scratch[right++];
+            }
+        }
+    }
+
+    private static int compare(WordBuffer words, int a, int b) {
+        int byStart = Long.compare(words.startMs(a), words.startMs(b));
+        return byStart != 0 ? byStart : Long.compare(words.endMs(a), words.endMs(b));
+    }
+}
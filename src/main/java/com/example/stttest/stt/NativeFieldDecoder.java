@@ -0,0 +1,118 @@
+package com.example.stttest.stt;
+
+/**
+ * native 결과 단어 필드의 hot path 디코더.
+ *
+ * JsonParser가 들고 있는 문자 버퍼(char[] + offset/length)를 그대로 읽어
+ * substring/Double/Matcher를 만들지 않고 값을 꺼낸다.
+ */
+public final class NativeFieldDecoder {
+
+    /** duration 값 없음 */
+    public static final long NO_TIME = -1L;
+
+    private NativeFieldDecoder() {
+    }
+
+    /**
+     * Google duration("1.234s", "3s", "0.5s")을 ms로 변환한다. 소수 넷째 자리에서 반올림한다.
+     * 비어 있으면 NO_TIME, 숫자 형식이 아니면(지수 표기 등) 일반 파싱으로 처리한다.
+     */
+    public static long parseDurationMs(char[] buf, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+        while (pos < end && Character.isWhitespace(buf[pos])) {
+            pos++;
+        }
+        while (end > pos && Character.isWhitespace(buf[end - 1])) {
+            end--;
+        }
+        if (pos == end) {
+            return NO_TIME;
+        }
+        if (buf[end - 1] == 's') {
+            end--;
+        }
+
+        long seconds = 0L;
+        int digits = 0;
+        while (pos < end && isDigit(buf[pos])) {
+            seconds = seconds * 10 + (buf[pos++] - '0');
+            digits++;
+        }
+
+        long millis = 0L;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (pos < end && buf[pos] == '.') {
+            pos++;
+            while (pos < end && isDigit(buf[pos])) {
+                if (fractionDigits < 3) {
+                    millis = millis * 10 + (buf[pos] - '0');
+                } else if (fractionDigits == 3) {
+                    roundUp = buf[pos] >= '5';
+                }
+                fractionDigits++;
+                digits++;
+                pos++;
+            }
+        }
+        if (pos != end || digits == 0) {
+            return parseDurationMsSlow(new String(buf, offset, length));
+        }
+
+        for (int i = fractionDigits; i < 3; i++) {
+            millis *= 10;
+        }
+        return seconds * 1000L + millis + (roundUp ? 1L : 0L);
+    }
+
+    /**
+     * 화자 라벨에서 speaker id로 쓸 구간을 찾는다("spk:1", "SPEAKER_2" -> 첫 숫자 구간).
+     * 숫자가 없으면 라벨 전체, 공백뿐이면 길이 0을 돌려준다.
+     *
+     * @return (시작 offset << 32) | 길이
+     */
+    public static long speakerRange(char[] buf, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (isDigit(buf[i])) {
+                int digitEnd = i + 1;
+                while (digitEnd < end && isDigit(buf[digitEnd])) {
+                    digitEnd++;
+                }
+                return range(i, digitEnd - i);
+            }
+        }
+        for (int i = offset; i < end; i++) {
+            if (!Character.isWhitespace(buf[i])) {
+                return range(offset, length);
+            }
+        }
+        return range(offset, 0);
+    }
+
+    public static int rangeOffset(long range) {
+        return (int) (range >>> 32);
+    }
+
+    public static int rangeLength(long range) {
+        return (int) range;
+    }
+
+    private static long range(int offset, int length) {
+        return ((long) offset << 32) | (length & 0xFFFFFFFFL);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static long parseDurationMsSlow(String durationText) {
+        String trimmed = durationText.trim();
+        if (trimmed.endsWith("s")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return Math.round(Double.parseDouble(trimmed) * 1000d);
+    }
+}
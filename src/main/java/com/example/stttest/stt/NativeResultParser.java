@@ -0,0 +1,231 @@
+package com.example.stttest.stt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.example.stttest.stt.NativeFieldDecoder.NO_TIME;
+
+/**
+ * Google STT native 결과 JSON 스트리밍 파서.
+ *
+ * JsonNode 트리를 만들지 않고 토큰 단위로 읽으며, 필요한 필드만 WordBuffer에 바로 담는다.
+ * 결과 파일 전체를 메모리에 올리지 않으므로 긴 청크에서도 파싱 메모리가 단어 배열 크기를 넘지 않는다.
+ *
+ * 고정 JSON 스키마 기준:
+ * - results[*].alternatives[0].words[*]
+ * - word / speakerLabel / startOffset / endOffset
+ * 그 밖의 필드와 alternatives[1..]은 건너뛴다.
+ */
+public final class NativeResultParser {
+
+    private NativeResultParser() {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class NativeResult {
+        private final String transcript;
+        private final WordBuffer words;
+    }
+
+    public static NativeResult parse(JsonFactory jsonFactory, InputStream in) throws IOException {
+        StringBuilder transcriptSb = new StringBuilder();
+        WordBuffer words = new WordBuffer();
+
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("native result is not a json object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readResult(parser, words, transcriptSb);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return new NativeResult(transcriptSb.toString().trim(), words);
+    }
+
+    /**
+     * results[i] 1건. alternatives[0]만 읽는다.
+     */
+    private static void readResult(JsonParser parser, WordBuffer words, StringBuilder transcriptSb) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"alternatives".equals(field) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+
+            boolean first = true;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (first && parser.currentToken() == JsonToken.START_OBJECT) {
+                    // Google native 포맷에서 대안 텍스트는 alternatives[0]을 기준으로 사용한다.
+                    readAlternative(parser, words, transcriptSb);
+                } else {
+                    parser.skipChildren();
+                }
+                first = false;
+            }
+        }
+    }
+
+    private static void readAlternative(JsonParser parser, WordBuffer words, StringBuilder transcriptSb) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("words".equals(field) && value == JsonToken.START_ARRAY) {
+                readWords(parser, words, transcriptSb);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * words 배열을 읽어 단어를 담고 transcript 라인을 만든다.
+     *
+     * duration/화자 라벨은 JsonParser 문자 버퍼에서 바로 디코딩해 단어마다 문자열/박싱 객체를 만들지 않는다.
+     */
+    private static void readWords(JsonParser parser, WordBuffer words, StringBuilder transcriptSb) throws IOException {
+        // transcript 생성 상태.
+        int currentSpeakerId = -1;
+        StringBuilder currentLine = new StringBuilder();
+        // 직전 단어 끝 시각(타임 누락 보정 기준).
+        long prevEndMs = -1L;
+        // 시작 구간에서 타임이 없는 단어의 첫 인덱스(-1이면 없음).
+        int pendingFrom = -1;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String word = "";
+            int labeledSpeakerId = -1;
+            long startMs = NO_TIME;
+            long endMs = NO_TIME;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "word" -> word = parser.getValueAsString("");
+                    // speakerLabel이 "spk:1", "SPEAKER_2" 등으로 와도 숫자만 추출해 통일한다.
+                    case "speakerLabel" -> labeledSpeakerId = internSpeakerLabel(parser, words);
+                    // "3.600s" 형식 duration 문자열을 ms로 변환.
+                    case "startOffset" -> startMs = parseDurationMs(parser);
+                    case "endOffset" -> endMs = parseDurationMs(parser);
+                    default -> {
+                    }
+                }
+            }
+            word = word.trim();
+
+            int speakerId = labeledSpeakerId >= 0
+                            ? labeledSpeakerId
+                            : (currentSpeakerId >= 0 ? currentSpeakerId : words.internSpeaker("0"));
+
+            if (startMs == NO_TIME && endMs == NO_TIME && prevEndMs < 0) {
+                // 선행 단어에 타임오프셋이 비어 있으면, 첫 timed 단어를 만날 때 직전 구간으로 보정한다.
+                if (pendingFrom < 0) {
+                    pendingFrom = words.size();
+                }
+                words.add(0L, 0L, speakerId, word);
+            } else {
+                if (startMs == NO_TIME) {
+                    startMs = (prevEndMs >= 0) ? prevEndMs : Math.max(0L, endMs - 1L);
+                }
+                if (endMs == NO_TIME) {
+                    endMs = startMs + 1L;
+                }
+                if (endMs <= startMs) {
+                    endMs = startMs + 1L;
+                }
+
+                if (pendingFrom >= 0) {
+                    // 첫 timed 단어 직전 구간에 1ms 간격으로 임시 단어를 backfill한다.
+                    int pendingCount = words.size() - pendingFrom;
+                    long backfillStart = Math.max(0L, startMs - pendingCount);
+                    for (int i = 0; i < pendingCount; i++) {
+                        long pendingStart = backfillStart + i;
+                        words.setTime(pendingFrom + i, pendingStart, pendingStart + 1L);
+                    }
+                    pendingFrom = -1;
+                }
+
+                words.add(startMs, endMs, speakerId, word);
+                prevEndMs = endMs;
+            }
+
+            // transcript 라인은 화자 변경 시 줄을 끊고, 화자 prefix를 붙인다.
+            if (currentSpeakerId < 0) {
+                currentSpeakerId = speakerId;
+                currentLine.append("SPEAKER_").append(words.speaker(speakerId)).append(": ").append(word);
+                continue;
+            }
+
+            if (speakerId != currentSpeakerId) {
+                appendTranscriptLine(transcriptSb, currentLine);
+                currentSpeakerId = speakerId;
+                currentLine.setLength(0);
+                currentLine.append("SPEAKER_").append(words.speaker(speakerId)).append(": ").append(word);
+                continue;
+            }
+
+            currentLine.append(' ').append(word);
+        }
+
+        if (pendingFrom >= 0) {
+            // 끝까지 timed 단어가 없으면 타임라인에서는 제외한다(transcript에는 남는다).
+            words.truncate(pendingFrom);
+        }
+        appendTranscriptLine(transcriptSb, currentLine);
+    }
+
+    /**
+     * @return 화자 id, 라벨이 비어 있으면 -1(상위 로직에서 fallback speaker를 적용)
+     */
+    private static int internSpeakerLabel(JsonParser parser, WordBuffer words) throws IOException {
+        char[] buf = parser.getTextCharacters();
+        long range = NativeFieldDecoder.speakerRange(buf, parser.getTextOffset(), parser.getTextLength());
+        int length = NativeFieldDecoder.rangeLength(range);
+        return length == 0 ? -1 : words.internSpeaker(buf, NativeFieldDecoder.rangeOffset(range), length);
+    }
+
+    private static long parseDurationMs(JsonParser parser) throws IOException {
+        return NativeFieldDecoder.parseDurationMs(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private static void appendTranscriptLine(StringBuilder transcriptSb, StringBuilder line) {
+        // transcript 줄 사이 구분자는 개행 하나로 고정.
+        if (transcriptSb.length() > 0) {
+            transcriptSb.append('\n');
+        }
+        int from = 0;
+        int to = line.length();
+        while (from < to && line.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && line.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        transcriptSb.append(line, from, to);
+    }
+}
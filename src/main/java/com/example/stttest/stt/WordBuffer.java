@@ -0,0 +1,129 @@
+package com.example.stttest.stt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * native 결과 단어 목록(병렬 배열).
+ *
+ * 단어마다 객체를 만들지 않고 start/end/speakerId/word를 인덱스가 같은 배열에 담는다.
+ * 화자 문자열은 작업(job 결과 파일) 단위 intern 테이블에서 작은 int id로 바꿔 비교한다.
+ */
+public final class WordBuffer {
+
+    private int size;
+    private long[] startMs;
+    private long[] endMs;
+    private int[] speakerIds;
+    private String[] words;
+
+    private final List<String> speakers = new ArrayList<>();
+    private final Map<String, Integer> speakerIdsByName = new HashMap<>();
+
+    public WordBuffer() {
+        this(256);
+    }
+
+    public WordBuffer(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        startMs = new long[capacity];
+        endMs = new long[capacity];
+        speakerIds = new int[capacity];
+        words = new String[capacity];
+    }
+
+    /**
+     * 화자 문자열을 id로 바꾼다. 처음 보는 화자면 새 id를 부여한다.
+     */
+    public int internSpeaker(String speaker) {
+        Integer id = speakerIdsByName.get(speaker);
+        if (id != null) {
+            return id;
+        }
+        int newId = speakers.size();
+        speakers.add(speaker);
+        speakerIdsByName.put(speaker, newId);
+        return newId;
+    }
+
+    /**
+     * 문자 버퍼 구간을 그대로 비교해 화자 id를 찾는다. 이미 있는 화자면 문자열을 만들지 않는다.
+     * 한 결과 파일의 화자 수는 몇 명 수준이라 선형 비교가 해시보다 싸다.
+     */
+    public int internSpeaker(char[] buf, int offset, int length) {
+        for (int id = 0; id < speakers.size(); id++) {
+            String speaker = speakers.get(id);
+            if (speaker.length() == length && regionEquals(speaker, buf, offset, length)) {
+                return id;
+            }
+        }
+        return internSpeaker(new String(buf, offset, length));
+    }
+
+    public String speaker(int speakerId) {
+        return speakers.get(speakerId);
+    }
+
+    public void add(long wordStartMs, long wordEndMs, int speakerId, String word) {
+        if (size == startMs.length) {
+            int capacity = size * 2;
+            startMs = Arrays.copyOf(startMs, capacity);
+            endMs = Arrays.copyOf(endMs, capacity);
+            speakerIds = Arrays.copyOf(speakerIds, capacity);
+            words = Arrays.copyOf(words, capacity);
+        }
+        startMs[size] = wordStartMs;
+        endMs[size] = wordEndMs;
+        speakerIds[size] = speakerId;
+        words[size] = word;
+        size++;
+    }
+
+    /**
+     * 이미 추가한 단어의 시간을 보정한다(타임오프셋 누락 단어 backfill).
+     */
+    public void setTime(int index, long wordStartMs, long wordEndMs) {
+        startMs[index] = wordStartMs;
+        endMs[index] = wordEndMs;
+    }
+
+    /**
+     * newSize 이후 단어를 버린다.
+     */
+    public void truncate(int newSize) {
+        Arrays.fill(words, newSize, size, null);
+        size = newSize;
+    }
+
+    private static boolean regionEquals(String speaker, char[] buf, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (speaker.charAt(i) != buf[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long startMs(int index) {
+        return startMs[index];
+    }
+
+    public long endMs(int index) {
+        return endMs[index];
+    }
+
+    public int speakerId(int index) {
+        return speakerIds[index];
+    }
+
+    public String word(int index) {
+        return words[index];
+    }
+}
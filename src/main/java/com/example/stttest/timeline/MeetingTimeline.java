@@ -0,0 +1,359 @@
+package com.example.stttest.timeline;
+
+import com.example.stttest.dto.projection.ChunkCueRow;
+import com.example.stttest.dto.projection.ChunkStateRow;
+import com.example.stttest.dto.rs.SubtitleCueRs;
+import com.example.stttest.entitiy.ChunkStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 미팅 1건의 글로벌 자막 타임라인(DONE 청크만).
+ *
+ * 청크 오프셋은 prefix-sum 배열, cue는 객체 대신 primitive/병렬 배열로 보관한다.
+ * - chunkOffsets[i]: i번째 DONE 청크의 글로벌 시작(ms), chunkOffsets[chunkCount] = 전체 길이
+ * - chunkCueStarts[i]: i번째 청크의 첫 cue 인덱스, chunkCueStarts[chunkCount] = cueCount
+ * - cueStarts/cueEnds: 이미 오프셋을 더한 글로벌 시간
+ * - cueMaxEnds[i]: cueEnds[0..i] 최대값(prefix max). 시간 구간 조회의 하한을 이분 탐색으로 찾는다.
+ *
+ * 모든 접근은 내부 lock으로 보호한다.
+ */
+public class MeetingTimeline {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int chunkCount;
+    private int[] chunkSeqs;
+    private long[] chunkOffsets;
+    private int[] chunkCueStarts;
+
+    private int cueCount;
+    private long[] cueStarts;
+    private long[] cueEnds;
+    private String[] cueTexts;
+    private String[] cueSpeakers;
+    private long[] cueMaxEnds;
+    /** 시작 시간이 인덱스 순으로 정렬돼 있는지(구간 조회 상한 이분 탐색 가능 여부) */
+    private boolean startsSorted = true;
+
+    private MeetingTimeline(int chunkCapacity, int cueCapacity) {
+        chunkSeqs = new int[Math.max(chunkCapacity, 4)];
+        chunkOffsets = new long[chunkSeqs.length + 1];
+        chunkCueStarts = new int[chunkSeqs.length + 1];
+        cueStarts = new long[Math.max(cueCapacity, 16)];
+        cueEnds = new long[cueStarts.length];
+        cueTexts = new String[cueStarts.length];
+        cueSpeakers = new String[cueStarts.length];
+        cueMaxEnds = new long[cueStarts.length];
+    }
+
+    /**
+     * DB projection 조회 결과로 타임라인을 만든다. stateRows는 chunkSeq 순이어야 한다.
+     */
+    public static MeetingTimeline build(Long meetingId,
+                                        List<ChunkStateRow> stateRows,
+                                        Map<Long, List<ChunkCueRow>> cueRowsByChunkId) {
+        int cueCapacity = 0;
+        for (List<ChunkCueRow> rows : cueRowsByChunkId.values()) {
+            cueCapacity += rows.size();
+        }
+
+        MeetingTimeline timeline = new MeetingTimeline(stateRows.size(), cueCapacity);
+        for (ChunkStateRow row : stateRows) {
+            if (row.getStatus() != ChunkStatus.DONE) {
+                continue;
+            }
+            List<ChunkCueRow> cueRows = cueRowsByChunkId.getOrDefault(row.getId(), List.of());
+            timeline.appendChunk(row.getChunkSeq(), requireDuration(meetingId, row.getChunkSeq(), row.getDurationMs()), cueRows.size());
+            for (ChunkCueRow cue : cueRows) {
+                timeline.appendCue(cue.getStartMs(), cue.getEndMs(), cue.getText(), cue.getSpeaker());
+            }
+        }
+        return timeline;
+    }
+
+    /**
+     * DONE 청크를 반영한다. 마지막 청크 뒤면 append, 중간이면 뒤 청크/cue를 durationMs만큼 밀고 삽입한다.
+     *
+     * @return 이미 있는 청크면 false(호출 측에서 무효화)
+     */
+    public boolean insertChunk(int chunkSeq, long durationMs, List<SubtitleCueRs> localCues) {
+        lock.lock();
+        try {
+            int pos = Arrays.binarySearch(chunkSeqs, 0, chunkCount, chunkSeq);
+            if (pos >= 0) {
+                return false;
+            }
+            int insertAt = -pos - 1;
+
+            if (insertAt == chunkCount) {
+                appendChunk(chunkSeq, durationMs, localCues.size());
+                for (SubtitleCueRs cue : localCues) {
+                    appendCue(cue.getStartMs(), cue.getEndMs(), cue.getText(), cue.getSpeaker());
+                }
+                return true;
+            }
+
+            insertChunkInMiddle(insertAt, chunkSeq, durationMs, localCues);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean containsChunk(int chunkSeq) {
+        lock.lock();
+        try {
+            return Arrays.binarySearch(chunkSeqs, 0, chunkCount, chunkSeq) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getChunkCount() {
+        lock.lock();
+        try {
+            return chunkCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getCueCount() {
+        lock.lock();
+        try {
+            return cueCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 전체 글로벌 cue 목록(응답 DTO) 복사본.
+     */
+    public List<SubtitleCueRs> toCues() {
+        lock.lock();
+        try {
+            return copyCues(0, cueCount, Long.MIN_VALUE, Long.MAX_VALUE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * [fromMs, toMs) 구간과 겹치는 cue(end > fromMs, start < toMs) 복사본.
+     *
+     * - 하한: prefix max end가 fromMs를 처음 넘는 인덱스(항상 단조 증가라 이분 탐색 가능)
+     * - 상한: start가 toMs 이상인 첫 인덱스(start가 정렬돼 있을 때만 이분 탐색, 아니면 끝까지)
+     */
+    public List<SubtitleCueRs> cuesBetween(long fromMs, long toMs) {
+        lock.lock();
+        try {
+            if (cueCount == 0 || toMs <= fromMs) {
+                return List.of();
+            }
+            int from = firstIndexAbove(cueMaxEnds, cueCount, fromMs);
+            int to = startsSorted ? firstIndexAtLeast(cueStarts, cueCount, toMs) : cueCount;
+            if (from >= to) {
+                return List.of();
+            }
+            return copyCues(from, to, fromMs, toMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 전체 글로벌 길이(ms) = DONE 청크 durationMs 합.
+     */
+    public long getDurationMs() {
+        lock.lock();
+        try {
+            return chunkOffsets[chunkCount];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<SubtitleCueRs> copyCues(int from, int to, long fromMs, long toMs) {
+        List<SubtitleCueRs> out = new ArrayList<>(to - from);
+        int chunk = chunkIndexOfCue(from);
+        for (int i = from; i < to; i++) {
+            while (chunkCueStarts[chunk + 1] <= i) {
+                chunk++;
+            }
+            if (cueEnds[i] <= fromMs || cueStarts[i] >= toMs) {
+                continue;
+            }
+            out.add(new SubtitleCueRs(chunkSeqs[chunk], cueStarts[i], cueEnds[i], cueTexts[i], cueSpeakers[i]));
+        }
+        return out;
+    }
+
+    /**
+     * cue가 속한 청크 인덱스(chunkCueStarts[k] <= cueIndex 인 마지막 k).
+     */
+    private int chunkIndexOfCue(int cueIndex) {
+        int low = 0;
+        int high = chunkCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (chunkCueStarts[mid + 1] <= cueIndex) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int firstIndexAbove(long[] values, int length, long key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int firstIndexAtLeast(long[] values, int length, long key) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void appendChunk(int chunkSeq, long durationMs, int cueCountHint) {
+        ensureChunkCapacity(chunkCount + 1);
+        ensureCueCapacity(cueCount + cueCountHint);
+
+        chunkSeqs[chunkCount] = chunkSeq;
+        chunkCueStarts[chunkCount] = cueCount;
+        chunkOffsets[chunkCount + 1] = chunkOffsets[chunkCount] + durationMs;
+        chunkCount++;
+        chunkCueStarts[chunkCount] = cueCount;
+    }
+
+    /**
+     * 마지막 청크에 cue를 추가한다(로컬 시간에 마지막 청크 오프셋을 더해 저장).
+     */
+    private void appendCue(long localStartMs, long localEndMs, String text, String speaker) {
+        ensureCueCapacity(cueCount + 1);
+        long offsetMs = chunkOffsets[chunkCount - 1];
+        cueStarts[cueCount] = localStartMs + offsetMs;
+        cueEnds[cueCount] = localEndMs + offsetMs;
+        cueTexts[cueCount] = text;
+        cueSpeakers[cueCount] = speaker;
+        if (cueCount > 0) {
+            cueMaxEnds[cueCount] = Math.max(cueMaxEnds[cueCount - 1], cueEnds[cueCount]);
+            startsSorted &= cueStarts[cueCount] >= cueStarts[cueCount - 1];
+        } else {
+            cueMaxEnds[cueCount] = cueEnds[cueCount];
+        }
+        cueCount++;
+        chunkCueStarts[chunkCount] = cueCount;
+    }
+
+    private void insertChunkInMiddle(int insertAt, int chunkSeq, long durationMs, List<SubtitleCueRs> localCues) {
+        int added = localCues.size();
+        ensureChunkCapacity(chunkCount + 1);
+        ensureCueCapacity(cueCount + added);
+
+        long offsetMs = chunkOffsets[insertAt];
+        int cueAt = chunkCueStarts[insertAt];
+
+        // 뒤 청크 메타를 한 칸 민다(오프셋은 durationMs, cue 시작 인덱스는 added만큼 증가).
+        System.arraycopy(chunkSeqs, insertAt, chunkSeqs, insertAt + 1, chunkCount - insertAt);
+        for (int i = chunkCount; i >= insertAt; i--) {
+            chunkOffsets[i + 1] = chunkOffsets[i] + durationMs;
+            chunkCueStarts[i + 1] = chunkCueStarts[i] + added;
+        }
+        chunkSeqs[insertAt] = chunkSeq;
+        chunkOffsets[insertAt] = offsetMs;
+        chunkCueStarts[insertAt] = cueAt;
+
+        // 뒤 cue를 added만큼 밀고 글로벌 시간도 durationMs만큼 이동한다.
+        int tail = cueCount - cueAt;
+        System.arraycopy(cueStarts, cueAt, cueStarts, cueAt + added, tail);
+        System.arraycopy(cueEnds, cueAt, cueEnds, cueAt + added, tail);
+        System.arraycopy(cueTexts, cueAt, cueTexts, cueAt + added, tail);
+        System.arraycopy(cueSpeakers, cueAt, cueSpeakers, cueAt + added, tail);
+        for (int i = cueAt + added; i < cueCount + added; i++) {
+            cueStarts[i] += durationMs;
+            cueEnds[i] += durationMs;
+        }
+
+        for (int i = 0; i < added; i++) {
+            SubtitleCueRs cue = localCues.get(i);
+            cueStarts[cueAt + i] = cue.getStartMs() + offsetMs;
+            cueEnds[cueAt + i] = cue.getEndMs() + offsetMs;
+            cueTexts[cueAt + i] = cue.getText();
+            cueSpeakers[cueAt + i] = cue.getSpeaker();
+        }
+
+        chunkCount++;
+        cueCount += added;
+        rebuildIndex(cueAt);
+    }
+
+    /**
+     * 중간 삽입 이후 prefix max와 정렬 여부를 다시 계산한다.
+     */
+    private void rebuildIndex(int fromIndex) {
+        for (int i = fromIndex; i < cueCount; i++) {
+            cueMaxEnds[i] = i == 0 ? cueEnds[i] : Math.max(cueMaxEnds[i - 1], cueEnds[i]);
+        }
+        startsSorted = true;
+        for (int i = 1; i < cueCount && startsSorted; i++) {
+            startsSorted = cueStarts[i] >= cueStarts[i - 1];
+        }
+    }
+
+    private void ensureChunkCapacity(int required) {
+        if (required <= chunkSeqs.length) {
+            return;
+        }
+        int capacity = Math.max(required, chunkSeqs.length * 2);
+        chunkSeqs = Arrays.copyOf(chunkSeqs, capacity);
+        chunkOffsets = Arrays.copyOf(chunkOffsets, capacity + 1);
+        chunkCueStarts = Arrays.copyOf(chunkCueStarts, capacity + 1);
+    }
+
+    private void ensureCueCapacity(int required) {
+        if (required <= cueStarts.length) {
+            return;
+        }
+        int capacity = Math.max(required, cueStarts.length * 2);
+        cueStarts = Arrays.copyOf(cueStarts, capacity);
+        cueEnds = Arrays.copyOf(cueEnds, capacity);
+        cueTexts = Arrays.copyOf(cueTexts, capacity);
+        cueSpeakers = Arrays.copyOf(cueSpeakers, capacity);
+        cueMaxEnds = Arrays.copyOf(cueMaxEnds, capacity);
+    }
+
+    private static long requireDuration(Long meetingId, Integer chunkSeq, Long durationMs) {
+        if (durationMs == null || durationMs <= 0L) {
+            // 글로벌 타임라인 계산의 필수값이므로 누락 시 즉시 실패시킨다.
+            throw new IllegalStateException(
+                "durationMs is required. meetingId=%d, chunkSeq=%d".formatted(meetingId, chunkSeq)
+            );
+        }
+        return durationMs;
+    }
+}
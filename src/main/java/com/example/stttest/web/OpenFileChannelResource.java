@@ -0,0 +1,92 @@
+package com.example.stttest.web;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 이미 열린 파일 핸들을 응답 본문으로 내보내는 Resource.
+ *
+ * 경로 대신 핸들을 읽으므로 응답 도중 파일이 지워져도 끝까지 내려간다.
+ * Range 요청은 구간마다 getInputStream을 다시 부르므로 스트림은 채널 위치를 공유하지 않고 각자 오프셋으로 읽는다.
+ * 채널은 호출 측이 닫는다.
+ */
+class OpenFileChannelResource extends AbstractResource {
+
+    private final FileChannel channel;
+    private final long sizeBytes;
+    private final String fileName;
+
+    OpenFileChannelResource(FileChannel channel, long sizeBytes, String fileName) {
+        this.channel = channel;
+        this.sizeBytes = sizeBytes;
+        this.fileName = fileName;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new PositionalInputStream();
+    }
+
+    @Override
+    public long contentLength() {
+        return sizeBytes;
+    }
+
+    @Override
+    public boolean exists() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public String getFilename() {
+        return fileName;
+    }
+
+    @Override
+    public String getDescription() {
+        return "open file channel [" + fileName + "]";
+    }
+
+    private class PositionalInputStream extends InputStream {
+
+        private long position;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= sizeBytes) {
+                return -1;
+            }
+            int limit = (int) Math.min(length, sizeBytes - position);
+            int read = channel.read(ByteBuffer.wrap(buffer, offset, limit), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0L, Math.min(n, sizeBytes - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, sizeBytes - position);
+        }
+    }
+}
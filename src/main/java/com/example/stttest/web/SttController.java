@@ -3,14 +3,26 @@ package com.example.stttest.web;
 import com.example.stttest.dto.AudioDownloadDto;
 import com.example.stttest.dto.rs.ChunkBatchUploadRs;
 import com.example.stttest.dto.rs.ChunkUploadAutoRs;
+import com.example.stttest.dto.rs.MeetingSnapshotDeltaRs;
 import com.example.stttest.dto.rs.MeetingSnapshotRs;
+import com.example.stttest.dto.rs.MeetingSubtitleRs;
+import com.example.stttest.service.ChunkBatchUploadException;
+import com.example.stttest.service.IngestQueueFullException;
+import com.example.stttest.service.MeetingEventHub;
 import com.example.stttest.service.SttService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -20,16 +32,22 @@ import java.util.List;
 public class SttController {
 
     private final SttService sttService;
+    private final MeetingEventHub meetingEventHub;
 
     /**
      * 단일 청크 업로드 + STT 시작 (신규 미팅 자동 생성)
+     *
+     * stt.ingest.mode=ASYNC면 spool 후 202와 발급된 chunkSeq만 반환한다.
      */
     @PostMapping("/chunks")
-    public ChunkUploadAutoRs uploadChunkNewMeeting(
+    public ResponseEntity<ChunkUploadAutoRs> uploadChunkNewMeeting(
         @RequestParam MultipartFile audioFile,
         @RequestParam(defaultValue = "ko-KR") String languageCode
     ) throws Exception {
-        return sttService.uploadChunkAutoSeqNewMeeting(audioFile, languageCode);
+        if (sttService.isAsyncIngest()) {
+            return ResponseEntity.accepted().body(sttService.acceptChunkAutoSeqNewMeeting(audioFile, languageCode));
+        }
+        return ResponseEntity.ok(sttService.uploadChunkAutoSeqNewMeeting(audioFile, languageCode));
     }
 
     /**
@@ -45,14 +63,21 @@ public class SttController {
 
     /**
      * 단일 청크 업로드 + STT 시작 (chunkSeq 자동)
+     *
+     * chunkSeq를 보내면 그 순번으로 저장한다. 클라이언트가 순번을 매겨 여러 청크를 동시에 보낼 때 사용한다.
+     * stt.ingest.mode=ASYNC면 spool 후 202와 발급된 chunkSeq만 반환한다.
      */
     @PostMapping("/meetings/{meetingId}/chunks")
-    public ChunkUploadAutoRs uploadChunkAuto(
+    public ResponseEntity<ChunkUploadAutoRs> uploadChunkAuto(
         @PathVariable Long meetingId,
         @RequestParam MultipartFile audioFile,
-        @RequestParam(defaultValue = "ko-KR") String languageCode
+        @RequestParam(defaultValue = "ko-KR") String languageCode,
+        @RequestParam(required = false) Integer chunkSeq
     ) throws Exception {
-        return sttService.uploadChunkAutoSeq(meetingId, audioFile, languageCode);
+        if (sttService.isAsyncIngest()) {
+            return ResponseEntity.accepted().body(sttService.acceptChunkAutoSeq(meetingId, audioFile, languageCode, chunkSeq));
+        }
+        return ResponseEntity.ok(sttService.uploadChunkAutoSeq(meetingId, audioFile, languageCode, chunkSeq));
     }
 
     /**
@@ -69,26 +94,109 @@ public class SttController {
 
     /**
      * 통합 상태 조회.
-     * poll=true면 완료 상태를 먼저 점검하고, 결과(상태/대본/자막/청크목록)를 한 번에 반환한다.
+     * 결과(상태/대본/자막/청크목록)를 한 번에 반환한다.
+     * Google job 상태 반영은 백그라운드 폴러가 하므로 DB 조회만 수행한다(이전 poll 파라미터는 무시된다).
      */
     @GetMapping("/meetings/{meetingId}/snapshot")
-    public MeetingSnapshotRs getMeetingSnapshot(
+    public MeetingSnapshotRs getMeetingSnapshot(@PathVariable Long meetingId) {
+        return sttService.getMeetingSnapshot(meetingId);
+    }
+
+    /**
+     * 변경분 조회.
+     * 응답의 revision을 다음 요청의 sinceRevision으로 보내면 그 이후 바뀐 청크/cue와 오프셋만 받는다.
+     */
+    @GetMapping("/meetings/{meetingId}/snapshot/delta")
+    public MeetingSnapshotDeltaRs getMeetingSnapshotDelta(
         @PathVariable Long meetingId,
-        @RequestParam(defaultValue = "false") boolean poll
-    ) throws Exception {
-        return sttService.getMeetingSnapshot(meetingId, poll);
+        @RequestParam(defaultValue = "0") long sinceRevision
+    ) {
+        return sttService.getMeetingSnapshotDelta(meetingId, sinceRevision);
+    }
+
+    /**
+     * 글로벌 시간 구간 자막 조회.
+     * [fromMs, toMs)와 겹치는 cue만 반환한다. 파라미터를 생략하면 전체 자막을 반환한다.
+     */
+    @GetMapping("/meetings/{meetingId}/subtitles")
+    public MeetingSubtitleRs getSubtitles(
+        @PathVariable Long meetingId,
+        @RequestParam(defaultValue = "0") long fromMs,
+        @RequestParam(defaultValue = "" + Long.MAX_VALUE) long toMs
+    ) {
+        return sttService.getSubtitles(meetingId, fromMs, toMs);
+    }
+
+    /**
+     * 청크 상태 변경 push (Server-Sent Events).
+     *
+     * 연결 직후 reset + 전체 청크 상태 + sync를 보내고, 이후 chunk 이벤트로 변경분만 보낸다.
+     * 재연결 시 Last-Event-ID 이후 이벤트만 이어서 받는다.
+     */
+    @GetMapping(value = "/meetings/{meetingId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeMeetingEvents(
+        @PathVariable Long meetingId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return meetingEventHub.subscribe(meetingId, lastEventId);
     }
 
     /**
      * 회의 전체 병합 오디오 다운로드/재생
+     *
+     * 파일 스트리밍으로 응답하며 Range(206 Partial Content)와 ETag/If-None-Match를 지원한다.
      */
     @GetMapping("/meetings/{meetingId}/audio/merged")
-    public ResponseEntity<byte[]> downloadMergedMeetingAudio(@PathVariable Long meetingId) throws Exception {
+    public ResponseEntity<Resource> downloadMergedMeetingAudio(
+        @PathVariable Long meetingId,
+        WebRequest webRequest
+    ) throws Exception {
+        // 청크 구성이 바뀌지 않았으면 병합/다운로드 없이 304로 끝낸다.
+        String etag = sttService.getMergedAudioEtag(meetingId);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         AudioDownloadDto dto = sttService.downloadMergedMeetingAudio(meetingId);
+        // 본문은 응답을 다 쓴 뒤에 읽히므로 파일 핸들은 요청이 끝날 때 닫는다.
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+            "mergedAudioChannel",
+            () -> closeQuietly(dto),
+            RequestAttributes.SCOPE_REQUEST
+        );
+        // Resource body는 Range 요청 시 필요한 구간만 206으로 내려간다.
         return ResponseEntity.ok()
                              .header(HttpHeaders.CONTENT_DISPOSITION,
                                      "inline; filename=\"" + dto.getFileName() + "\"")
+                             .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                             .eTag(dto.getEtag())
+                             .cacheControl(CacheControl.noCache())
                              .contentType(MediaType.parseMediaType(dto.getContentType()))
-                             .body(dto.getBytes());
+                             .body(new OpenFileChannelResource(dto.getChannel(), dto.getSizeBytes(), dto.getFileName()));
+    }
+
+    private static void closeQuietly(AudioDownloadDto dto) {
+        try {
+            dto.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * 비동기 접수 대기열이 가득 차면 스레드를 쌓지 않고 429로 돌려보낸다.
+     */
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<Void> handleIngestQueueFull(IngestQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                             .build();
+    }
+
+    /**
+     * 배치 업로드가 중간에 실패하면 이미 STT가 시작된 순번이 남으므로 파일별 결과를 본문에 담아 돌려준다.
+     */
+    @ExceptionHandler(ChunkBatchUploadException.class)
+    public ResponseEntity<ChunkBatchUploadRs> handleChunkBatchUpload(ChunkBatchUploadException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getResult());
     }
 }
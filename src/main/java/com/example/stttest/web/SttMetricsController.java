@@ -0,0 +1,79 @@
+package com.example.stttest.web;
+
+import com.example.stttest.config.GoogleCloudClients;
+import com.example.stttest.dto.rs.ChunkIngestStatsRs;
+import com.example.stttest.dto.rs.GoogleClientStatsRs;
+import com.example.stttest.dto.rs.MeetingTimelineCacheStatsRs;
+import com.example.stttest.dto.rs.MergedAudioCacheStatsRs;
+import com.example.stttest.dto.rs.SttJobPollerStatsRs;
+import com.example.stttest.dto.rs.SttResultCacheStatsRs;
+import com.example.stttest.service.ChunkIngestPipeline;
+import com.example.stttest.service.MeetingTimelineCache;
+import com.example.stttest.service.MergedAudioCache;
+import com.example.stttest.service.SttJobPoller;
+import com.example.stttest.service.SttResultCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stt/metrics")
+public class SttMetricsController {
+
+    private final GoogleCloudClients googleCloudClients;
+    private final MergedAudioCache mergedAudioCache;
+    private final SttJobPoller sttJobPoller;
+    private final MeetingTimelineCache meetingTimelineCache;
+    private final SttResultCache sttResultCache;
+    private final ChunkIngestPipeline chunkIngestPipeline;
+
+    /**
+     * Google 클라이언트 생성/재사용 카운터
+     */
+    @GetMapping("/google-clients")
+    public GoogleClientStatsRs getGoogleClientStats() {
+        return googleCloudClients.getStats();
+    }
+
+    /**
+     * 병합 오디오 캐시 hit/miss/append/eviction 카운터
+     */
+    @GetMapping("/merged-audio-cache")
+    public MergedAudioCacheStatsRs getMergedAudioCacheStats() {
+        return mergedAudioCache.getStats();
+    }
+
+    /**
+     * 백그라운드 STT job 폴러 카운터(추적 중 job 수, Google operation 조회 횟수 등)
+     */
+    @GetMapping("/stt-poller")
+    public SttJobPollerStatsRs getSttJobPollerStats() {
+        return sttJobPoller.getStats();
+    }
+
+    /**
+     * 미팅 글로벌 자막 타임라인 캐시 hit/miss/증분 반영/무효화 카운터
+     */
+    @GetMapping("/timeline-cache")
+    public MeetingTimelineCacheStatsRs getMeetingTimelineCacheStats() {
+        return meetingTimelineCache.getStats();
+    }
+
+    /**
+     * 끝난 STT operation 결과(파싱 완료본) 캐시 hit/miss/hit rate 카운터
+     */
+    @GetMapping("/stt-result-cache")
+    public SttResultCacheStatsRs getSttResultCacheStats() {
+        return sttResultCache.getStats();
+    }
+
+    /**
+     * 비동기 접수 단계별 대기열 길이와 접수/거절/완료/실패 카운터
+     */
+    @GetMapping("/ingest")
+    public ChunkIngestStatsRs getChunkIngestStats() {
+        return chunkIngestPipeline.getStats();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.stttest.webm;
+
+/**
+ * WebM(Matroska) 처리에 필요한 EBML element ID와 공통 상수.
+ *
+ * ID 값은 marker bit를 포함한 원본 바이트 그대로의 값이다.
+ */
+public final class Ebml {
+
+    /** 크기 필드의 모든 값 비트가 1이면 "unknown size"(스트리밍 기록) 이다. */
+    public static final long UNKNOWN_SIZE = -1L;
+
+    /** Matroska 기본 TimecodeScale(1ms = 1,000,000ns) */
+    public static final long DEFAULT_TIMECODE_SCALE_NS = 1_000_000L;
+
+    public static final long ID_EBML = 0x1A45DFA3L;
+    public static final long ID_DOC_TYPE = 0x4282L;
+    public static final long ID_SEGMENT = 0x18538067L;
+
+    public static final long ID_SEEK_HEAD = 0x114D9B74L;
+    public static final long ID_SEEK = 0x4DBBL;
+    public static final long ID_SEEK_ID = 0x53ABL;
+    public static final long ID_SEEK_POSITION = 0x53ACL;
+
+    public static final long ID_INFO = 0x1549A966L;
+    public static final long ID_TIMECODE_SCALE = 0x2AD7B1L;
+    public static final long ID_DURATION = 0x4489L;
+    public static final long ID_MUXING_APP = 0x4D80L;
+    public static final long ID_WRITING_APP = 0x5741L;
+
+    public static final long ID_TRACKS = 0x1654AE6BL;
+    public static final long ID_TRACK_ENTRY = 0xAEL;
+    public static final long ID_TRACK_NUMBER = 0xD7L;
+    public static final long ID_CODEC_ID = 0x86L;
+    public static final long ID_DEFAULT_DURATION = 0x23E383L;
+
+    public static final long ID_CLUSTER = 0x1F43B675L;
+    public static final long ID_CLUSTER_TIMECODE = 0xE7L;
+    public static final long ID_CLUSTER_POSITION = 0xA7L;
+    public static final long ID_CLUSTER_PREV_SIZE = 0xABL;
+    public static final long ID_SIMPLE_BLOCK = 0xA3L;
+    public static final long ID_BLOCK_GROUP = 0xA0L;
+    public static final long ID_BLOCK = 0xA1L;
+    public static final long ID_BLOCK_DURATION = 0x9BL;
+
+    public static final long ID_CUES = 0x1C53BB6BL;
+    public static final long ID_CUE_POINT = 0xBBL;
+    public static final long ID_CUE_TIME = 0xB3L;
+    public static final long ID_CUE_TRACK_POSITIONS = 0xB7L;
+    public static final long ID_CUE_TRACK = 0xF7L;
+    public static final long ID_CUE_CLUSTER_POSITION = 0xF1L;
+
+    public static final long ID_CHAPTERS = 0x1043A770L;
+    public static final long ID_TAGS = 0x1254C367L;
+    public static final long ID_ATTACHMENTS = 0x1941A469L;
+    public static final long ID_VOID = 0xECL;
+
+    private Ebml() {
+    }
+
+    /**
+     * Segment 바로 아래(level 1) element인지 판단한다.
+     * unknown-size Cluster는 다음 level 1 element가 나올 때 끝난 것으로 본다.
+     */
+    public static boolean isTopLevelId(long id) {
+        return id == ID_CLUSTER
+               || id == ID_CUES
+               || id == ID_INFO
+               || id == ID_TRACKS
+               || id == ID_SEEK_HEAD
+               || id == ID_CHAPTERS
+               || id == ID_TAGS
+               || id == ID_ATTACHMENTS
+               || id == ID_SEGMENT
+               || id == ID_EBML;
+    }
+
+    /**
+     * Opus 패킷 TOC 바이트(RFC 6716 3.1)로 패킷 재생 길이(ns)를 계산한다.
+     *
+     * @param toc           패킷 첫 바이트
+     * @param frameCountByte code 3 패킷일 때 두 번째 바이트 (그 외에는 무시)
+     */
+    public static long opusPacketDurationNs(int toc, int frameCountByte) {
+        int config = (toc >> 3) & 0x1F;
+        long frameUs;
+        if (config < 12) {
+            // SILK-only: 10/20/40/60ms
+            frameUs = switch (config & 0x3) {
+                case 0 -> 10_000L;
+                case 1 -> 20_000L;
+                case 2 -> 40_000L;
+                default -> 60_000L;
+            };
+        } else if (config < 16) {
+            // Hybrid: 10/20ms
+            frameUs = (config & 0x1) == 0 ? 10_000L : 20_000L;
+        } else {
+            // CELT-only: 2.5/5/10/20ms
+            frameUs = switch (config & 0x3) {
+                case 0 -> 2_500L;
+                case 1 -> 5_000L;
+                case 2 -> 10_000L;
+                default -> 20_000L;
+            };
+        }
+
+        int frames = switch (toc & 0x3) {
+            case 0 -> 1;
+            case 1, 2 -> 2;
+            default -> Math.max(0, frameCountByte) & 0x3F;
+        };
+        return frameUs * frames * 1_000L;
+    }
+}
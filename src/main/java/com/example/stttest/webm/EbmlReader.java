@@ -0,0 +1,180 @@
+package com.example.stttest.webm;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * EBML 순차 리더.
+ *
+ * - ByteBuffer(메모리 매핑 파일) 입력은 복사 없이 버퍼 위치만 이동한다.
+ * - InputStream 입력은 고정 크기 버퍼로 읽고, skip은 데이터를 힙에 올리지 않는다.
+ */
+public class EbmlReader {
+
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+
+    private final ByteBuffer buffer;
+    private final InputStream in;
+    private long position;
+
+    private EbmlReader(ByteBuffer buffer, InputStream in) {
+        this.buffer = buffer;
+        this.in = in;
+    }
+
+    public static EbmlReader of(ByteBuffer buffer) {
+        return new EbmlReader(buffer.slice(), null);
+    }
+
+    public static EbmlReader of(InputStream in) {
+        InputStream buffered = (in instanceof BufferedInputStream) ? in : new BufferedInputStream(in, STREAM_BUFFER_BYTES);
+        return new EbmlReader(null, buffered);
+    }
+
+    /** 입력 시작점 기준 현재 위치(byte) */
+    public long position() {
+        return position;
+    }
+
+    /** 1 byte를 읽는다. 입력 끝이면 -1. */
+    public int read() throws IOException {
+        int b;
+        if (buffer != null) {
+            b = buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        } else {
+            b = in.read();
+        }
+        if (b >= 0) {
+            position++;
+        }
+        return b;
+    }
+
+    /**
+     * element ID를 marker bit 포함 원본 값으로 읽는다. element 경계에서 입력이 끝나면 -1.
+     */
+    public long readId() throws IOException {
+        int first = read();
+        if (first < 0) {
+            return -1L;
+        }
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (first == 0 || length > 4) {
+            throw new IllegalStateException("invalid EBML id at position " + (position - 1));
+        }
+        long id = first;
+        for (int i = 1; i < length; i++) {
+            id = (id << 8) | readRequired();
+        }
+        return id;
+    }
+
+    /**
+     * element 데이터 크기를 읽는다. 모든 값 비트가 1이면 {@link Ebml#UNKNOWN_SIZE}.
+     */
+    public long readSize() throws IOException {
+        int first = readRequired();
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (first == 0 || length > 8) {
+            throw new IllegalStateException("invalid EBML size at position " + (position - 1));
+        }
+        long value = first & (0xFF >> length);
+        for (int i = 1; i < length; i++) {
+            value = (value << 8) | readRequired();
+        }
+        return value == (1L << (7 * length)) - 1 ? Ebml.UNKNOWN_SIZE : value;
+    }
+
+    /**
+     * marker bit를 제거한 vint 값을 읽는다. (Block의 track number 등)
+     */
+    public long readVint() throws IOException {
+        int first = readRequired();
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (first == 0 || length > 8) {
+            throw new IllegalStateException("invalid EBML vint at position " + (position - 1));
+        }
+        long value = first & (0xFF >> length);
+        for (int i = 1; i < length; i++) {
+            value = (value << 8) | readRequired();
+        }
+        return value;
+    }
+
+    public long readUnsigned(long length) throws IOException {
+        if (length > 8) {
+            throw new IllegalStateException("unsigned int too long: " + length);
+        }
+        long value = 0L;
+        for (long i = 0; i < length; i++) {
+            value = (value << 8) | readRequired();
+        }
+        return value;
+    }
+
+    public double readFloat(long length) throws IOException {
+        if (length == 4) {
+            return Float.intBitsToFloat((int) readUnsigned(4));
+        }
+        if (length == 8) {
+            return Double.longBitsToDouble(readUnsigned(8));
+        }
+        if (length == 0) {
+            return 0d;
+        }
+        throw new IllegalStateException("invalid EBML float length: " + length);
+    }
+
+    public String readString(long length) throws IOException {
+        byte[] bytes = new byte[(int) length];
+        readFully(bytes, 0, bytes.length);
+        // EBML string은 뒤쪽 0x00 padding을 허용한다.
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] == 0) {
+            end--;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+
+    public void readFully(byte[] target, int offset, int length) throws IOException {
+        if (buffer != null) {
+            if (buffer.remaining() < length) {
+                throw new EOFException("unexpected end of webm data at position " + position);
+            }
+            buffer.get(target, offset, length);
+        } else {
+            int read = in.readNBytes(target, offset, length);
+            if (read < length) {
+                throw new EOFException("unexpected end of webm data at position " + (position + read));
+            }
+        }
+        position += length;
+    }
+
+    public void skip(long length) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+        if (buffer != null) {
+            if (buffer.remaining() < length) {
+                throw new EOFException("unexpected end of webm data at position " + position);
+            }
+            buffer.position(buffer.position() + (int) length);
+        } else {
+            in.skipNBytes(length);
+        }
+        position += length;
+    }
+
+    private int readRequired() throws IOException {
+        int b = read();
+        if (b < 0) {
+            throw new EOFException("unexpected end of webm data at position " + position);
+        }
+        return b;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.stttest.webm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * FileChannel 기반 EBML 순차 writer.
+ *
+ * 고정 크기 버퍼로 모아 쓰고, 이미 기록한 위치의 값(크기 필드 등)은 {@link #patch}로 덮어쓴다.
+ */
+public class EbmlWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    /** 나중에 patch할 크기 필드는 항상 8byte vint로 기록한다. */
+    public static final int PATCHABLE_SIZE_BYTES = 8;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private long position;
+
+    public EbmlWriter(FileChannel channel, long startPosition) {
+        this.channel = channel;
+        this.position = startPosition;
+    }
+
+    /** 파일 시작 기준 현재 쓰기 위치 */
+    public long position() {
+        return position;
+    }
+
+    public void writeId(long id) throws IOException {
+        int length = (64 - Long.numberOfLeadingZeros(id) + 7) / 8;
+        for (int i = length - 1; i >= 0; i--) {
+            writeByte((int) (id >> (8 * i)));
+        }
+    }
+
+    /** 최소 길이 vint로 크기를 기록한다. */
+    public void writeSize(long size) throws IOException {
+        int length = 1;
+        while (length < 8 && size >= (1L << (7 * length)) - 1) {
+            length++;
+        }
+        writeSize(size, length);
+    }
+
+    /**
+     * 이후 patch할 8byte 크기 필드를 기록하고 그 위치를 반환한다.
+     */
+    public long writePatchableSize() throws IOException {
+        long at = position;
+        writeSize(0L, PATCHABLE_SIZE_BYTES);
+        return at;
+    }
+
+    public void writeUnsigned(long id, long value) throws IOException {
+        int length = Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 7) / 8);
+        writeId(id);
+        writeSize(length);
+        for (int i = length - 1; i >= 0; i--) {
+            writeByte((int) (value >> (8 * i)));
+        }
+    }
+
+    /**
+     * 8byte 고정 길이 uint element를 기록하고 값의 위치를 반환한다.
+     */
+    public long writePatchableUnsigned(long id, long value) throws IOException {
+        writeId(id);
+        writeSize(8);
+        long at = position;
+        writeRaw(encodeUnsigned(value));
+        return at;
+    }
+
+    /**
+     * 8byte float element를 기록하고 값의 위치를 반환한다.
+     */
+    public long writeFloat(long id, double value) throws IOException {
+        writeId(id);
+        writeSize(8);
+        long at = position;
+        writeRaw(encodeUnsigned(Double.doubleToLongBits(value)));
+        return at;
+    }
+
+    public void writeString(long id, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeId(id);
+        writeSize(bytes.length);
+        writeRaw(bytes);
+    }
+
+    public void writeRaw(byte[] bytes) throws IOException {
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    public void writeRaw(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, n);
+            offset += n;
+            length -= n;
+            position += n;
+        }
+    }
+
+    /**
+     * 이미 기록한 위치의 바이트를 덮어쓴다.
+     */
+    public void patch(long at, byte[] bytes) throws IOException {
+        flush();
+        ByteBuffer src = ByteBuffer.wrap(bytes);
+        while (src.hasRemaining()) {
+            channel.write(src, at + src.position());
+        }
+    }
+
+    /**
+     * {@link #writePatchableSize()} 위치에 실제 크기를 기록한다.
+     */
+    public void patchSize(long at, long size) throws IOException {
+        byte[] encoded = new byte[PATCHABLE_SIZE_BYTES];
+        encoded[0] = 0x01;
+        for (int i = 1; i < PATCHABLE_SIZE_BYTES; i++) {
+            encoded[i] = (byte) (size >> (8 * (PATCHABLE_SIZE_BYTES - 1 - i)));
+        }
+        patch(at, encoded);
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position - buffer.remaining());
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    public static byte[] encodeUnsigned(long value) {
+        byte[] out = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            out[i] = (byte) (value >> (8 * (7 - i)));
+        }
+        return out;
+    }
+
+    private void writeSize(long size, int length) throws IOException {
+        long marked = size | (1L << (7 * length));
+        for (int i = length - 1; i >= 0; i--) {
+            writeByte((int) (marked >> (8 * i)));
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) b);
+        position++;
+    }
+}
@@ -0,0 +1,618 @@
+package com.example.stttest.webm;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 여러 WebM 청크를 코덱 처리 없이 하나의 WebM으로 이어 붙인다(remux).
+ *
+ * - 첫 청크의 TimecodeScale/Tracks를 출력 헤더로 사용한다.
+ *   이후 청크는 Block을 그대로 복사하므로 TrackNumber/CodecID 구성이 첫 청크와 같아야 한다(다르면 IllegalStateException).
+ * - 각 청크의 Cluster timecode를 "이전 청크 durationMs 누적값"만큼 이동시킨다.
+ *   (SttService 자막 글로벌 타임라인과 같은 기준)
+ * - Block payload는 고정 크기 버퍼로 입력 스트림에서 출력 파일로 바로 복사하므로
+ *   메모리 사용량은 청크/회의 길이와 무관하고 처리 시간은 바이트 수에 비례한다.
+ * - 마지막에 Cues/Duration/SeekHead/Segment 크기를 기록해 탐색 가능한 파일로 만든다.
+ *
+ * 출력 레이아웃: EBML header | Segment { SeekHead | Info | Tracks | Cluster... | Cues }
+ *
+ * 이 클래스가 만든 파일은 {@link #resume(Path)}로 다시 열어 Cues 앞부분부터 청크를 이어 붙일 수 있다.
+ */
+public class WebmConcatWriter implements Closeable {
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final String APP_NAME = "stt-test-webm-concat";
+
+    private final FileChannel channel;
+    private final EbmlWriter writer;
+    private final byte[] copyBuffer = new byte[COPY_BUFFER_BYTES];
+
+    /** 출력 헤더 기록 여부(첫 Cluster를 만나기 전 Info/Tracks를 확보해야 한다). */
+    private boolean headerWritten;
+    private long timecodeScaleNs = Ebml.DEFAULT_TIMECODE_SCALE_NS;
+    private long cueTrackNumber = 1L;
+    /** 출력 헤더(첫 청크)의 트랙 구성 */
+    private List<TrackSignature> tracks = List.of();
+
+    private long segmentSizeAt;
+    private long segmentDataStart;
+    private long seekCuesPositionAt;
+    private long durationValueAt;
+
+    /** 다음 청크가 시작되는 글로벌 시각(ns) */
+    private long nextChunkOffsetNs;
+    private int chunkCount;
+    private final List<CuePoint> cuePoints = new ArrayList<>();
+
+    /**
+     * 청크 간 비교용 트랙 구성(TrackNumber + CodecID).
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    private static class TrackSignature {
+        private final long number;
+        private final String codecId;
+    }
+
+    @AllArgsConstructor
+    private static class CuePoint {
+        private final long timecode;
+        private final long clusterPosition;
+    }
+
+    private WebmConcatWriter(FileChannel channel) {
+        this.channel = channel;
+        this.writer = new EbmlWriter(channel, 0L);
+    }
+
+    private WebmConcatWriter(FileChannel channel, ResumeLayout layout) {
+        this.channel = channel;
+        this.writer = new EbmlWriter(channel, layout.cuesStart);
+        this.headerWritten = true;
+        this.timecodeScaleNs = layout.timecodeScaleNs;
+        this.cueTrackNumber = layout.cueTrackNumber;
+        this.tracks = layout.tracks;
+        this.segmentSizeAt = layout.segmentSizeAt;
+        this.segmentDataStart = layout.segmentDataStart;
+        this.seekCuesPositionAt = layout.seekCuesPositionAt;
+        this.durationValueAt = layout.durationValueAt;
+        this.nextChunkOffsetNs = layout.durationNs;
+        this.cuePoints.addAll(layout.cuePoints);
+    }
+
+    public static WebmConcatWriter create(Path output) throws IOException {
+        FileChannel channel = FileChannel.open(
+            output,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+        return new WebmConcatWriter(channel);
+    }
+
+    /**
+     * 이 클래스로 만든 병합 파일을 다시 열어 뒤에 청크를 이어 붙일 수 있는 상태로 만든다.
+     *
+     * 기존 Cues는 메모리로 읽어 온 뒤 잘라내고, 새 Cluster는 그 자리부터 기록한다.
+     * 레이아웃이 다르면(외부 도구로 만든 파일 등) IllegalStateException을 던진다.
+     */
+    public static WebmConcatWriter resume(Path output) throws IOException {
+        FileChannel channel = FileChannel.open(output, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            WebmConcatWriter resumed = new WebmConcatWriter(channel, readLayout(channel));
+            channel.truncate(resumed.writer.position());
+            return resumed;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /** 지금까지 이어 붙인 청크 길이 합(ms) */
+    public long getTotalDurationMs() {
+        return Math.round(nextChunkOffsetNs / 1_000_000d);
+    }
+
+    /**
+     * 청크 하나를 출력 끝에 이어 붙인다.
+     *
+     * @param chunk           청크 WebM 입력 스트림(호출자가 닫는다)
+     * @param chunkDurationMs 서버가 측정한 청크 길이. 다음 청크 오프셋 계산에 사용한다.
+     */
+    public void appendChunk(InputStream chunk, long chunkDurationMs) throws IOException {
+        EbmlReader reader = EbmlReader.of(chunk);
+
+        long headerId = reader.readId();
+        if (headerId != Ebml.ID_EBML) {
+            throw new IllegalStateException("chunk is not an EBML document. chunkIndex=" + chunkCount);
+        }
+        reader.skip(requireKnownSize(reader.readSize(), headerId));
+
+        if (reader.readId() != Ebml.ID_SEGMENT) {
+            throw new IllegalStateException("webm segment not found. chunkIndex=" + chunkCount);
+        }
+        long segmentSize = reader.readSize();
+        long segmentEnd = segmentSize == Ebml.UNKNOWN_SIZE ? Long.MAX_VALUE : reader.position() + segmentSize;
+
+        long chunkTimecodeScale = Ebml.DEFAULT_TIMECODE_SCALE_NS;
+        byte[] tracksElement = null;
+        // 청크 첫 Cluster timecode를 0으로 맞춘 뒤 오프셋을 더한다(ffmpeg concat과 같은 기준).
+        long chunkStartTimecode = -1L;
+        long pendingId = 0L;
+
+        while (reader.position() < segmentEnd) {
+            long id = pendingId != 0L ? pendingId : reader.readId();
+            pendingId = 0L;
+            if (id < 0) {
+                break;
+            }
+            long size = reader.readSize();
+
+            if (id == Ebml.ID_INFO) {
+                chunkTimecodeScale = readTimecodeScale(reader, requireKnownSize(size, id));
+            } else if (id == Ebml.ID_TRACKS) {
+                tracksElement = readRawElement(reader, id, requireKnownSize(size, id));
+            } else if (id == Ebml.ID_CLUSTER) {
+                if (!headerWritten) {
+                    writeHeader(chunkTimecodeScale, tracksElement);
+                } else {
+                    requireSameLayout(chunkTimecodeScale, tracksElement);
+                }
+
+                ClusterResult result = copyCluster(reader, size, chunkStartTimecode);
+                chunkStartTimecode = result.chunkStartTimecode;
+                if (result.nextId < 0) {
+                    break;
+                }
+                pendingId = result.nextId;
+            } else {
+                // SeekHead/Cues/Tags 등은 출력에서 새로 만들거나 사용하지 않는다.
+                reader.skip(requireKnownSize(size, id));
+            }
+        }
+
+        if (!headerWritten) {
+            throw new IllegalStateException("chunk has no clusters. chunkIndex=" + chunkCount);
+        }
+
+        nextChunkOffsetNs += chunkDurationMs * 1_000_000L;
+        chunkCount++;
+    }
+
+    /**
+     * Cues를 기록하고 Duration/SeekHead/Segment 크기를 확정한다.
+     */
+    public void finish() throws IOException {
+        if (!headerWritten) {
+            throw new IllegalStateException("no chunks appended");
+        }
+
+        long cuesPosition = writer.position() - segmentDataStart;
+        writeCues();
+        writer.flush();
+
+        writer.patch(durationValueAt, EbmlWriter.encodeUnsigned(
+            Double.doubleToLongBits((double) nextChunkOffsetNs / timecodeScaleNs)
+        ));
+        writer.patch(seekCuesPositionAt, EbmlWriter.encodeUnsigned(cuesPosition));
+        writer.patchSize(segmentSizeAt, writer.position() - segmentDataStart);
+        channel.truncate(writer.position());
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.close();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * 이후 청크의 TimecodeScale/트랙 구성이 출력 헤더와 같은지 확인한다.
+     * (Block 상대 timecode와 TrackNumber를 다시 쓰지 않고 복사하므로, 다르면 재생할 수 없는 파일이 된다)
+     */
+    private void requireSameLayout(long chunkTimecodeScale, byte[] tracksElement) throws IOException {
+        if (chunkTimecodeScale != timecodeScaleNs) {
+            throw new IllegalStateException(
+                "timecode scale mismatch. expected=%d, actual=%d, chunkIndex=%d"
+                    .formatted(timecodeScaleNs, chunkTimecodeScale, chunkCount)
+            );
+        }
+        List<TrackSignature> chunkTracks = tracksElement == null ? List.of() : readTracks(tracksElement);
+        if (!chunkTracks.equals(tracks)) {
+            throw new IllegalStateException(
+                "track layout mismatch. expected=%s, actual=%s, chunkIndex=%d".formatted(tracks, chunkTracks, chunkCount)
+            );
+        }
+    }
+
+    private void writeHeader(long chunkTimecodeScale, byte[] tracksElement) throws IOException {
+        if (tracksElement == null) {
+            throw new IllegalStateException("first chunk has no Tracks element");
+        }
+        timecodeScaleNs = chunkTimecodeScale;
+        tracks = readTracks(tracksElement);
+        cueTrackNumber = firstTrackNumber(tracks);
+
+        // EBML header
+        writer.writeId(Ebml.ID_EBML);
+        long ebmlSizeAt = writer.writePatchableSize();
+        long ebmlStart = writer.position();
+        writer.writeUnsigned(0x4286L, 1L);   // EBMLVersion
+        writer.writeUnsigned(0x42F7L, 1L);   // EBMLReadVersion
+        writer.writeUnsigned(0x42F2L, 4L);   // EBMLMaxIDLength
+        writer.writeUnsigned(0x42F3L, 8L);   // EBMLMaxSizeLength
+        writer.writeString(Ebml.ID_DOC_TYPE, "webm");
+        writer.writeUnsigned(0x4287L, 4L);   // DocTypeVersion
+        writer.writeUnsigned(0x4285L, 2L);   // DocTypeReadVersion
+        writer.patchSize(ebmlSizeAt, writer.position() - ebmlStart);
+
+        // Segment (크기는 finish에서 확정)
+        writer.writeId(Ebml.ID_SEGMENT);
+        segmentSizeAt = writer.writePatchableSize();
+        segmentDataStart = writer.position();
+
+        // SeekHead: Info/Tracks 위치는 고정 레이아웃으로 바로 계산하고, Cues 위치는 finish에서 기록한다.
+        writer.writeId(Ebml.ID_SEEK_HEAD);
+        long seekHeadSizeAt = writer.writePatchableSize();
+        long seekHeadStart = writer.position();
+        long seekInfoAt = writeSeek(Ebml.ID_INFO);
+        long seekTracksAt = writeSeek(Ebml.ID_TRACKS);
+        seekCuesPositionAt = writeSeek(Ebml.ID_CUES);
+        writer.patchSize(seekHeadSizeAt, writer.position() - seekHeadStart);
+
+        // Info
+        writer.patch(seekInfoAt, EbmlWriter.encodeUnsigned(writer.position() - segmentDataStart));
+        writer.writeId(Ebml.ID_INFO);
+        long infoSizeAt = writer.writePatchableSize();
+        long infoStart = writer.position();
+        writer.writeUnsigned(Ebml.ID_TIMECODE_SCALE, timecodeScaleNs);
+        writer.writeString(Ebml.ID_MUXING_APP, APP_NAME);
+        writer.writeString(Ebml.ID_WRITING_APP, APP_NAME);
+        durationValueAt = writer.writeFloat(Ebml.ID_DURATION, 0d);
+        writer.patchSize(infoSizeAt, writer.position() - infoStart);
+
+        // Tracks는 첫 청크 원본을 그대로 사용한다.
+        writer.patch(seekTracksAt, EbmlWriter.encodeUnsigned(writer.position() - segmentDataStart));
+        writer.writeRaw(tracksElement);
+
+        headerWritten = true;
+    }
+
+    /**
+     * Seek entry를 기록하고 SeekPosition 값 위치를 반환한다.
+     */
+    private long writeSeek(long targetId) throws IOException {
+        writer.writeId(Ebml.ID_SEEK);
+        long seekSizeAt = writer.writePatchableSize();
+        long seekStart = writer.position();
+        writer.writeId(Ebml.ID_SEEK_ID);
+        writer.writeSize(idLength(targetId));
+        writer.writeId(targetId);
+        long positionAt = writer.writePatchableUnsigned(Ebml.ID_SEEK_POSITION, 0L);
+        writer.patchSize(seekSizeAt, writer.position() - seekStart);
+        return positionAt;
+    }
+
+    private ClusterResult copyCluster(EbmlReader reader, long size, long chunkStartTimecode) throws IOException {
+        boolean unknownSize = size == Ebml.UNKNOWN_SIZE;
+        long end = unknownSize ? Long.MAX_VALUE : reader.position() + size;
+        long offsetTimecode = nextChunkOffsetNs / timecodeScaleNs;
+
+        long clusterPosition = writer.position() - segmentDataStart;
+        writer.writeId(Ebml.ID_CLUSTER);
+        long clusterSizeAt = writer.writePatchableSize();
+        long clusterStart = writer.position();
+
+        long nextId = 0L;
+        while (reader.position() < end) {
+            long id = reader.readId();
+            if (id < 0) {
+                nextId = -1L;
+                break;
+            }
+            if (unknownSize && Ebml.isTopLevelId(id)) {
+                nextId = id;
+                break;
+            }
+            long childSize = requireKnownSize(reader.readSize(), id);
+
+            if (id == Ebml.ID_CLUSTER_TIMECODE) {
+                long timecode = reader.readUnsigned(childSize);
+                if (chunkStartTimecode < 0) {
+                    chunkStartTimecode = timecode;
+                }
+                long outTimecode = timecode - chunkStartTimecode + offsetTimecode;
+                writer.writeUnsigned(Ebml.ID_CLUSTER_TIMECODE, outTimecode);
+                cuePoints.add(new CuePoint(outTimecode, clusterPosition));
+            } else if (id == Ebml.ID_CLUSTER_POSITION || id == Ebml.ID_CLUSTER_PREV_SIZE) {
+                // 출력 파일에서 위치가 달라지므로 버린다.
+                reader.skip(childSize);
+            } else {
+                writer.writeId(id);
+                writer.writeSize(childSize);
+                copyBytes(reader, childSize);
+            }
+        }
+
+        writer.patchSize(clusterSizeAt, writer.position() - clusterStart);
+        return new ClusterResult(nextId, chunkStartTimecode);
+    }
+
+    private void writeCues() throws IOException {
+        writer.writeId(Ebml.ID_CUES);
+        long cuesSizeAt = writer.writePatchableSize();
+        long cuesStart = writer.position();
+
+        for (CuePoint cuePoint : cuePoints) {
+            writer.writeId(Ebml.ID_CUE_POINT);
+            long pointSizeAt = writer.writePatchableSize();
+            long pointStart = writer.position();
+            writer.writeUnsigned(Ebml.ID_CUE_TIME, cuePoint.timecode);
+
+            writer.writeId(Ebml.ID_CUE_TRACK_POSITIONS);
+            long positionsSizeAt = writer.writePatchableSize();
+            long positionsStart = writer.position();
+            writer.writeUnsigned(Ebml.ID_CUE_TRACK, cueTrackNumber);
+            writer.writeUnsigned(Ebml.ID_CUE_CLUSTER_POSITION, cuePoint.clusterPosition);
+            writer.patchSize(positionsSizeAt, writer.position() - positionsStart);
+
+            writer.patchSize(pointSizeAt, writer.position() - pointStart);
+        }
+
+        writer.patchSize(cuesSizeAt, writer.position() - cuesStart);
+    }
+
+    private void copyBytes(EbmlReader reader, long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            int n = (int) Math.min(remaining, copyBuffer.length);
+            reader.readFully(copyBuffer, 0, n);
+            writer.writeRaw(copyBuffer, 0, n);
+            remaining -= n;
+        }
+    }
+
+    private long readTimecodeScale(EbmlReader reader, long size) throws IOException {
+        long end = reader.position() + size;
+        long scale = Ebml.DEFAULT_TIMECODE_SCALE_NS;
+        while (reader.position() < end) {
+            long id = reader.readId();
+            long childSize = requireKnownSize(reader.readSize(), id);
+            if (id == Ebml.ID_TIMECODE_SCALE) {
+                scale = reader.readUnsigned(childSize);
+            } else {
+                reader.skip(childSize);
+            }
+        }
+        return scale;
+    }
+
+    private byte[] readRawElement(EbmlReader reader, long id, long size) throws IOException {
+        // Tracks는 수백 byte 수준이라 원본 그대로 메모리에 보관한다.
+        int idBytes = idLength(id);
+        byte[] raw = new byte[idBytes + EbmlWriter.PATCHABLE_SIZE_BYTES + (int) size];
+        for (int i = 0; i < idBytes; i++) {
+            raw[i] = (byte) (id >> (8 * (idBytes - 1 - i)));
+        }
+        raw[idBytes] = 0x01;
+        for (int i = 1; i < EbmlWriter.PATCHABLE_SIZE_BYTES; i++) {
+            raw[idBytes + i] = (byte) (size >> (8 * (EbmlWriter.PATCHABLE_SIZE_BYTES - 1 - i)));
+        }
+        reader.readFully(raw, idBytes + EbmlWriter.PATCHABLE_SIZE_BYTES, (int) size);
+        return raw;
+    }
+
+    private static List<TrackSignature> readTracks(byte[] tracksElement) throws IOException {
+        EbmlReader reader = EbmlReader.of(ByteBuffer.wrap(tracksElement));
+        reader.readId();
+        long end = reader.readSize() + reader.position();
+        List<TrackSignature> out = new ArrayList<>();
+        while (reader.position() < end) {
+            long id = reader.readId();
+            long size = requireKnownSize(reader.readSize(), id);
+            if (id != Ebml.ID_TRACK_ENTRY) {
+                reader.skip(size);
+                continue;
+            }
+            long entryEnd = reader.position() + size;
+            long number = 0L;
+            String codecId = "";
+            while (reader.position() < entryEnd) {
+                long entryId = reader.readId();
+                long entrySize = requireKnownSize(reader.readSize(), entryId);
+                if (entryId == Ebml.ID_TRACK_NUMBER) {
+                    number = reader.readUnsigned(entrySize);
+                } else if (entryId == Ebml.ID_CODEC_ID) {
+                    codecId = reader.readString(entrySize);
+                } else {
+                    reader.skip(entrySize);
+                }
+            }
+            out.add(new TrackSignature(number, codecId));
+        }
+        return out;
+    }
+
+    private static long firstTrackNumber(List<TrackSignature> tracks) {
+        return tracks.isEmpty() || tracks.get(0).number == 0L ? 1L : tracks.get(0).number;
+    }
+
+    private static ResumeLayout readLayout(FileChannel channel) throws IOException {
+        EbmlReader reader = EbmlReader.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        ResumeLayout layout = new ResumeLayout();
+
+        long headerId = reader.readId();
+        if (headerId != Ebml.ID_EBML) {
+            throw new IllegalStateException("not an EBML document");
+        }
+        reader.skip(requireKnownSize(reader.readSize(), headerId));
+
+        if (reader.readId() != Ebml.ID_SEGMENT) {
+            throw new IllegalStateException("webm segment not found");
+        }
+        layout.segmentSizeAt = reader.position();
+        long segmentSize = requireKnownSize(reader.readSize(), Ebml.ID_SEGMENT);
+        layout.segmentDataStart = reader.position();
+        requirePatchable(layout.segmentDataStart - layout.segmentSizeAt == EbmlWriter.PATCHABLE_SIZE_BYTES);
+        long segmentEnd = layout.segmentDataStart + segmentSize;
+
+        while (reader.position() < segmentEnd) {
+            long id = reader.readId();
+            long elementStart = reader.position();
+            long size = requireKnownSize(reader.readSize(), id);
+            long end = reader.position() + size;
+
+            if (id == Ebml.ID_SEEK_HEAD) {
+                readSeekHead(reader, end, layout);
+            } else if (id == Ebml.ID_INFO) {
+                while (reader.position() < end) {
+                    long childId = reader.readId();
+                    long childSize = requireKnownSize(reader.readSize(), childId);
+                    if (childId == Ebml.ID_TIMECODE_SCALE) {
+                        layout.timecodeScaleNs = reader.readUnsigned(childSize);
+                    } else if (childId == Ebml.ID_DURATION) {
+                        requirePatchable(childSize == 8);
+                        layout.durationValueAt = reader.position();
+                        layout.durationTimecode = reader.readFloat(childSize);
+                    } else {
+                        reader.skip(childSize);
+                    }
+                }
+            } else if (id == Ebml.ID_TRACKS) {
+                long tracksStart = elementStart - idLength(id);
+                ByteBuffer tracks = ByteBuffer.allocate((int) (end - tracksStart));
+                while (tracks.hasRemaining()) {
+                    if (channel.read(tracks, tracksStart + tracks.position()) < 0) {
+                        break;
+                    }
+                }
+                layout.tracks = readTracks(tracks.array());
+                layout.cueTrackNumber = firstTrackNumber(layout.tracks);
+                reader.skip(size);
+            } else if (id == Ebml.ID_CUES) {
+                layout.cuesStart = elementStart - idLength(id);
+                readCues(reader, end, layout);
+            } else {
+                reader.skip(size);
+            }
+        }
+
+        requirePatchable(layout.durationValueAt > 0 && layout.seekCuesPositionAt > 0 && layout.cuesStart > 0);
+        layout.durationNs = Math.round(layout.durationTimecode * layout.timecodeScaleNs);
+        return layout;
+    }
+
+    private static void readSeekHead(EbmlReader reader, long end, ResumeLayout layout) throws IOException {
+        while (reader.position() < end) {
+            long seekId = reader.readId();
+            long seekEnd = requireKnownSize(reader.readSize(), seekId) + reader.position();
+            long targetId = 0L;
+            long positionAt = -1L;
+            while (reader.position() < seekEnd) {
+                long childId = reader.readId();
+                long childSize = requireKnownSize(reader.readSize(), childId);
+                if (childId == Ebml.ID_SEEK_ID) {
+                    targetId = reader.readUnsigned(childSize);
+                } else if (childId == Ebml.ID_SEEK_POSITION) {
+                    requirePatchable(childSize == 8);
+                    positionAt = reader.position();
+                    reader.skip(childSize);
+                } else {
+                    reader.skip(childSize);
+                }
+            }
+            if (targetId == Ebml.ID_CUES) {
+                layout.seekCuesPositionAt = positionAt;
+            }
+        }
+    }
+
+    private static void readCues(EbmlReader reader, long end, ResumeLayout layout) throws IOException {
+        while (reader.position() < end) {
+            long pointId = reader.readId();
+            long pointEnd = requireKnownSize(reader.readSize(), pointId) + reader.position();
+            long time = 0L;
+            long clusterPosition = -1L;
+            while (reader.position() < pointEnd) {
+                long childId = reader.readId();
+                long childSize = requireKnownSize(reader.readSize(), childId);
+                if (childId == Ebml.ID_CUE_TIME) {
+                    time = reader.readUnsigned(childSize);
+                } else if (childId == Ebml.ID_CUE_TRACK_POSITIONS) {
+                    long positionsEnd = reader.position() + childSize;
+                    while (reader.position() < positionsEnd) {
+                        long positionId = reader.readId();
+                        long positionSize = requireKnownSize(reader.readSize(), positionId);
+                        if (positionId == Ebml.ID_CUE_CLUSTER_POSITION) {
+                            clusterPosition = reader.readUnsigned(positionSize);
+                        } else {
+                            reader.skip(positionSize);
+                        }
+                    }
+                } else {
+                    reader.skip(childSize);
+                }
+            }
+            if (clusterPosition >= 0) {
+                layout.cuePoints.add(new CuePoint(time, clusterPosition));
+            }
+        }
+    }
+
+    private static int idLength(long id) {
+        return (64 - Long.numberOfLeadingZeros(id) + 7) / 8;
+    }
+
+    private static void requirePatchable(boolean condition) {
+        if (!condition) {
+            throw new IllegalStateException("webm file was not written by WebmConcatWriter");
+        }
+    }
+
+    private static long requireKnownSize(long size, long id) {
+        if (size == Ebml.UNKNOWN_SIZE) {
+            throw new IllegalStateException("unsupported unknown-size element. id=0x" + Long.toHexString(id));
+        }
+        return size;
+    }
+
+    private static class ResumeLayout {
+        private long timecodeScaleNs = Ebml.DEFAULT_TIMECODE_SCALE_NS;
+        private long cueTrackNumber = 1L;
+        private List<TrackSignature> tracks = List.of();
+        private long segmentSizeAt;
+        private long segmentDataStart;
+        private long seekCuesPositionAt;
+        private long durationValueAt;
+        private double durationTimecode;
+        private long durationNs;
+        private long cuesStart;
+        private final List<CuePoint> cuePoints = new ArrayList<>();
+    }
+
+    @AllArgsConstructor
+    private static class ClusterResult {
+        private final long nextId;
+        private final long chunkStartTimecode;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.stttest.webm;
+
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 외부 프로세스 없이 WebM(Matroska) 재생 길이를 계산한다.
+ *
+ * 1) Segment Info의 Duration이 있으면 그 값을 그대로 사용한다.
+ * 2) 없으면(MediaRecorder 출력 등) Cluster/SimpleBlock timecode를 끝까지 스캔해
+ *    (마지막 블록 끝 - 첫 블록 시작)을 길이로 사용한다.
+ *    마지막 블록 길이는 BlockDuration > Opus TOC > Track DefaultDuration 순으로 계산한다.
+ */
+public final class WebmDurationParser {
+
+    private static final String OPUS_CODEC_ID = "A_OPUS";
+
+    private WebmDurationParser() {
+    }
+
+    /**
+     * 파일을 메모리 매핑해 복사 없이 파싱한다.
+     */
+    public static long parseDurationMs(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= Integer.MAX_VALUE) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                return parse(EbmlReader.of(mapped));
+            }
+        }
+        // 2GB를 넘는 파일은 매핑 대신 스트림으로 읽는다.
+        try (InputStream in = Files.newInputStream(file)) {
+            return parseDurationMs(in);
+        }
+    }
+
+    public static long parseDurationMs(InputStream in) throws IOException {
+        return parse(EbmlReader.of(in));
+    }
+
+    private static long parse(EbmlReader reader) throws IOException {
+        long headerId = reader.readId();
+        if (headerId != Ebml.ID_EBML) {
+            throw new IllegalStateException("not an EBML document");
+        }
+        reader.skip(requireKnownSize(reader.readSize(), headerId));
+
+        long segmentId = reader.readId();
+        if (segmentId != Ebml.ID_SEGMENT) {
+            throw new IllegalStateException("webm segment not found");
+        }
+        long segmentSize = reader.readSize();
+        long segmentEnd = segmentSize == Ebml.UNKNOWN_SIZE ? Long.MAX_VALUE : reader.position() + segmentSize;
+
+        ParseState state = new ParseState();
+        long pendingId = 0L;
+
+        while (reader.position() < segmentEnd) {
+            long id = pendingId != 0L ? pendingId : reader.readId();
+            pendingId = 0L;
+            if (id < 0) {
+                break;
+            }
+            long size = reader.readSize();
+
+            if (id == Ebml.ID_INFO) {
+                parseInfo(reader, requireKnownSize(size, id), state);
+                if (!Double.isNaN(state.infoDuration)) {
+                    // Segment Info Duration이 있으면 블록 스캔 없이 바로 끝낸다.
+                    // 0 이하 값(잘못 기록된 헤더)은 무시하고 블록 스캔으로 계산한다.
+                    long infoDurationMs = Math.round(state.infoDuration * state.timecodeScaleNs / 1_000_000d);
+                    if (infoDurationMs > 0L) {
+                        return infoDurationMs;
+                    }
+                }
+            } else if (id == Ebml.ID_TRACKS) {
+                parseTracks(reader, requireKnownSize(size, id), state);
+            } else if (id == Ebml.ID_CLUSTER) {
+                long nextId = parseCluster(reader, size, state);
+                if (nextId < 0) {
+                    break;
+                }
+                pendingId = nextId;
+            } else {
+                reader.skip(requireKnownSize(size, id));
+            }
+        }
+
+        if (state.maxBlockEndNs == Long.MIN_VALUE) {
+            throw new IllegalStateException("webm duration not found (no Duration element and no blocks)");
+        }
+        long durationMs = Math.round((state.maxBlockEndNs - state.minBlockStartNs) / 1_000_000d);
+        if (durationMs <= 0L) {
+            throw new IllegalStateException("invalid webm duration: " + durationMs);
+        }
+        return durationMs;
+    }
+
+    private static void parseInfo(EbmlReader reader, long size, ParseState state) throws IOException {
+        long end = reader.position() + size;
+        while (reader.position() < end) {
+            long id = reader.readId();
+            long childSize = requireKnownSize(reader.readSize(), id);
+            if (id == Ebml.ID_TIMECODE_SCALE) {
+                state.timecodeScaleNs = reader.readUnsigned(childSize);
+            } else if (id == Ebml.ID_DURATION) {
+                state.infoDuration = reader.readFloat(childSize);
+            } else {
+                reader.skip(childSize);
+            }
+        }
+    }
+
+    private static void parseTracks(EbmlReader reader, long size, ParseState state) throws IOException {
+        long end = reader.position() + size;
+        while (reader.position() < end) {
+            long id = reader.readId();
+            long childSize = requireKnownSize(reader.readSize(), id);
+            if (id != Ebml.ID_TRACK_ENTRY) {
+                reader.skip(childSize);
+                continue;
+            }
+
+            long entryEnd = reader.position() + childSize;
+            long trackNumber = 0L;
+            TrackInfo track = new TrackInfo();
+            while (reader.position() < entryEnd) {
+                long entryId = reader.readId();
+                long entrySize = requireKnownSize(reader.readSize(), entryId);
+                if (entryId == Ebml.ID_TRACK_NUMBER) {
+                    trackNumber = reader.readUnsigned(entrySize);
+                } else if (entryId == Ebml.ID_CODEC_ID) {
+                    track.opus = OPUS_CODEC_ID.equals(reader.readString(entrySize));
+                } else if (entryId == Ebml.ID_DEFAULT_DURATION) {
+                    track.defaultDurationNs = reader.readUnsigned(entrySize);
+                } else {
+                    reader.skip(entrySize);
+                }
+            }
+            state.tracks.put(trackNumber, track);
+        }
+    }
+
+    /**
+     * Cluster를 스캔한다.
+     *
+     * @return unknown-size Cluster를 끝낸 다음 level 1 element ID, 정상 종료면 0, 입력 끝이면 -1
+     */
+    private static long parseCluster(EbmlReader reader, long size, ParseState state) throws IOException {
+        boolean unknownSize = size == Ebml.UNKNOWN_SIZE;
+        long end = unknownSize ? Long.MAX_VALUE : reader.position() + size;
+        long clusterTimecode = 0L;
+
+        while (reader.position() < end) {
+            long id = reader.readId();
+            if (id < 0) {
+                return -1L;
+            }
+            if (unknownSize && Ebml.isTopLevelId(id)) {
+                return id;
+            }
+            long childSize = requireKnownSize(reader.readSize(), id);
+
+            if (id == Ebml.ID_CLUSTER_TIMECODE) {
+                clusterTimecode = reader.readUnsigned(childSize);
+            } else if (id == Ebml.ID_SIMPLE_BLOCK) {
+                BlockInfo block = readBlock(reader, childSize, state);
+                state.recordBlock((clusterTimecode + block.relativeTimecode) * state.timecodeScaleNs, block.durationNs);
+            } else if (id == Ebml.ID_BLOCK_GROUP) {
+                parseBlockGroup(reader, childSize, clusterTimecode, state);
+            } else {
+                reader.skip(childSize);
+            }
+        }
+        return 0L;
+    }
+
+    private static void parseBlockGroup(EbmlReader reader, long size, long clusterTimecode, ParseState state) throws IOException {
+        long end = reader.position() + size;
+        BlockInfo block = null;
+        long blockDuration = -1L;
+
+        while (reader.position() < end) {
+            long id = reader.readId();
+            long childSize = requireKnownSize(reader.readSize(), id);
+            if (id == Ebml.ID_BLOCK) {
+                block = readBlock(reader, childSize, state);
+            } else if (id == Ebml.ID_BLOCK_DURATION) {
+                blockDuration = reader.readUnsigned(childSize);
+            } else {
+                reader.skip(childSize);
+            }
+        }
+
+        if (block != null) {
+            long durationNs = blockDuration >= 0 ? blockDuration * state.timecodeScaleNs : block.durationNs;
+            state.recordBlock((clusterTimecode + block.relativeTimecode) * state.timecodeScaleNs, durationNs);
+        }
+    }
+
+    /**
+     * (Simple)Block 헤더와 첫 프레임 앞부분만 읽고 나머지 payload는 건너뛴다.
+     */
+    private static BlockInfo readBlock(EbmlReader reader, long size, ParseState state) throws IOException {
+        long start = reader.position();
+        long end = start + size;
+
+        long trackNumber = reader.readVint();
+        int relativeTimecode = (short) reader.readUnsigned(2);
+        int flags = (int) reader.readUnsigned(1);
+
+        int lacing = (flags >> 1) & 0x3;
+        int frames = 1;
+        if (lacing != 0 && reader.position() < end) {
+            frames = (int) reader.readUnsigned(1) + 1;
+            skipLaceSizes(reader, lacing, frames);
+        }
+
+        TrackInfo track = state.tracks.get(trackNumber);
+        long durationNs = 0L;
+        if (track != null && track.opus && reader.position() < end) {
+            int toc = reader.read();
+            int frameCountByte = ((toc & 0x3) == 3 && reader.position() < end) ? reader.read() : 0;
+            durationNs = Ebml.opusPacketDurationNs(toc, frameCountByte) * frames;
+        } else if (track != null && track.defaultDurationNs > 0) {
+            durationNs = track.defaultDurationNs * frames;
+        }
+
+        reader.skip(end - reader.position());
+        return new BlockInfo(relativeTimecode, durationNs);
+    }
+
+    private static void skipLaceSizes(EbmlReader reader, int lacing, int frames) throws IOException {
+        if (lacing == 1) {
+            // Xiph lacing: 마지막 프레임을 제외한 크기가 255 단위 누적으로 기록된다.
+            for (int i = 0; i < frames - 1; i++) {
+                int b;
+                do {
+                    b = (int) reader.readUnsigned(1);
+                } while (b == 0xFF);
+            }
+        } else if (lacing == 3) {
+            // EBML lacing: 첫 크기(vint) + (frames - 2)개의 signed vint 차이값.
+            reader.readVint();
+            for (int i = 0; i < frames - 2; i++) {
+                reader.readVint();
+            }
+        }
+        // fixed-size lacing(2)은 별도 크기 정보가 없다.
+    }
+
+    private static long requireKnownSize(long size, long id) {
+        if (size == Ebml.UNKNOWN_SIZE) {
+            throw new IllegalStateException("unsupported unknown-size element. id=0x" + Long.toHexString(id));
+        }
+        return size;
+    }
+
+    private static class ParseState {
+        private long timecodeScaleNs = Ebml.DEFAULT_TIMECODE_SCALE_NS;
+        private double infoDuration = Double.NaN;
+        private long minBlockStartNs = Long.MAX_VALUE;
+        private long maxBlockEndNs = Long.MIN_VALUE;
+        private final Map<Long, TrackInfo> tracks = new HashMap<>();
+
+        private void recordBlock(long startNs, long durationNs) {
+            minBlockStartNs = Math.min(minBlockStartNs, startNs);
+            maxBlockEndNs = Math.max(maxBlockEndNs, startNs + durationNs);
+        }
+    }
+
+    private static class TrackInfo {
+        private boolean opus;
+        private long defaultDurationNs;
+    }
+
+    @AllArgsConstructor
+    private static class BlockInfo {
+        private final int relativeTimecode;
+        private final long durationNs;
+    }
+}
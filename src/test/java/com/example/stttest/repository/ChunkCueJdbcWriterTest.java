@@ -0,0 +1,87 @@
+package com.example.stttest.repository;
+
+import com.example.stttest.dto.stt.SttCueDto;
+import com.example.stttest.entitiy.AiMeetingSttChunkCue;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = "stt.poller.enabled=false")
+class ChunkCueJdbcWriterTest {
+
+    @Autowired
+    private ChunkCueJdbcWriter chunkCueJdbcWriter;
+
+    @Autowired
+    private AiMeetingSttChunkCueRepository chunkCueRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void replacesChunkCuesWithBatchInsertAndSharesIdSequenceWithJpa() {
+        long meetingId = 8_100_000L;
+        long chunkId = 8_100_001L;
+
+        saveChunkCues(meetingId, chunkId, cues(5_000));
+        assertThat(chunkCueRepository.findByChunkIdOrderByCueIndexAsc(chunkId)).hasSize(5_000);
+
+        // 재저장 시 기존 cue는 DELETE 1회로 지우고 새 cue만 남는다.
+        long startedAt = System.nanoTime();
+        saveChunkCues(meetingId, chunkId, cues(3_000));
+        long elapsedMs = Math.max(1L, (System.nanoTime() - startedAt) / 1_000_000L);
+        log.info("cue batch insert: rows=3000, elapsedMs={}, rowsPerSec={}", elapsedMs, 3_000L * 1000L / elapsedMs);
+
+        List<AiMeetingSttChunkCue> saved = chunkCueRepository.findByChunkIdOrderByCueIndexAsc(chunkId);
+        assertThat(saved).hasSize(3_000);
+        assertThat(saved.get(0).getCueIndex()).isEqualTo(1);
+        assertThat(saved.get(2_999).getCueIndex()).isEqualTo(3_000);
+        assertThat(saved.get(2_999).getStartMs()).isEqualTo(2_999L * 1_000L);
+
+        // JPA 저장(pooled-lo)과 섞여도 id가 겹치지 않는다.
+        List<AiMeetingSttChunkCue> jpaRows = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            jpaRows.add(AiMeetingSttChunkCue.builder()
+                                            .meetingId(meetingId)
+                                            .chunkId(chunkId + 1)
+                                            .chunkSeq(2)
+                                            .cueIndex(i + 1)
+                                            .startMs(0L)
+                                            .endMs(1L)
+                                            .text("jpa")
+                                            .build());
+        }
+        chunkCueRepository.saveAll(jpaRows);
+        saveChunkCues(meetingId, chunkId + 2, cues(75));
+
+        Set<Long> ids = new HashSet<>();
+        for (AiMeetingSttChunkCue cue : chunkCueRepository.findAll()) {
+            assertThat(ids.add(cue.getId())).isTrue();
+        }
+    }
+
+    private void saveChunkCues(long meetingId, long chunkId, List<SttCueDto> cues) {
+        transactionTemplate.executeWithoutResult(status -> {
+            chunkCueRepository.deleteAllByChunkIdInBulk(chunkId);
+            chunkCueJdbcWriter.insertCues(meetingId, chunkId, 1, cues);
+        });
+    }
+
+    private static List<SttCueDto> cues(int count) {
+        List<SttCueDto> cues = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cues.add(new SttCueDto(i * 1_000L, i * 1_000L + 900L, "cue " + i, "1"));
+        }
+        return cues;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.stttest.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChunkIngestPipelineTest {
+
+    private static final long MEETING_ID = 42L;
+
+    @TempDir
+    Path tempDir;
+
+    private final AudioSpoolService audioSpoolService = mock(AudioSpoolService.class);
+    private final AudioDurationProbeService probeService = mock(AudioDurationProbeService.class);
+    private final GoogleSttService googleSttService = mock(GoogleSttService.class);
+    private final ChunkUploadStateService uploadStateService = mock(ChunkUploadStateService.class);
+
+    private ChunkIngestPipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pipeline = new ChunkIngestPipeline(audioSpoolService, probeService, googleSttService, uploadStateService);
+        ReflectionTestUtils.setField(pipeline, "probeConcurrency", 1);
+        ReflectionTestUtils.setField(pipeline, "probeQueueSize", 1);
+        ReflectionTestUtils.setField(pipeline, "uploadConcurrency", 1);
+        ReflectionTestUtils.setField(pipeline, "uploadQueueSize", 1);
+        ReflectionTestUtils.setField(pipeline, "startJobConcurrency", 1);
+        ReflectionTestUtils.setField(pipeline, "startJobQueueSize", 1);
+        ReflectionTestUtils.setField(pipeline, "retryAfter", Duration.ofSeconds(7));
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 2);
+        ReflectionTestUtils.setField(pipeline, "retryBackoff", Duration.ofMillis(10));
+        pipeline.init();
+
+        when(uploadStateService.createPending(eq(MEETING_ID), anyInt(), eq(1), anyString()))
+            .thenAnswer(invocation -> List.of((long) (int) invocation.getArgument(1)));
+        when(audioSpoolService.spoolDurable(any(), eq(MEETING_ID), anyInt()))
+            .thenAnswer(invocation -> Files.createTempFile(tempDir, "chunk-", ".webm"));
+        when(googleSttService.uploadToGcs(any(Path.class), anyString())).thenReturn("gs://bucket/chunk.webm");
+        when(googleSttService.startSttJob(anyString(), anyString(), anyString(), eq(MEETING_ID))).thenReturn("job-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.destroy();
+    }
+
+    @Test
+    void acceptedChunkRunsThroughAllStages() throws Exception {
+        when(probeService.probeWebmDurationMs(any())).thenReturn(30_000L);
+
+        pipeline.accept(MEETING_ID, 1, audioFile(), "ko-KR");
+
+        verify(uploadStateService, timeout(5_000)).markProcessing(List.of(1L), "job-1");
+        verify(uploadStateService).markUploaded(1L, "gs://bucket/chunk.webm", 30_000L);
+        verify(uploadStateService, never()).discard(any());
+        assertThat(pipeline.getStats().getCompleted()).isEqualTo(1L);
+    }
+
+    @Test
+    void fullProbeQueueIsRejectedWithRetryAfter() throws Exception {
+        CountDownLatch probeStarted = new CountDownLatch(1);
+        CountDownLatch releaseProbe = new CountDownLatch(1);
+        when(probeService.probeWebmDurationMs(any())).thenAnswer(invocation -> {
+            probeStarted.countDown();
+            releaseProbe.await(5, TimeUnit.SECONDS);
+            return 30_000L;
+        });
+
+        // 1번은 probe 작업 스레드, 2번은 대기열을 채운다.
+        pipeline.accept(MEETING_ID, 1, audioFile(), "ko-KR");
+        assertThat(probeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        pipeline.accept(MEETING_ID, 2, audioFile(), "ko-KR");
+
+        assertThatThrownBy(() -> pipeline.accept(MEETING_ID, 3, audioFile(), "ko-KR"))
+            .isInstanceOf(IngestQueueFullException.class)
+            .satisfies(e -> assertThat(((IngestQueueFullException) e).getRetryAfterSeconds()).isEqualTo(7L));
+
+        // 거절된 청크는 PENDING 선점/spool 전에 걸러진다.
+        verify(uploadStateService, never()).createPending(eq(MEETING_ID), eq(3), anyInt(), anyString());
+
+        releaseProbe.countDown();
+        verify(uploadStateService, timeout(5_000).times(2)).markProcessing(any(), eq("job-1"));
+        assertThat(pipeline.getStats().getAccepted()).isEqualTo(2L);
+        assertThat(pipeline.getStats().getRejected()).isEqualTo(1L);
+    }
+
+    @Test
+    void resumeWaitsForProbeQueueInsteadOfRejecting() throws Exception {
+        when(probeService.probeWebmDurationMs(any())).thenReturn(30_000L);
+        when(audioSpoolService.durablePath(eq(MEETING_ID), anyInt()))
+            .thenAnswer(invocation -> Files.createTempFile(tempDir, "resume-", ".webm"));
+
+        // probe 풀(작업 1 + 대기열 1)보다 많은 청크도 거절 없이 모두 재개된다.
+        for (int chunkSeq = 1; chunkSeq <= 4; chunkSeq++) {
+            assertThat(pipeline.resume((long) chunkSeq, MEETING_ID, chunkSeq, "ko-KR", LocalDate.now())).isTrue();
+        }
+
+        verify(uploadStateService, timeout(5_000).times(4)).markProcessing(any(), eq("job-1"));
+        assertThat(pipeline.getStats().getResumed()).isEqualTo(4L);
+        assertThat(pipeline.getStats().getRejected()).isZero();
+    }
+
+    @Test
+    void transientUploadFailureIsRetried() throws Exception {
+        when(probeService.probeWebmDurationMs(any())).thenReturn(30_000L);
+        when(googleSttService.uploadToGcs(any(Path.class), anyString()))
+            .thenThrow(new IllegalStateException("gcs 503"))
+            .thenReturn("gs://bucket/chunk.webm");
+
+        pipeline.accept(MEETING_ID, 4, audioFile(), "ko-KR");
+
+        verify(uploadStateService, timeout(5_000)).markProcessing(List.of(4L), "job-1");
+        verify(googleSttService, times(2)).uploadToGcs(any(Path.class), anyString());
+        verify(uploadStateService, never()).discard(any(), any());
+    }
+
+    @Test
+    void failedStageMarksChunkDiscardedAfterRetries() throws Exception {
+        when(probeService.probeWebmDurationMs(any())).thenReturn(30_000L);
+        when(googleSttService.uploadToGcs(any(Path.class), anyString())).thenThrow(new IllegalStateException("gcs down"));
+
+        pipeline.accept(MEETING_ID, 5, audioFile(), "ko-KR");
+
+        verify(uploadStateService, timeout(5_000)).discard(List.of(5L), "upload failed: gcs down");
+        verify(googleSttService, times(2)).uploadToGcs(any(Path.class), anyString());
+        verify(uploadStateService, never()).markUploaded(anyLong(), anyString(), anyLong());
+        verify(googleSttService, times(0)).startSttJob(anyString(), anyString(), anyString(), anyLong());
+        assertThat(pipeline.getStats().getFailed()).isEqualTo(1L);
+    }
+
+    @Test
+    void shutdownLeavesInFlightChunkForRecovery() throws Exception {
+        CountDownLatch uploadStarted = new CountDownLatch(1);
+        when(probeService.probeWebmDurationMs(any())).thenReturn(30_000L);
+        when(googleSttService.uploadToGcs(any(Path.class), anyString())).thenAnswer(invocation -> {
+            uploadStarted.countDown();
+            new CountDownLatch(1).await();
+            return "gs://bucket/chunk.webm";
+        });
+
+        pipeline.accept(MEETING_ID, 6, audioFile(), "ko-KR");
+        assertThat(uploadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        pipeline.destroy();
+
+        // 인터럽트된 업로드는 PENDING 행과 spool 파일을 남긴다(재기동 시 resume).
+        verify(googleSttService, after(500).times(1)).uploadToGcs(any(Path.class), anyString());
+        verify(uploadStateService, never()).discard(any(), any());
+        verify(uploadStateService, never()).discard(any());
+        verify(audioSpoolService, never()).deleteQuietly(any());
+        assertThat(pipeline.getStats().getFailed()).isZero();
+    }
+
+    private MockMultipartFile audioFile() {
+        return new MockMultipartFile("audioFile", "chunk.webm", "audio/webm", new byte[]{1, 2, 3});
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.stttest.service;
+
+import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "stt.poller.enabled=false")
+class ChunkSeqAllocatorTest {
+
+    @Autowired
+    private ChunkSeqAllocator chunkSeqAllocator;
+
+    @Autowired
+    private AiMeetingSttStateRepository sttStateRepository;
+
+    @Test
+    void concurrentAllocationsNeverShareChunkSeq() throws Exception {
+        long meetingId = 7_200_000L;
+        sttStateRepository.save(state(meetingId, 3));
+
+        Set<Integer> seqs = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                futures.add(executor.submit(() -> seqs.add(chunkSeqAllocator.allocate(meetingId, 1))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // DB 최대값(3) 다음부터 빈틈/중복 없이 발급된다.
+        assertThat(seqs).hasSize(400);
+        assertThat(seqs).allMatch(seq -> seq >= 4 && seq <= 403);
+
+        // 클라이언트 예약 이후 자동 발급은 예약 순번 다음부터 이어진다.
+        chunkSeqAllocator.reserve(meetingId, 500);
+        assertThat(chunkSeqAllocator.allocate(meetingId, 2)).isEqualTo(501);
+        assertThat(chunkSeqAllocator.allocate(meetingId, 1)).isEqualTo(503);
+    }
+
+    @Test
+    void evictedCounterIsReseededFromDatabase() {
+        long meetingId = 7_200_002L;
+        sttStateRepository.save(state(meetingId, 7));
+        assertThat(chunkSeqAllocator.allocate(meetingId, 1)).isEqualTo(8);
+
+        ReflectionTestUtils.setField(chunkSeqAllocator, "idleTtl", Duration.ofMillis(-1));
+        try {
+            // 8은 아직 DB에 없으므로(PENDING 선점 전) 지우지 않는다. 지우면 다시 시드할 때 8을 또 발급한다.
+            chunkSeqAllocator.evictIdle();
+            assertThat(chunkSeqAllocator.isTracked(meetingId)).isTrue();
+
+            sttStateRepository.save(state(meetingId, 8));
+            chunkSeqAllocator.evictIdle();
+        } finally {
+            ReflectionTestUtils.setField(chunkSeqAllocator, "idleTtl", Duration.ofMinutes(30));
+        }
+        assertThat(chunkSeqAllocator.isTracked(meetingId)).isFalse();
+
+        // 메모리 카운터 대신 DB 최대값(9) 기준으로 다시 시드한다.
+        sttStateRepository.save(state(meetingId, 9));
+        assertThat(chunkSeqAllocator.allocate(meetingId, 1)).isEqualTo(10);
+    }
+
+    @Test
+    void duplicateChunkSeqIsRejectedByUniqueConstraint() {
+        long meetingId = 7_200_001L;
+        sttStateRepository.saveAndFlush(state(meetingId, 1));
+
+        assertThatThrownBy(() -> sttStateRepository.saveAndFlush(state(meetingId, 1)))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static AiMeetingSttState state(long meetingId, int chunkSeq) {
+        return AiMeetingSttState.builder()
+                                .meetingId(meetingId)
+                                .chunkSeq(chunkSeq)
+                                .gcsUri("gs://bucket/chunk_" + chunkSeq + ".webm")
+                                .jobId("job-" + chunkSeq)
+                                .durationMs(30_000L)
+                                .status(ChunkStatus.PROCESSING)
+                                .revision(0L)
+                                .createdDate(LocalDate.now())
+                                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.ChunkUploadAutoRs;
+import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "stt.poller.enabled=false",
+    "stt.recovery.enabled=false"
+})
+class ChunkUploadStateServiceTest {
+
+    @Autowired
+    private ChunkUploadStateService uploadStateService;
+
+    @Autowired
+    private AiMeetingSttStateRepository sttStateRepository;
+
+    @Test
+    void pendingRowMovesToProcessingAndDiscardKeepsStartedChunks() {
+        long meetingId = 7_100_001L;
+        List<Long> stateIds = uploadStateService.createPending(meetingId, 1, 2, "ko-KR");
+        assertThat(stateIds).hasSize(2);
+        assertThat(sttStateRepository.findById(stateIds.get(0)).orElseThrow().getStatus()).isEqualTo(ChunkStatus.PENDING);
+
+        uploadStateService.markUploaded(stateIds.get(0), "gs://bucket/chunk_1.webm", 30_000L);
+        List<ChunkUploadAutoRs> rs = uploadStateService.markProcessing(List.of(stateIds.get(0)), "job-1");
+        assertThat(rs).singleElement().satisfies(r -> {
+            assertThat(r.getChunkSeq()).isEqualTo(1);
+            assertThat(r.getJobId()).isEqualTo("job-1");
+            assertThat(r.getGcsUri()).isEqualTo("gs://bucket/chunk_1.webm");
+        });
+
+        // 두 번째 청크는 업로드 실패로 가정: job이 시작된 첫 청크는 남고 PENDING 청크만 tombstone이 된다.
+        List<AiMeetingSttState> discarded = uploadStateService.discard(stateIds);
+        assertThat(discarded).singleElement().satisfies(s -> assertThat(s.getChunkSeq()).isEqualTo(2));
+
+        List<AiMeetingSttState> states = sttStateRepository.findByMeetingIdOrderByChunkSeqAsc(meetingId);
+        assertThat(states).extracting(AiMeetingSttState::getStatus)
+                          .containsExactly(ChunkStatus.PROCESSING, ChunkStatus.DISCARDED);
+        assertThat(states.get(0).getDurationMs()).isEqualTo(30_000L);
+        assertThat(states.get(1).getRevision()).isGreaterThan(states.get(0).getRevision());
+
+        // 버려진 순번은 같은 순번 재전송 때 같은 행으로 다시 선점된다.
+        List<Long> retried = uploadStateService.createPending(meetingId, 2, 1, "ko-KR");
+        assertThat(retried).containsExactly(stateIds.get(1));
+        assertThat(sttStateRepository.findById(stateIds.get(1)).orElseThrow().getStatus()).isEqualTo(ChunkStatus.PENDING);
+    }
+
+    @Test
+    void duplicateChunkSeqIsRejectedBeforeUpload() {
+        long meetingId = 7_100_002L;
+        uploadStateService.createPending(meetingId, 3, 1, "ko-KR");
+
+        assertThatThrownBy(() -> uploadStateService.createPending(meetingId, 3, 1, "ko-KR"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("chunkSeq already exists");
+        assertThat(sttStateRepository.countByMeetingId(meetingId)).isEqualTo(1L);
+    }
+
+    @Test
+    void markProcessingRequiresUploadedChunk() {
+        long meetingId = 7_100_003L;
+        List<Long> stateIds = uploadStateService.createPending(meetingId, 1, 1, "ko-KR");
+
+        assertThatThrownBy(() -> uploadStateService.markProcessing(stateIds, "job-2"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("not uploaded");
+    }
+}
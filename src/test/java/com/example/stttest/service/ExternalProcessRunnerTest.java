@@ -0,0 +1,55 @@
+package com.example.stttest.service;
+
+import com.example.stttest.config.ThreadPools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExternalProcessRunnerTest {
+
+    private static final List<String> COMMAND = List.of("sh", "-c", "echo out; echo err 1>&2; exit 3");
+
+    private ExternalProcessRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new ExternalProcessRunner();
+        ReflectionTestUtils.setField(runner, "processConcurrency", 2);
+        runner.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.destroy();
+    }
+
+    @Test
+    void runsOnCallingPlatformThread() throws Exception {
+        ExternalProcessRunner.ProcessResult result = runner.run(COMMAND);
+
+        assertThat(result.getExitCode()).isEqualTo(3);
+        assertThat(result.getOutput()).contains("out").contains("err");
+    }
+
+    @Test
+    void virtualCallerGetsSameResultThroughPlatformPool() throws Exception {
+        ExecutorService virtualPool = ThreadPools.newFixedPool("test-virtual", 4, true);
+        try {
+            Future<Boolean> isVirtual = virtualPool.submit(() -> Thread.currentThread().isVirtual());
+            assertThat(isVirtual.get()).isTrue();
+
+            Future<ExternalProcessRunner.ProcessResult> result = virtualPool.submit(() -> runner.run(COMMAND));
+            assertThat(result.get().getExitCode()).isEqualTo(3);
+            assertThat(result.get().getOutput()).contains("out").contains("err");
+        } finally {
+            virtualPool.shutdownNow();
+        }
+    }
+}
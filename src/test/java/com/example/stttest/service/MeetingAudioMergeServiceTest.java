@@ -0,0 +1,154 @@
+package com.example.stttest.service;
+
+import com.example.stttest.config.GoogleCloudClients;
+import com.example.stttest.dto.AudioDownloadDto;
+import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import com.example.stttest.webm.WebmTestFiles;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+    "stt.poller.enabled=false",
+    "stt.recovery.enabled=false"
+})
+class MeetingAudioMergeServiceTest {
+
+    @Autowired
+    private MeetingAudioMergeService mergeService;
+
+    @Autowired
+    private AiMeetingSttStateRepository sttStateRepository;
+
+    @Autowired
+    private SttService sttService;
+
+    @Autowired
+    private MergedAudioCache mergedAudioCache;
+
+    @MockBean
+    private ChunkIngestPipeline chunkIngestPipeline;
+
+    @MockBean
+    private GoogleCloudClients googleCloudClients;
+
+    @Test
+    void mergeStopsAtMissingSeqAndSkipsOnlyDiscardedSeq() {
+        long meetingId = 7_300_001L;
+        sttStateRepository.save(state(meetingId, 1, ChunkStatus.DONE));
+        sttStateRepository.save(state(meetingId, 2, ChunkStatus.DONE));
+        String twoChunks = mergeService.getMergedAudioEtag(meetingId);
+
+        // 4가 먼저 도착해도 3이 없으므로 병합 구성은 그대로다.
+        sttStateRepository.save(state(meetingId, 4, ChunkStatus.PROCESSING));
+        assertThat(mergeService.getMergedAudioEtag(meetingId)).isEqualTo(twoChunks);
+
+        // 3이 업로드 중(PENDING)이어도 그 앞에서 멈춘다.
+        AiMeetingSttState third = sttStateRepository.save(state(meetingId, 3, ChunkStatus.PENDING));
+        assertThat(mergeService.getMergedAudioEtag(meetingId)).isEqualTo(twoChunks);
+
+        // 3이 버려진 순번으로 확정되면 건너뛰고 4를 이어 붙인다.
+        third.setStatus(ChunkStatus.DISCARDED);
+        sttStateRepository.save(third);
+        assertThat(mergeService.getMergedAudioEtag(meetingId)).isNotEqualTo(twoChunks);
+    }
+
+    @Test
+    void rejectedAutoSeqChunkDoesNotBlockLaterChunks() throws Exception {
+        long meetingId = 7_300_002L;
+        sttStateRepository.save(state(meetingId, 1, ChunkStatus.DONE));
+        String oneChunk = mergeService.getMergedAudioEtag(meetingId);
+
+        // 순번(2) 발급 뒤 대기열이 차서 429로 거절된다.
+        doThrow(new IngestQueueFullException(5L)).doNothing()
+            .when(chunkIngestPipeline).accept(eq(meetingId), anyInt(), any(), anyString());
+        assertThatThrownBy(() -> sttService.acceptChunkAutoSeq(meetingId, audioFile(), "ko-KR", null))
+            .isInstanceOf(IngestQueueFullException.class);
+        assertThat(sttStateRepository.findByMeetingIdAndChunkSeq(meetingId, 2))
+            .hasValueSatisfying(tombstone -> assertThat(tombstone.getStatus()).isEqualTo(ChunkStatus.DISCARDED));
+
+        // 다음 청크(3)가 처리되면 거절된 순번을 건너뛰고 병합된다.
+        assertThat(sttService.acceptChunkAutoSeq(meetingId, audioFile(), "ko-KR", null).getChunkSeq()).isEqualTo(3);
+        sttStateRepository.save(state(meetingId, 3, ChunkStatus.DONE));
+        assertThat(mergeService.getMergedAudioEtag(meetingId)).isNotEqualTo(oneChunk);
+    }
+
+    @Test
+    void openDownloadSurvivesAppendThatReplacesCachedFile() throws Exception {
+        long meetingId = 7_300_003L;
+        Storage storage = mock(Storage.class);
+        when(googleCloudClients.storage()).thenReturn(storage);
+        doAnswer(invocation -> Files.write(invocation.getArgument(1, Path.class), chunkBytes()))
+            .when(storage).downloadTo(any(BlobId.class), any(Path.class));
+        sttStateRepository.save(state(meetingId, 1, ChunkStatus.DONE));
+
+        byte[] expected;
+        try (AudioDownloadDto baseline = mergeService.downloadMergedMeetingAudio(meetingId)) {
+            expected = readAll(baseline);
+        }
+
+        // 응답이 아직 본문을 읽기 전에 다른 요청이 청크 2를 이어 붙여 이전 캐시 파일을 지운다.
+        try (AudioDownloadDto streaming = mergeService.downloadMergedMeetingAudio(meetingId)) {
+            sttStateRepository.save(state(meetingId, 2, ChunkStatus.DONE));
+            try (AudioDownloadDto appended = mergeService.downloadMergedMeetingAudio(meetingId)) {
+                assertThat(appended.getSizeBytes()).isGreaterThan(streaming.getSizeBytes());
+            }
+            Path replaced = mergedAudioCache.audioFile(meetingId, streaming.getEtag().replace("\"", ""));
+            assertThat(replaced).doesNotExist();
+
+            assertThat(readAll(streaming)).isEqualTo(expected);
+        }
+    }
+
+    private static byte[] readAll(AudioDownloadDto dto) throws Exception {
+        InputStream in = Channels.newInputStream(dto.getChannel().position(0));
+        return in.readAllBytes();
+    }
+
+    private static byte[] chunkBytes() {
+        return WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, false, 0, 20)
+        );
+    }
+
+    private static MockMultipartFile audioFile() {
+        return new MockMultipartFile("audioFile", "chunk.webm", "audio/webm", new byte[]{1, 2, 3});
+    }
+
+    private static AiMeetingSttState state(long meetingId, int chunkSeq, ChunkStatus status) {
+        return AiMeetingSttState.builder()
+                                .meetingId(meetingId)
+                                .chunkSeq(chunkSeq)
+                                .gcsUri(status == ChunkStatus.PENDING ? null : "gs://bucket/chunk_" + chunkSeq + ".webm")
+                                .durationMs(status == ChunkStatus.PENDING ? null : 30_000L)
+                                .status(status)
+                                .revision(0L)
+                                .createdDate(LocalDate.now())
+                                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.stttest.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelChunkFetcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ParallelChunkFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        fetcher = new ParallelChunkFetcher();
+        ReflectionTestUtils.setField(fetcher, "concurrency", 4);
+        ReflectionTestUtils.setField(fetcher, "threads", 8);
+        ReflectionTestUtils.setField(fetcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(fetcher, "initialBackoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(fetcher, "maxBackoff", Duration.ofMillis(4));
+        fetcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fetcher.destroy();
+    }
+
+    @Test
+    void consumesInChunkOrderWhileDownloadingConcurrently() throws Exception {
+        // 뒤 청크일수록 빨리 끝나는 지연을 넣어도 소비 순서는 index 순서여야 한다.
+        int chunkCount = 8;
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<String> consumed = new ArrayList<>();
+
+        fetcher.fetchInOrder(chunkCount, tempDir, (index, target) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50L - index * 5L);
+                Files.writeString(target, "chunk-" + index);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }, (index, file) -> consumed.add(Files.readString(file)));
+
+        assertThat(consumed).containsExactly(
+            "chunk-0", "chunk-1", "chunk-2", "chunk-3", "chunk-4", "chunk-5", "chunk-6", "chunk-7"
+        );
+        assertThat(maxInFlight.get()).isBetween(2, 4);
+    }
+
+    @Test
+    void retriesTransientFailures() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        List<Integer> consumed = new ArrayList<>();
+
+        fetcher.fetchInOrder(1, tempDir, (index, target) -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("transient");
+            }
+            Files.writeString(target, "ok");
+        }, (index, file) -> consumed.add(index));
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(consumed).containsExactly(0);
+    }
+
+    @Test
+    void cancelsRemainingDownloadsWhenOneFails() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+
+        assertThatThrownBy(() -> fetcher.fetchInOrder(4, tempDir, new ParallelChunkFetcher.ChunkDownloader() {
+            @Override
+            public void download(int index, Path target) throws Exception {
+                if (index == 0) {
+                    throw new IllegalStateException("GCS blob not found");
+                }
+                Thread.sleep(2_000L);
+                completed.incrementAndGet();
+            }
+
+            @Override
+            public boolean isRetryable(Exception e) {
+                return false;
+            }
+        }, (index, file) -> {
+        }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("not found");
+
+        // 취소되지 않았다면 2초 뒤 나머지 다운로드가 완료된다.
+        Thread.sleep(2_500L);
+        assertThat(completed.get()).isZero();
+    }
+}
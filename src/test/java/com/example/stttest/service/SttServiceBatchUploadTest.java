@@ -0,0 +1,79 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.ChunkBatchItemRs;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+    "stt.poller.enabled=false",
+    "stt.recovery.enabled=false",
+    "stt.batch.maxFiles=1"
+})
+class SttServiceBatchUploadTest {
+
+    @Autowired
+    private SttService sttService;
+
+    @Autowired
+    private AiMeetingSttStateRepository sttStateRepository;
+
+    @MockBean
+    private GoogleSttService googleSttService;
+
+    @MockBean
+    private AudioDurationProbeService audioDurationProbeService;
+
+    @Test
+    void midBatchFailureReportsStartedAndDiscardedFiles() throws Exception {
+        long meetingId = 7_400_001L;
+        when(audioDurationProbeService.probeWebmDurationMs(any())).thenAnswer(invocation -> {
+            if (Files.readString(invocation.getArgument(0, Path.class)).equals("broken")) {
+                throw new IllegalStateException("unreadable webm");
+            }
+            return 1000L;
+        });
+        when(googleSttService.uploadToGcs(any(), anyString()))
+            .thenAnswer(invocation -> "gs://bucket/" + invocation.getArgument(1, String.class));
+        when(googleSttService.startSttJob(anyList(), anyString(), anyString(), anyLong())).thenReturn("job-1");
+
+        // maxFiles=1이므로 첫 파일은 자기 묶음으로 job이 시작된 뒤 두 번째 파일이 실패한다.
+        ChunkBatchUploadException failure = catchThrowableOfType(
+            () -> sttService.uploadChunksAutoSeq(meetingId, List.of(audioFile("ok"), audioFile("broken")), "ko-KR"),
+            ChunkBatchUploadException.class
+        );
+
+        assertThat(failure.getResult().getUploadedCount()).isEqualTo(1);
+        List<ChunkBatchItemRs> results = failure.getResult().getResults();
+        assertThat(results).extracting(ChunkBatchItemRs::getChunkSeq).containsExactly(1, 2);
+        assertThat(results.get(0).getStatus()).isEqualTo(ChunkStatus.PROCESSING);
+        assertThat(results.get(0).getJobId()).isEqualTo("job-1");
+        assertThat(results.get(1).getStatus()).isEqualTo(ChunkStatus.DISCARDED);
+        assertThat(results.get(1).getError()).contains("unreadable webm");
+
+        assertThat(sttStateRepository.findByMeetingIdAndChunkSeq(meetingId, 1))
+            .hasValueSatisfying(state -> assertThat(state.getStatus()).isEqualTo(ChunkStatus.PROCESSING));
+        assertThat(sttStateRepository.findByMeetingIdAndChunkSeq(meetingId, 2))
+            .hasValueSatisfying(state -> assertThat(state.getStatus()).isEqualTo(ChunkStatus.DISCARDED));
+    }
+
+    private static MockMultipartFile audioFile(String content) {
+        return new MockMultipartFile("audioFile", "chunk.webm", "audio/webm", content.getBytes());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.stttest.service;
+
+import com.example.stttest.dto.rs.MeetingSnapshotRs;
+import com.example.stttest.dto.rs.SubtitleCueRs;
+import com.example.stttest.entitiy.AiMeetingSttChunkCue;
+import com.example.stttest.entitiy.AiMeetingSttState;
+import com.example.stttest.entitiy.ChunkStatus;
+import com.example.stttest.repository.AiMeetingSttChunkCueRepository;
+import com.example.stttest.repository.AiMeetingSttStateRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false",
+    "stt.poller.enabled=false"
+})
+class SttServiceSnapshotTest {
+
+    private static final long CHUNK_DURATION_MS = 30_000L;
+    private static final int CUES_PER_CHUNK = 3;
+
+    @Autowired
+    private SttService sttService;
+
+    @Autowired
+    private AiMeetingSttStateRepository sttStateRepository;
+
+    @Autowired
+    private AiMeetingSttChunkCueRepository chunkCueRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 500})
+    void snapshotUsesConstantQueryCountRegardlessOfChunkCount(int chunkCount) {
+        long meetingId = 9_000_000L + chunkCount;
+        saveDoneChunks(meetingId, chunkCount);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long startedAt = System.nanoTime();
+        MeetingSnapshotRs snapshot = sttService.getMeetingSnapshot(meetingId);
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000L;
+        log.info("snapshot chunks={}, queries={}, entitiesLoaded={}, elapsedMs={}",
+                 chunkCount, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), elapsedMs);
+
+        // 청크 수와 무관하게 상태 1회 + cue 1회, 관리 엔티티 로드 없음
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2L);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        assertThat(snapshot.getStatus()).isEqualTo("DONE");
+        assertThat(snapshot.getTotalChunks()).isEqualTo(chunkCount);
+        assertThat(snapshot.getCues()).hasSize(chunkCount * CUES_PER_CHUNK);
+
+        // 마지막 청크 첫 cue = 앞선 청크 길이 누적 오프셋 + 로컬 시작
+        SubtitleCueRs lastChunkFirstCue = snapshot.getCues().get((chunkCount - 1) * CUES_PER_CHUNK);
+        assertThat(lastChunkFirstCue.getChunkSeq()).isEqualTo(chunkCount);
+        assertThat(lastChunkFirstCue.getStartMs()).isEqualTo((chunkCount - 1) * CHUNK_DURATION_MS);
+
+        // 두 번째 조회는 타임라인 캐시에서 복사하므로 상태 조회 1회만 남는다.
+        statistics.clear();
+        MeetingSnapshotRs cached = sttService.getMeetingSnapshot(meetingId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1L);
+        assertThat(cached.getCues()).hasSize(chunkCount * CUES_PER_CHUNK);
+        assertThat(cached.getCues().get((chunkCount - 1) * CUES_PER_CHUNK).getStartMs())
+            .isEqualTo(lastChunkFirstCue.getStartMs());
+    }
+
+    private void saveDoneChunks(long meetingId, int chunkCount) {
+        for (int seq = 1; seq <= chunkCount; seq++) {
+            AiMeetingSttState sttState = sttStateRepository.save(AiMeetingSttState.builder()
+                                                                                  .meetingId(meetingId)
+                                                                                  .chunkSeq(seq)
+                                                                                  .gcsUri("gs://bucket/chunk_" + seq + ".webm")
+                                                                                  .jobId("job-" + seq)
+                                                                                  .durationMs(CHUNK_DURATION_MS)
+                                                                                  .status(ChunkStatus.DONE)
+                                                                                  .revision((long) seq)
+                                                                                  .transcript("SPEAKER_1: chunk " + seq)
+                                                                                  .createdDate(LocalDate.now())
+                                                                                  .build());
+
+            List<AiMeetingSttChunkCue> cues = new ArrayList<>(CUES_PER_CHUNK);
+            for (int i = 0; i < CUES_PER_CHUNK; i++) {
+                cues.add(AiMeetingSttChunkCue.builder()
+                                             .meetingId(meetingId)
+                                             .chunkId(sttState.getId())
+                                             .chunkSeq(seq)
+                                             .cueIndex(i + 1)
+                                             .startMs(i * 1_000L)
+                                             .endMs(i * 1_000L + 900L)
+                                             .text("cue " + i)
+                                             .speaker("1")
+                                             .build());
+            }
+            chunkCueRepository.saveAll(cues);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.stttest.stt;
+
+import com.example.stttest.dto.stt.SttCueDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CueSegmenterTest {
+
+    private static final String[] VOCABULARY = {"네", "좋아요.", "그럼", "다음", "안건은?", "확인!", "회의록。", "일정", "공유", "합니다"};
+
+    @Test
+    void splitsOnSpeakerChangeAndSentenceEndings() {
+        WordBuffer words = new WordBuffer();
+        add(words, 0, 100, "1", "안녕");
+        add(words, 100, 200, "1", "하세요?");
+        add(words, 200, 300, "1", "네");
+        add(words, 300, 400, "2", "반갑습니다。");
+        add(words, 400, 500, "2", "시작");
+
+        List<SttCueDto> cues = new CueSegmenter(new CueSegmenter.Rules(true, ".?!。", 0L, 0)).segment(words);
+
+        assertThat(cues).extracting(SttCueDto::getText).containsExactly("안녕 하세요?", "네", "반갑습니다。", "시작");
+        assertThat(cues).extracting(SttCueDto::getSpeaker).containsExactly("1", "1", "2", "2");
+        assertThat(cues.get(0).getStartMs()).isZero();
+        assertThat(cues.get(0).getEndMs()).isEqualTo(200L);
+    }
+
+    /**
+     * 무작위 단어열(고정 seed)에 대해 규칙 불변식을 확인한다.
+     * - 입력 순서를 섞어도 결과가 같다(정렬 fallback 정확성)
+     * - cue 텍스트를 이으면 시간순 단어열과 같다(단어 유실/중복 없음)
+     * - 여러 단어로 된 cue는 화자가 하나이고 길이/글자 수 상한을 넘지 않는다
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 7L, 42L, 2024L, 99_991L})
+    void randomWordStreamsSatisfyRuleInvariants(long seed) {
+        Random random = new Random(seed);
+        CueSegmenter.Rules rules = new CueSegmenter.Rules(true, ".?!。", 3_000L, 20);
+        CueSegmenter segmenter = new CueSegmenter(rules);
+
+        for (int round = 0; round < 50; round++) {
+            List<long[]> times = new ArrayList<>();
+            List<String> texts = new ArrayList<>();
+            List<String> speakers = new ArrayList<>();
+            int size = random.nextInt(400);
+            long cursor = 0L;
+            for (int i = 0; i < size; i++) {
+                long start = cursor + random.nextInt(300);
+                long end = start + 1 + random.nextInt(2_000);
+                cursor = start;
+                times.add(new long[]{start, end});
+                texts.add(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+                speakers.add(String.valueOf(random.nextInt(3)));
+            }
+
+            List<SttCueDto> sorted = segmenter.segment(buffer(times, texts, speakers, identity(size)));
+
+            // 일부만 어긋난 입력(삽입 정렬 경로)과 완전히 섞인 입력(병합 정렬 경로)
+            List<Integer> nearlySorted = identity(size);
+            for (int i = 0; i + 1 < size && i < 6; i += 2) {
+                Collections.swap(nearlySorted, random.nextInt(size - 1), random.nextInt(size - 1));
+            }
+            List<Integer> shuffled = identity(size);
+            Collections.shuffle(shuffled, random);
+
+            assertSameCues(segmenter.segment(buffer(times, texts, speakers, nearlySorted)), sorted);
+            assertSameCues(segmenter.segment(buffer(times, texts, speakers, shuffled)), sorted);
+
+            List<Integer> timeOrder = identity(size);
+            timeOrder.sort((a, b) -> {
+                int byStart = Long.compare(times.get(a)[0], times.get(b)[0]);
+                return byStart != 0 ? byStart : Long.compare(times.get(a)[1], times.get(b)[1]);
+            });
+            List<String> expectedWords = timeOrder.stream().map(texts::get).toList();
+            List<String> actualWords = new ArrayList<>();
+            for (SttCueDto cue : sorted) {
+                actualWords.addAll(List.of(cue.getText().split(" ")));
+
+                boolean singleWord = !cue.getText().contains(" ");
+                if (!singleWord) {
+                    assertThat(cue.getEndMs() - cue.getStartMs()).isLessThanOrEqualTo(rules.getMaxDurationMs());
+                    assertThat(cue.getText().length()).isLessThanOrEqualTo(rules.getMaxChars());
+                }
+                // 문장 종료 문자는 cue 마지막 단어에만 올 수 있다.
+                String[] cueWords = cue.getText().split(" ");
+                for (int i = 0; i < cueWords.length - 1; i++) {
+                    assertThat(".?!。".indexOf(cueWords[i].charAt(cueWords[i].length() - 1))).isNegative();
+                }
+            }
+            assertThat(actualWords).isEqualTo(expectedWords);
+            for (int i = 1; i < sorted.size(); i++) {
+                assertThat(sorted.get(i).getStartMs()).isGreaterThanOrEqualTo(sorted.get(i - 1).getStartMs());
+            }
+        }
+    }
+
+    private static void assertSameCues(List<SttCueDto> actual, List<SttCueDto> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).usingRecursiveComparison().isEqualTo(expected.get(i));
+        }
+    }
+
+    private static WordBuffer buffer(List<long[]> times, List<String> texts, List<String> speakers, List<Integer> order) {
+        WordBuffer words = new WordBuffer();
+        for (int index : order) {
+            add(words, times.get(index)[0], times.get(index)[1], speakers.get(index), texts.get(index));
+        }
+        return words;
+    }
+
+    private static List<Integer> identity(int size) {
+        List<Integer> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            order.add(i);
+        }
+        return order;
+    }
+
+    private static void add(WordBuffer words, long startMs, long endMs, String speaker, String word) {
+        words.add(startMs, endMs, words.internSpeaker(speaker), word);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.stttest.stt;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeFieldDecoderTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "1.234s, 1234",
+        "3s, 3000",
+        "0.5s, 500",
+        "12.30s, 12300",
+        "0.0005s, 1",
+        "0.0004s, 0",
+        "7200.999s, 7200999",
+        "1.5, 1500",
+        "1e3s, 1000000"
+    })
+    void parsesGoogleDurationToMillis(String text, long expectedMs) {
+        assertThat(NativeFieldDecoder.parseDurationMs(text.toCharArray(), 0, text.length())).isEqualTo(expectedMs);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+        "spk:1|1",
+        "SPEAKER_12|12",
+        "3|3",
+        "guest|guest",
+        "'   '|''"
+    }, delimiter = '|')
+    void findsSpeakerIdRange(String label, String expected) {
+        // 버퍼 앞뒤에 다른 문자가 있어도 주어진 구간만 읽는다.
+        char[] buf = ("xx" + label + "99").toCharArray();
+        long range = NativeFieldDecoder.speakerRange(buf, 2, label.length());
+
+        String actual = new String(buf, NativeFieldDecoder.rangeOffset(range), NativeFieldDecoder.rangeLength(range));
+        assertThat(actual).isEqualTo(expected);
+    }
+}
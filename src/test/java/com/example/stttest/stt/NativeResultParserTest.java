@@ -0,0 +1,86 @@
+package com.example.stttest.stt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeResultParserTest {
+
+    private static final String NATIVE_JSON = """
+        {
+          "results": [
+            {
+              "alternatives": [
+                {
+                  "transcript": "ignored",
+                  "confidence": 0.9,
+                  "words": [
+                    {"word": "안녕", "speakerLabel": "spk:1"},
+                    {"word": "하세요.", "startOffset": "0.500s", "endOffset": "1.200s", "speakerLabel": "1", "confidence": 0.8},
+                    {"word": "네", "startOffset": "1.300s", "endOffset": "1.500s", "speakerLabel": "SPEAKER_2"},
+                    {"word": "좋아요", "startOffset": "1.600s", "speakerLabel": ""}
+                  ]
+                },
+                {
+                  "words": [{"word": "alt1", "startOffset": "9s", "endOffset": "10s"}]
+                }
+              ],
+              "resultEndOffset": "2s",
+              "languageCode": "ko-KR"
+            },
+            {
+              "alternatives": [
+                {"words": [{"word": "끝", "speakerLabel": "1"}]}
+              ]
+            }
+          ]
+        }
+        """;
+
+    @Test
+    void readsFirstAlternativeWordsIntoParallelArrays() throws Exception {
+        NativeResultParser.NativeResult result = parse(NATIVE_JSON);
+        WordBuffer words = result.getWords();
+
+        // 마지막 result의 타임 없는 단어는 타임라인에서 제외되고 alternatives[1]은 읽지 않는다.
+        assertThat(words.size()).isEqualTo(4);
+
+        // 선행 untimed 단어는 첫 timed 단어 직전 1ms 구간으로 backfill된다.
+        assertThat(words.word(0)).isEqualTo("안녕");
+        assertThat(words.startMs(0)).isEqualTo(499L);
+        assertThat(words.endMs(0)).isEqualTo(500L);
+
+        assertThat(words.startMs(1)).isEqualTo(500L);
+        assertThat(words.endMs(1)).isEqualTo(1_200L);
+        assertThat(words.speaker(words.speakerId(1))).isEqualTo("1");
+        assertThat(words.speakerId(0)).isEqualTo(words.speakerId(1));
+
+        assertThat(words.speaker(words.speakerId(2))).isEqualTo("2");
+
+        // 빈 화자는 직전 화자를 이어받고, endOffset이 없으면 start + 1ms
+        assertThat(words.speaker(words.speakerId(3))).isEqualTo("2");
+        assertThat(words.startMs(3)).isEqualTo(1_600L);
+        assertThat(words.endMs(3)).isEqualTo(1_601L);
+
+        assertThat(result.getTranscript()).isEqualTo("SPEAKER_1: 안녕 하세요.\nSPEAKER_2: 네 좋아요\nSPEAKER_1: 끝");
+    }
+
+    @Test
+    void emptyResultsProduceEmptyBuffer() throws Exception {
+        NativeResultParser.NativeResult result = parse("{\"metadata\": {\"x\": [1, 2]}}");
+
+        assertThat(result.getWords().size()).isZero();
+        assertThat(result.getTranscript()).isEmpty();
+    }
+
+    private static NativeResultParser.NativeResult parse(String json) throws Exception {
+        return NativeResultParser.parse(
+            new JsonFactory(),
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+}
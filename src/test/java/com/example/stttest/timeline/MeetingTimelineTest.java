@@ -0,0 +1,83 @@
+package com.example.stttest.timeline;
+
+import com.example.stttest.dto.projection.ChunkCueRow;
+import com.example.stttest.dto.projection.ChunkStateRow;
+import com.example.stttest.dto.rs.SubtitleCueRs;
+import com.example.stttest.entitiy.ChunkStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MeetingTimelineTest {
+
+    @Test
+    void appendShiftsCuesByPrefixOffset() {
+        MeetingTimeline timeline = MeetingTimeline.build(1L, List.of(), Map.of());
+
+        assertThat(timeline.insertChunk(1, 10_000L, List.of(cue(1, 0L, 900L)))).isTrue();
+        assertThat(timeline.insertChunk(2, 20_000L, List.of(cue(2, 500L, 1_500L), cue(2, 2_000L, 2_500L)))).isTrue();
+        assertThat(timeline.insertChunk(3, 5_000L, List.of(cue(3, 100L, 200L)))).isTrue();
+
+        assertThat(timeline.toCues())
+            .extracting(SubtitleCueRs::getChunkSeq, SubtitleCueRs::getStartMs)
+            .containsExactly(
+                tuple(1, 0L),
+                tuple(2, 10_500L),
+                tuple(2, 12_000L),
+                tuple(3, 30_100L)
+            );
+    }
+
+    @Test
+    void insertInMiddleShiftsLaterChunks() {
+        MeetingTimeline timeline = MeetingTimeline.build(
+            1L,
+            List.of(
+                new ChunkStateRow(11L, 1, ChunkStatus.DONE, 10_000L, null),
+                new ChunkStateRow(12L, 2, ChunkStatus.PROCESSING, 20_000L, null),
+                new ChunkStateRow(13L, 3, ChunkStatus.DONE, 5_000L, null)
+            ),
+            Map.of(
+                11L, List.of(new ChunkCueRow(11L, 1, 0L, 900L, "a", "1")),
+                13L, List.of(new ChunkCueRow(13L, 3, 100L, 200L, "c", "1"))
+            )
+        );
+        assertThat(timeline.toCues()).extracting(SubtitleCueRs::getStartMs).containsExactly(0L, 10_100L);
+
+        // 뒤늦게 끝난 2번 청크가 들어오면 3번 청크 cue는 2번 길이만큼 밀린다.
+        assertThat(timeline.insertChunk(2, 20_000L, List.of(cue(2, 500L, 1_500L)))).isTrue();
+        assertThat(timeline.toCues())
+            .extracting(SubtitleCueRs::getChunkSeq, SubtitleCueRs::getStartMs, SubtitleCueRs::getEndMs)
+            .containsExactly(
+                tuple(1, 0L, 900L),
+                tuple(2, 10_500L, 11_500L),
+                tuple(3, 30_100L, 30_200L)
+            );
+
+        // 이미 반영된 청크는 증분 반영하지 않는다.
+        assertThat(timeline.insertChunk(2, 20_000L, List.of())).isFalse();
+    }
+
+    @Test
+    void cuesBetweenReturnsOverlappingCuesOnly() {
+        MeetingTimeline timeline = MeetingTimeline.build(1L, List.of(), Map.of());
+        timeline.insertChunk(1, 10_000L, List.of(cue(1, 0L, 4_000L), cue(1, 3_000L, 9_500L)));
+        timeline.insertChunk(2, 10_000L, List.of(cue(2, 0L, 1_000L), cue(2, 5_000L, 6_000L)));
+
+        // 9_000 ~ 10_500: 1번 청크 두 번째 cue(3_000~9_500)와 2번 청크 첫 cue(10_000~11_000)
+        assertThat(timeline.cuesBetween(9_000L, 10_500L))
+            .extracting(SubtitleCueRs::getStartMs)
+            .containsExactly(3_000L, 10_000L);
+        assertThat(timeline.cuesBetween(11_000L, 15_000L)).isEmpty();
+        assertThat(timeline.cuesBetween(0L, Long.MAX_VALUE)).hasSize(4);
+        assertThat(timeline.cuesBetween(5_000L, 5_000L)).isEmpty();
+    }
+
+    private static SubtitleCueRs cue(int chunkSeq, long startMs, long endMs) {
+        return new SubtitleCueRs(chunkSeq, startMs, endMs, "text", "1");
+    }
+}
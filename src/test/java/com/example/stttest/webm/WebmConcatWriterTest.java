@@ -0,0 +1,201 @@
+package com.example.stttest.webm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebmConcatWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shiftsClusterTimecodesByPreviousChunkDurations() throws Exception {
+        byte[] first = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, true, 0, 20, 40),
+            WebmTestFiles.cluster(60L, true, 0, 20)
+        );
+        byte[] second = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, false, 0, 20)
+        );
+
+        Path merged = tempDir.resolve("merged.webm");
+        try (WebmConcatWriter writer = WebmConcatWriter.create(merged)) {
+            writer.appendChunk(new ByteArrayInputStream(first), 1_000L);
+            writer.appendChunk(new ByteArrayInputStream(second), 500L);
+            writer.finish();
+        }
+
+        // 자막 타임라인과 동일하게 두 번째 청크는 첫 청크 durationMs(1000) 뒤에서 시작한다.
+        ParsedOutput output = parse(Files.readAllBytes(merged));
+        assertThat(output.clusterTimecodes).containsExactly(0L, 60L, 1_000L);
+        assertThat(output.cueTimes).containsExactly(0L, 60L, 1_000L);
+        assertThat(output.cueClustersValid).isTrue();
+        assertThat(WebmDurationParser.parseDurationMs(merged)).isEqualTo(1_500L);
+    }
+
+    @Test
+    void resumedWriterMatchesSinglePassOutput() throws Exception {
+        byte[] first = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, true, 0, 20, 40)
+        );
+        byte[] second = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, true, 0, 20)
+        );
+
+        Path singlePass = tempDir.resolve("single.webm");
+        try (WebmConcatWriter writer = WebmConcatWriter.create(singlePass)) {
+            writer.appendChunk(new ByteArrayInputStream(first), 800L);
+            writer.appendChunk(new ByteArrayInputStream(second), 400L);
+            writer.finish();
+        }
+
+        Path appended = tempDir.resolve("appended.webm");
+        try (WebmConcatWriter writer = WebmConcatWriter.create(appended)) {
+            writer.appendChunk(new ByteArrayInputStream(first), 800L);
+            writer.finish();
+        }
+        try (WebmConcatWriter writer = WebmConcatWriter.resume(appended)) {
+            writer.appendChunk(new ByteArrayInputStream(second), 400L);
+            writer.finish();
+        }
+
+        assertThat(Files.readAllBytes(appended)).isEqualTo(Files.readAllBytes(singlePass));
+        assertThat(WebmDurationParser.parseDurationMs(appended)).isEqualTo(1_200L);
+    }
+
+    @Test
+    void rejectsChunkWithoutClusters() throws Exception {
+        byte[] empty = WebmTestFiles.webm(WebmTestFiles.info(Double.NaN), WebmTestFiles.tracks());
+
+        Path merged = tempDir.resolve("merged.webm");
+        try (WebmConcatWriter writer = WebmConcatWriter.create(merged)) {
+            assertThatThrownBy(
+                () -> writer.appendChunk(new ByteArrayInputStream(empty), 1_000L)
+            ).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void rejectsChunkWithDifferentTrackLayout() throws Exception {
+        byte[] first = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, false, 0, 20)
+        );
+        byte[] otherCodec = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(1L, "A_VORBIS"),
+            WebmTestFiles.cluster(0L, false, 0, 20)
+        );
+        byte[] otherTrackNumber = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(2L, "A_OPUS"),
+            WebmTestFiles.cluster(0L, false, 0, 20)
+        );
+
+        Path merged = tempDir.resolve("merged.webm");
+        try (WebmConcatWriter writer = WebmConcatWriter.create(merged)) {
+            writer.appendChunk(new ByteArrayInputStream(first), 500L);
+            writer.finish();
+        }
+
+        // 이어 붙이기(resume)에서도 첫 청크의 트랙 구성과 비교한다(실패한 복사본은 버린다).
+        for (byte[] chunk : List.of(otherCodec, otherTrackNumber)) {
+            Path appended = Files.copy(merged, tempDir.resolve("appended.webm"), StandardCopyOption.REPLACE_EXISTING);
+            try (WebmConcatWriter writer = WebmConcatWriter.resume(appended)) {
+                assertThatThrownBy(() -> writer.appendChunk(new ByteArrayInputStream(chunk), 500L))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("track layout mismatch");
+            }
+        }
+    }
+
+    private static ParsedOutput parse(byte[] bytes) throws Exception {
+        ParsedOutput out = new ParsedOutput();
+        EbmlReader reader = EbmlReader.of(ByteBuffer.wrap(bytes));
+        reader.readId();
+        reader.skip(reader.readSize());
+        assertThat(reader.readId()).isEqualTo(Ebml.ID_SEGMENT);
+        long segmentSize = reader.readSize();
+        long segmentStart = reader.position();
+        assertThat(segmentStart + segmentSize).isEqualTo(bytes.length);
+
+        List<Long> cuePositions = new ArrayList<>();
+        while (reader.position() < segmentStart + segmentSize) {
+            long id = reader.readId();
+            long size = reader.readSize();
+            if (id == Ebml.ID_CLUSTER) {
+                long end = reader.position() + size;
+                while (reader.position() < end) {
+                    long childId = reader.readId();
+                    long childSize = reader.readSize();
+                    if (childId == Ebml.ID_CLUSTER_TIMECODE) {
+                        out.clusterTimecodes.add(reader.readUnsigned(childSize));
+                    } else {
+                        reader.skip(childSize);
+                    }
+                }
+            } else if (id == Ebml.ID_CUES) {
+                long end = reader.position() + size;
+                while (reader.position() < end) {
+                    reader.readId();
+                    long pointEnd = reader.readSize() + reader.position();
+                    while (reader.position() < pointEnd) {
+                        long childId = reader.readId();
+                        long childSize = reader.readSize();
+                        if (childId == Ebml.ID_CUE_TIME) {
+                            out.cueTimes.add(reader.readUnsigned(childSize));
+                        } else if (childId == Ebml.ID_CUE_TRACK_POSITIONS) {
+                            long positionsEnd = reader.position() + childSize;
+                            while (reader.position() < positionsEnd) {
+                                long positionId = reader.readId();
+                                long positionSize = reader.readSize();
+                                if (positionId == Ebml.ID_CUE_CLUSTER_POSITION) {
+                                    cuePositions.add(reader.readUnsigned(positionSize));
+                                } else {
+                                    reader.skip(positionSize);
+                                }
+                            }
+                        } else {
+                            reader.skip(childSize);
+                        }
+                    }
+                }
+            } else {
+                reader.skip(size);
+            }
+        }
+
+        out.cueClustersValid = !cuePositions.isEmpty();
+        for (long position : cuePositions) {
+            EbmlReader at = EbmlReader.of(ByteBuffer.wrap(bytes, (int) (segmentStart + position), 4));
+            out.cueClustersValid &= at.readId() == Ebml.ID_CLUSTER;
+        }
+        return out;
+    }
+
+    private static class ParsedOutput {
+        private final List<Long> clusterTimecodes = new ArrayList<>();
+        private final List<Long> cueTimes = new ArrayList<>();
+        private boolean cueClustersValid;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.stttest.webm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class WebmDurationParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsDurationFromSegmentInfo() throws Exception {
+        byte[] webm = WebmTestFiles.webm(
+            WebmTestFiles.info(12_345.0d),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, false, 0, 20, 40)
+        );
+
+        assertThat(WebmDurationParser.parseDurationMs(new ByteArrayInputStream(webm))).isEqualTo(12_345L);
+    }
+
+    @Test
+    void ignoresNonPositiveSegmentInfoDuration() throws Exception {
+        byte[] webm = WebmTestFiles.webm(
+            WebmTestFiles.info(0.0d),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, false, 0, 20, 40)
+        );
+
+        // Duration=0은 버리고 블록 스캔 값(마지막 블록 40ms + 20ms)을 쓴다.
+        assertThat(WebmDurationParser.parseDurationMs(new ByteArrayInputStream(webm))).isEqualTo(60L);
+    }
+
+    @Test
+    void scansBlockTimecodesWhenDurationIsMissing() throws Exception {
+        int[] firstCluster = new int[50];
+        for (int i = 0; i < firstCluster.length; i++) {
+            firstCluster[i] = i * 20;
+        }
+        int[] secondCluster = new int[25];
+        for (int i = 0; i < secondCluster.length; i++) {
+            secondCluster[i] = i * 20;
+        }
+
+        // MediaRecorder 출력처럼 Segment/Cluster 모두 unknown-size로 기록한다.
+        byte[] webm = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, true, firstCluster),
+            WebmTestFiles.cluster(1_000L, true, secondCluster)
+        );
+
+        // 마지막 블록 시작 1480ms + Opus 프레임 20ms
+        assertThat(WebmDurationParser.parseDurationMs(new ByteArrayInputStream(webm))).isEqualTo(1_500L);
+    }
+
+    @Test
+    void mappedFileAndStreamAgree() throws Exception {
+        byte[] webm = WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.tracks(),
+            WebmTestFiles.cluster(0L, false, 0, 20, 40, 60),
+            WebmTestFiles.cluster(80L, false, 0, 20)
+        );
+        Path file = tempDir.resolve("chunk.webm");
+        Files.write(file, webm);
+
+        long fromFile = WebmDurationParser.parseDurationMs(file);
+        long fromStream = WebmDurationParser.parseDurationMs(new ByteArrayInputStream(webm));
+
+        assertThat(fromFile).isEqualTo(120L).isEqualTo(fromStream);
+    }
+
+    @Test
+    void opusTocDurations() {
+        assertThat(Ebml.opusPacketDurationNs(WebmTestFiles.OPUS_TOC_20MS, 0)).isEqualTo(20_000_000L);
+        // SILK 60ms, 2 frames(code 1)
+        assertThat(Ebml.opusPacketDurationNs((3 << 3) | 1, 0)).isEqualTo(120_000_000L);
+        // CELT 2.5ms, code 3 with 4 frames
+        assertThat(Ebml.opusPacketDurationNs((16 << 3) | 3, 4)).isEqualTo(10_000_000L);
+    }
+
+    /**
+     * 녹음 형태별로 만든 코퍼스를 ffprobe 결과와 비교한다(ffprobe가 없으면 건너뛴다).
+     *
+     * - Info Duration이 있는 파일(고정 크기 Cluster)
+     * - MediaRecorder 출력처럼 Duration 없이 Segment/Cluster가 unknown-size인 파일
+     * - BlockGroup + BlockDuration으로 기록한 파일(마지막 블록 길이를 BlockDuration으로 계산)
+     */
+    @Test
+    void matchesFfprobeOnCorpus() throws Exception {
+        assumeTrue(ffprobeAvailable(), "ffprobe not installed");
+
+        for (Path file : writeCorpus()) {
+            long expected = ffprobeDurationMs(file);
+            assertThat(WebmDurationParser.parseDurationMs(file))
+                .as(file.getFileName().toString())
+                .isBetween(expected - 20L, expected + 20L);
+        }
+    }
+
+    private List<Path> writeCorpus() throws Exception {
+        Map<String, byte[]> corpus = new LinkedHashMap<>();
+        corpus.put("info-duration.webm", WebmTestFiles.webm(
+            WebmTestFiles.info(1_000.0d),
+            WebmTestFiles.recorderTracks(),
+            WebmTestFiles.cluster(0L, false, frames(0, 25)),
+            WebmTestFiles.cluster(500L, false, frames(0, 25))
+        ));
+        corpus.put("mediarecorder-unknown-size.webm", WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.recorderTracks(),
+            WebmTestFiles.cluster(0L, true, frames(0, 50)),
+            WebmTestFiles.cluster(1_000L, true, frames(0, 50)),
+            WebmTestFiles.cluster(2_000L, true, frames(0, 13))
+        ));
+        corpus.put("blockgroup-duration.webm", WebmTestFiles.webm(
+            WebmTestFiles.info(Double.NaN),
+            WebmTestFiles.recorderTracks(),
+            WebmTestFiles.cluster(0L, false, frames(0, 50)),
+            WebmTestFiles.blockGroupCluster(1_000L, 60L, 0, 60, 120)
+        ));
+
+        List<Path> files = new ArrayList<>(corpus.size());
+        for (Map.Entry<String, byte[]> entry : corpus.entrySet()) {
+            files.add(Files.write(tempDir.resolve(entry.getKey()), entry.getValue()));
+        }
+        return files;
+    }
+
+    /** 20ms 간격 Opus 프레임 count개의 Cluster 상대 timecode */
+    private static int[] frames(int fromMs, int count) {
+        int[] out = new int[count];
+        for (int i = 0; i < count; i++) {
+            out[i] = fromMs + i * 20;
+        }
+        return out;
+    }
+
+    private static boolean ffprobeAvailable() {
+        try {
+            Process process = new ProcessBuilder("ffprobe", "-version").redirectErrorStream(true).start();
+            process.getInputStream().readAllBytes();
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * ffprobe가 계산한 길이. Info Duration이 없으면 ffprobe도 format duration을 N/A로 내므로
+     * 마지막 패킷의 pts + duration을 쓴다.
+     */
+    private static long ffprobeDurationMs(Path file) throws Exception {
+        String formatDuration = ffprobe(file, "format=duration");
+        if (!formatDuration.isEmpty() && !formatDuration.equals("N/A")) {
+            return Math.round(Double.parseDouble(formatDuration) * 1000d);
+        }
+
+        double endSeconds = 0d;
+        for (String line : ffprobe(file, "packet=pts_time,duration_time").split("\\R")) {
+            String[] fields = line.trim().split(",");
+            if (fields.length == 0 || fields[0].isEmpty() || fields[0].equals("N/A")) {
+                continue;
+            }
+            double duration = fields.length > 1 && !fields[1].equals("N/A") ? Double.parseDouble(fields[1]) : 0d;
+            endSeconds = Math.max(endSeconds, Double.parseDouble(fields[0]) + duration);
+        }
+        return Math.round(endSeconds * 1000d);
+    }
+
+    private static String ffprobe(Path file, String entries) throws Exception {
+        Process process = new ProcessBuilder(
+            "ffprobe", "-v", "error",
+            "-show_entries", entries,
+            "-of", "csv=p=0",
+            file.toAbsolutePath().toString()
+        ).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        process.waitFor();
+        return output;
+    }
+}
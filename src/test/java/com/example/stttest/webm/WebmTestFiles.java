@@ -0,0 +1,152 @@
+package com.example.stttest.webm;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테스트용 최소 WebM(EBML) 바이트 생성기.
+ */
+public final class WebmTestFiles {
+
+    /** Opus CELT 20ms 단일 프레임 TOC (config 31, code 0) */
+    public static final int OPUS_TOC_20MS = 31 << 3;
+
+    // 실제 녹음 파일 수준의 Tracks에만 쓰는 element (파서는 읽지 않는다)
+    private static final long ID_TRACK_UID = 0x73C5L;
+    private static final long ID_TRACK_TYPE = 0x83L;
+    private static final long ID_CODEC_PRIVATE = 0x63A2L;
+    private static final long ID_AUDIO = 0xE1L;
+    private static final long ID_SAMPLING_FREQUENCY = 0xB5L;
+    private static final long ID_CHANNELS = 0x9FL;
+
+    private WebmTestFiles() {
+    }
+
+    public static byte[] webm(byte[]... segmentChildren) {
+        byte[] header = element(Ebml.ID_EBML, element(Ebml.ID_DOC_TYPE, "webm".getBytes(StandardCharsets.US_ASCII)));
+        return concat(header, unknownSizeElement(Ebml.ID_SEGMENT, concat(segmentChildren)));
+    }
+
+    public static byte[] info(double duration) {
+        List<byte[]> children = new ArrayList<>();
+        children.add(element(Ebml.ID_TIMECODE_SCALE, uint(1_000_000L)));
+        if (!Double.isNaN(duration)) {
+            children.add(element(Ebml.ID_DURATION, float8(duration)));
+        }
+        return element(Ebml.ID_INFO, concat(children.toArray(byte[][]::new)));
+    }
+
+    public static byte[] tracks() {
+        return tracks(1L, "A_OPUS");
+    }
+
+    public static byte[] tracks(long trackNumber, String codecId) {
+        byte[] entry = element(Ebml.ID_TRACK_ENTRY, concat(
+            element(Ebml.ID_TRACK_NUMBER, uint(trackNumber)),
+            element(Ebml.ID_CODEC_ID, codecId.getBytes(StandardCharsets.US_ASCII))
+        ));
+        return element(Ebml.ID_TRACKS, entry);
+    }
+
+    /**
+     * MediaRecorder 출력과 같은 구성의 Opus 트랙(48kHz mono). ffprobe가 스트림으로 인식할 수 있도록
+     * TrackType/CodecPrivate(OpusHead)/Audio까지 채운다.
+     */
+    public static byte[] recorderTracks() {
+        byte[] opusHead = concat(
+            "OpusHead".getBytes(StandardCharsets.US_ASCII),
+            new byte[] {1, 1, 0x38, 0x01, (byte) 0x80, (byte) 0xBB, 0, 0, 0, 0, 0}
+        );
+        byte[] entry = element(Ebml.ID_TRACK_ENTRY, concat(
+            element(Ebml.ID_TRACK_NUMBER, uint(1L)),
+            element(ID_TRACK_UID, uint(1L)),
+            element(ID_TRACK_TYPE, uint(2L)),
+            element(Ebml.ID_CODEC_ID, "A_OPUS".getBytes(StandardCharsets.US_ASCII)),
+            element(ID_CODEC_PRIVATE, opusHead),
+            element(ID_AUDIO, concat(
+                element(ID_SAMPLING_FREQUENCY, float8(48_000d)),
+                element(ID_CHANNELS, uint(1L))
+            ))
+        ));
+        return element(Ebml.ID_TRACKS, entry);
+    }
+
+    public static byte[] cluster(long timecode, boolean unknownSize, int... blockTimecodes) {
+        List<byte[]> children = new ArrayList<>();
+        children.add(element(Ebml.ID_CLUSTER_TIMECODE, uint(timecode)));
+        for (int relative : blockTimecodes) {
+            children.add(element(Ebml.ID_SIMPLE_BLOCK, block(relative)));
+        }
+        byte[] body = concat(children.toArray(byte[][]::new));
+        return unknownSize ? unknownSizeElement(Ebml.ID_CLUSTER, body) : element(Ebml.ID_CLUSTER, body);
+    }
+
+    /**
+     * Block마다 BlockGroup + BlockDuration(ms)으로 기록한 Cluster.
+     */
+    public static byte[] blockGroupCluster(long timecode, long blockDurationMs, int... blockTimecodes) {
+        List<byte[]> children = new ArrayList<>();
+        children.add(element(Ebml.ID_CLUSTER_TIMECODE, uint(timecode)));
+        for (int relative : blockTimecodes) {
+            children.add(element(Ebml.ID_BLOCK_GROUP, concat(
+                element(Ebml.ID_BLOCK, block(relative)),
+                element(Ebml.ID_BLOCK_DURATION, uint(blockDurationMs))
+            )));
+        }
+        return element(Ebml.ID_CLUSTER, concat(children.toArray(byte[][]::new)));
+    }
+
+    private static byte[] block(int relative) {
+        return new byte[] {
+            (byte) 0x81, (byte) (relative >> 8), (byte) relative, (byte) 0x80, (byte) OPUS_TOC_20MS, 0x01, 0x02
+        };
+    }
+
+    private static byte[] element(long id, byte[] data) {
+        return concat(idBytes(id), size8(data.length), data);
+    }
+
+    private static byte[] unknownSizeElement(long id, byte[] data) {
+        return concat(idBytes(id), new byte[] {0x01, -1, -1, -1, -1, -1, -1, -1}, data);
+    }
+
+    private static byte[] idBytes(long id) {
+        int length = (64 - Long.numberOfLeadingZeros(id) + 7) / 8;
+        byte[] out = new byte[length];
+        for (int i = 0; i < length; i++) {
+            out[i] = (byte) (id >> (8 * (length - 1 - i)));
+        }
+        return out;
+    }
+
+    private static byte[] size8(long size) {
+        byte[] out = new byte[8];
+        out[0] = 0x01;
+        for (int i = 1; i < 8; i++) {
+            out[i] = (byte) (size >> (8 * (7 - i)));
+        }
+        return out;
+    }
+
+    private static byte[] uint(long value) {
+        byte[] out = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            out[i] = (byte) (value >> (8 * (7 - i)));
+        }
+        return out;
+    }
+
+    private static byte[] float8(double value) {
+        return uint(Double.doubleToLongBits(value));
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}